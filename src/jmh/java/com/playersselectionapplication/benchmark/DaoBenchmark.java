@@ -0,0 +1,176 @@
+package com.playersselectionapplication.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.playersselectionapplication.datasource.DriverManagerConnectionProvider;
+import com.playersselectionapplication.datasource.PooledConnectionProvider;
+import com.playersselectionapplication.datasource.SchemaMigrator;
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.IndexedPlayerDAO;
+import com.playersselectionapplication.repository.PlayerDAO;
+import com.playersselectionapplication.repository.PlayerDAOImpl;
+import com.playersselectionapplication.repository.ScoreDAO;
+import com.playersselectionapplication.repository.ScoreDAOImpl;
+
+/**
+ * Measures the JDBC DAOs against an in-memory H2 database in MySQL mode,
+ * migrated with the production {@link SchemaMigrator}. Each trial loads
+ * {@code scoreCount} scores spread over one player per hundred scores.
+ * {@link #addScore()} writes to a separate player whose scores are deleted
+ * after every iteration, so the read benchmarks see the same data throughout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DaoBenchmark {
+	private static final int SCORES_PER_PLAYER = 100;
+	private static final int LOAD_CHUNK_SIZE = 100000;
+
+	@Param({ "1000", "100000", "10000000" })
+	public int scoreCount;
+
+	private PooledConnectionProvider connectionProvider;
+	private PlayerDAO playerDAO;
+	private PlayerDAO indexedPlayerDAO;
+	private ScoreDAO scoreDAO;
+	private int playerCount;
+	private int writerPlayerId;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		String url = "jdbc:h2:mem:bench" + scoreCount + "_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+		connectionProvider = new PooledConnectionProvider(new DriverManagerConnectionProvider(url, "sa", ""), 4, 1,
+				30000L, 600000L, 5);
+		new SchemaMigrator(connectionProvider).migrate();
+
+		playerDAO = new PlayerDAOImpl(connectionProvider);
+		scoreDAO = new ScoreDAOImpl(connectionProvider, 10000);
+		playerCount = Math.max(10, scoreCount / SCORES_PER_PLAYER);
+
+		loadPlayers();
+		loadScores();
+		indexedPlayerDAO = new IndexedPlayerDAO(playerDAO);
+
+		Player writer = new Player("Writer", "Benchmark");
+		playerDAO.addPlayer(writer);
+		writerPlayerId = writer.getId();
+	}
+
+	@TearDown(Level.Iteration)
+	public void deleteWrittenScores() throws SQLException {
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement scores = connection.prepareStatement("DELETE FROM Score WHERE playerId = ?");
+				PreparedStatement form = connection.prepareStatement("DELETE FROM PlayerForm WHERE playerId = ?")) {
+			scores.setInt(1, writerPlayerId);
+			scores.executeUpdate();
+			form.setInt(1, writerPlayerId);
+			form.executeUpdate();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement("SHUTDOWN")) {
+			statement.execute();
+		}
+		connectionProvider.close();
+	}
+
+	@Benchmark
+	public Score addScore() throws SQLException {
+		Score score = new Score(writerPlayerId, ThreadLocalRandom.current().nextInt(200));
+		scoreDAO.addScore(score);
+		return score;
+	}
+
+	@Benchmark
+	public List<Score> getScoresByPlayerId() throws SQLException {
+		return scoreDAO.getScoresByPlayerId(randomPlayerId());
+	}
+
+	@Benchmark
+	public double getAverageOfLastThreeScores() throws SQLException {
+		return scoreDAO.getAverageOfLastThreeScores(randomPlayerId());
+	}
+
+	/**
+	 * Full scan through the forward-only cursor; materializing ten million
+	 * scores as a list would measure the heap rather than the DAO.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void streamAllScores(Blackhole blackhole) throws SQLException {
+		try (Stream<Score> scores = scoreDAO.streamAllScores()) {
+			scores.forEach(blackhole::consume);
+		}
+	}
+
+	/**
+	 * Baseline for {@link #searchPlayersByNameIndexed()}: a LIKE scan in the
+	 * database.
+	 */
+	@Benchmark
+	public List<Player> searchPlayersByName() throws SQLException {
+		return playerDAO.searchPlayersByName(Integer.toString(randomPlayerId()));
+	}
+
+	@Benchmark
+	public List<Player> searchPlayersByNameIndexed() throws SQLException {
+		return indexedPlayerDAO.searchPlayersByName(Integer.toString(randomPlayerId()));
+	}
+
+	private int randomPlayerId() {
+		return ThreadLocalRandom.current().nextInt(playerCount) + 1;
+	}
+
+	private void loadPlayers() throws SQLException {
+		String query = "INSERT INTO Player (name, domesticTeam, average) VALUES (?, ?, 0)";
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement(query)) {
+			connection.setAutoCommit(false);
+			for (int i = 1; i <= playerCount; i++) {
+				statement.setString(1, "P" + i);
+				statement.setString(2, "Team " + (i % 32));
+				statement.addBatch();
+				if (i % LOAD_CHUNK_SIZE == 0 || i == playerCount) {
+					statement.executeBatch();
+					connection.commit();
+				}
+			}
+			connection.setAutoCommit(true);
+		}
+	}
+
+	private void loadScores() throws SQLException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		List<Score> chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+		for (int i = 0; i < scoreCount; i++) {
+			chunk.add(new Score(random.nextInt(playerCount) + 1, random.nextInt(200)));
+			if (chunk.size() == LOAD_CHUNK_SIZE || i == scoreCount - 1) {
+				scoreDAO.addScores(chunk);
+				chunk.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.playersselectionapplication.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link DaoBenchmark} and writes the results as JSON to
+ * target/jmh-result.json. Standard JMH options given on the command line,
+ * for example {@code -p scoreCount=1000} or {@code -rff other.json}, take
+ * precedence over these defaults.
+ */
+public class DaoBenchmarkRunner {
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine)
+				.include(DaoBenchmark.class.getSimpleName());
+
+		if (!commandLine.getForkCount().hasValue()) {
+			options.forks(1);
+		}
+		if (!commandLine.getWarmupIterations().hasValue()) {
+			options.warmupIterations(3);
+		}
+		if (!commandLine.getMeasurementIterations().hasValue()) {
+			options.measurementIterations(5);
+		}
+		if (!commandLine.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+		if (!commandLine.getResult().hasValue()) {
+			options.result("target/jmh-result.json");
+		}
+
+		new Runner(options.build()).run();
+	}
+}
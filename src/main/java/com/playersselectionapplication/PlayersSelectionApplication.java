@@ -1,73 +1,253 @@
 package com.playersselectionapplication;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Comparator;
 import java.util.InputMismatchException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Properties;
 import java.util.Scanner;
-
-import org.jboss.jandex.Main;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.datasource.ConnectionProvider;
+import com.playersselectionapplication.datasource.ConnectionProviders;
+import com.playersselectionapplication.datasource.DataSourceConfig;
+import com.playersselectionapplication.datasource.SchemaMigrator;
+import com.playersselectionapplication.exporter.DataExporter;
+import com.playersselectionapplication.exporter.ExportFormat;
+import com.playersselectionapplication.exporter.ExportInfo;
+import com.playersselectionapplication.http.ApiServer;
+import com.playersselectionapplication.importer.ImportFormat;
+import com.playersselectionapplication.importer.ImportProgress;
+import com.playersselectionapplication.importer.ScoreImporter;
+import com.playersselectionapplication.metrics.DaoMetrics;
+import com.playersselectionapplication.metrics.MetricsSnapshot;
 import com.playersselectionapplication.model.Player;
 import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.CachingPlayerDAO;
+import com.playersselectionapplication.repository.DaoExecutor;
+import com.playersselectionapplication.repository.InMemoryPlayerDAO;
+import com.playersselectionapplication.repository.InMemoryScoreStore;
+import com.playersselectionapplication.repository.IndexedPlayerDAO;
+import com.playersselectionapplication.repository.OffHeapScoreStore;
 import com.playersselectionapplication.repository.PlayerDAO;
 import com.playersselectionapplication.repository.PlayerDAOImpl;
 import com.playersselectionapplication.repository.ScoreDAO;
 import com.playersselectionapplication.repository.ScoreDAOImpl;
+import com.playersselectionapplication.repository.ScoreStore;
+import com.playersselectionapplication.service.PlayerStatistics;
+import com.playersselectionapplication.service.ScoreIngestionQueue;
+import com.playersselectionapplication.service.SeasonStatistics;
+import com.playersselectionapplication.service.SelectedPlayer;
+import com.playersselectionapplication.service.SelectionCriteria;
+import com.playersselectionapplication.service.SelectionEngine;
+import com.playersselectionapplication.service.StatisticsEngine;
+import com.playersselectionapplication.service.TeamStatistics;
+import com.playersselectionapplication.snapshot.ColumnarSnapshot;
+import com.playersselectionapplication.snapshot.SnapshotInfo;
 
 public class PlayersSelectionApplication {
+	private static final String DEFAULT_SNAPSHOT_FILE = "players.snapshot";
+
 	private static PlayerDAO playerDAO;
 	private static ScoreDAO scoreDAO;
+	private static DaoMetrics daoMetrics;
 
 	public static void main(String[] args) {
+		if (args.length > 0 && "snapshot-load".equals(args[0])) {
+			runFromSnapshot(args);
+			return;
+		}
 		try {
-			InputStream input = Main.class.getClassLoader().getResourceAsStream("application.properties");
-			Properties props = new Properties();
-			props.load(input);
-			String url = props.getProperty("db.url");
-			String username = props.getProperty("db.username");
-			String password = props.getProperty("db.password");
+			DataSourceConfig config = DataSourceConfig.load();
+			daoMetrics = new DaoMetrics();
+			ConnectionProvider connectionProvider = daoMetrics.instrument(ConnectionProviders.getDefault());
+
+			createDatabaseIfNotExists(connectionProvider);
+			new SchemaMigrator(connectionProvider).migrate();
+
+			CachingPlayerDAO cachingPlayerDAO = new CachingPlayerDAO(
+					new IndexedPlayerDAO(new PlayerDAOImpl(connectionProvider, config.isCascadeDeletes())),
+					config.getInt("cache.player.maxSize", 10000), config.getLong("cache.player.ttlMillis", 300000L));
+			daoMetrics.registerCache("playerById", cachingPlayerDAO::getCacheStats);
+			playerDAO = daoMetrics.instrument(PlayerDAO.class, cachingPlayerDAO);
+			ScoreDAOImpl scoreDAOImpl = new ScoreDAOImpl(connectionProvider, config.getBatchSize(),
+					config.getFormAlpha());
+			if (scoreDAOImpl.rebuildFormRatingsIfAlphaChanged()) {
+				System.out.println("Rebuilt form ratings with form.alpha=" + config.getFormAlpha() + ".");
+			}
+			scoreDAO = daoMetrics.instrument(ScoreDAO.class, scoreDAOImpl);
+
+			if (args.length > 0 && "snapshot-export".equals(args[0])) {
+				exportSnapshot(args);
+			} else if (args.length > 0 && "import".equals(args[0])) {
+				importScores(args, config.getBatchSize());
+			} else if (args.length > 0 && "export".equals(args[0])) {
+				exportData(args);
+			} else if (args.length > 0 && "serve".equals(args[0])) {
+				serve(args, config);
+			} else {
+				showOptions();
+			}
+		} catch (SQLException | IOException e) {
+			e.printStackTrace();
+		} finally {
+			ConnectionProviders.shutdown();
+		}
+	}
 
-			createDatabaseIfNotExists(url, username, password);
-			createTablesIfNotExists(url, username, password);
+	private static void exportSnapshot(String[] args) throws SQLException, IOException {
+		Path file = Paths.get(args.length > 1 ? args[1] : DEFAULT_SNAPSHOT_FILE);
+		SnapshotInfo info = ColumnarSnapshot.export(playerDAO, scoreDAO, file);
+		System.out.println("Exported " + info.getPlayerCount() + " players and " + info.getScoreCount()
+				+ " scores to " + file + " (" + info.getSizeBytes() + " bytes) in " + info.getElapsedMillis()
+				+ " ms.");
+	}
 
-			playerDAO = new PlayerDAOImpl();
-			scoreDAO = new ScoreDAOImpl();
+	/**
+	 * Imports a CSV or NDJSON scorecard file; the format comes from the third
+	 * argument or the file extension. Rerunning an interrupted import resumes
+	 * it; {@code --restart} starts it over from the first row.
+	 */
+	private static void importScores(String[] args, int batchSize) throws SQLException, IOException {
+		boolean restart = args.length > 2 && "--restart".equals(args[args.length - 1]);
+		int argCount = restart ? args.length - 1 : args.length;
+		if (argCount < 2 || argCount > 3) {
+			System.out.println("Usage: import <file> [csv|ndjson] [--restart]");
+			return;
+		}
+		Path file = Paths.get(args[1]);
+		ImportFormat format;
+		try {
+			format = argCount > 2 ? ImportFormat.forName(args[2]) : ImportFormat.forFile(file);
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			return;
+		}
+		if (!restart && scoreDAO.getCheckpoint(ScoreImporter.checkpointKey(file)) != null) {
+			System.out.println("Resuming import of " + file + " from its checkpoint.");
+		}
 
-			showOptions();
-		} catch (IOException | SQLException e) {
-			e.printStackTrace();
+		ImportProgress result = new ScoreImporter(playerDAO, scoreDAO, batchSize).importFile(file, format, restart,
+				progress -> System.out.printf("%,d rows (%.1f%%), %,.0f rows/s%n", progress.getRows(),
+						progress.getPercentComplete(), progress.getRowsPerSecond()));
+		System.out.printf("Imported %,d rows and created %,d players from %s in %d ms (%,.0f rows/s).%n",
+				result.getRows(), result.getPlayersCreated(), file, result.getElapsedMillis(),
+				result.getRowsPerSecond());
+	}
+
+	/**
+	 * Exports players or scores to CSV or NDJSON; the format comes from the
+	 * fourth argument or the file extension, and a .gz name compresses it.
+	 */
+	private static void exportData(String[] args) throws SQLException, IOException {
+		if (args.length < 3 || !("players".equals(args[1]) || "scores".equals(args[1]))) {
+			System.out.println("Usage: export <players|scores> <file> [csv|ndjson]");
+			return;
+		}
+		Path file = Paths.get(args[2]);
+		ExportFormat format;
+		try {
+			format = args.length > 3 ? ExportFormat.forName(args[3]) : ExportFormat.forFile(file);
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			return;
 		}
+
+		DataExporter exporter = new DataExporter(playerDAO, scoreDAO);
+		boolean gzip = ExportFormat.isGzip(file);
+		ExportInfo info = "players".equals(args[1]) ? exporter.exportPlayers(file, format, gzip)
+				: exporter.exportScores(file, format, gzip);
+		System.out.printf("Exported %,d %s to %s (%,d bytes) in %d ms.%n", info.getRows(), args[1], file,
+				info.getSizeBytes(), info.getElapsedMillis());
 	}
 
-	private static void createDatabaseIfNotExists(String url, String username, String password) throws SQLException {
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				Statement statement = connection.createStatement()) {
+	/**
+	 * Serves the JSON API until the JVM is stopped; the port comes from the
+	 * second argument or http.port.
+	 */
+	private static void serve(String[] args, DataSourceConfig config) throws IOException {
+		int port;
+		try {
+			port = args.length > 1 ? Integer.parseInt(args[1]) : config.getInt("http.port", 8080);
+		} catch (NumberFormatException e) {
+			System.out.println("Usage: serve [port]");
+			return;
+		}
 
-			String createDatabaseQuery = "CREATE DATABASE IF NOT EXISTS your_database_name";
-			statement.executeUpdate(createDatabaseQuery);
+		DaoExecutor daoExecutor = DaoExecutor.forPool(ConnectionProviders.getDefault(),
+				config.getLong("http.daoTimeoutMillis", 10000L));
+		int ingestCapacity = config.getInt("http.ingestQueueCapacity", 0);
+		ScoreIngestionQueue ingestionQueue = ingestCapacity > 0 ? new ScoreIngestionQueue(scoreDAO, ingestCapacity,
+				Math.min(config.getBatchSize(), scoreDAO.getTransactionBatchSize()),
+				config.getLong("http.ingestLingerMillis", 5L)) : null;
+		ApiServer server = new ApiServer(new InetSocketAddress(port), playerDAO, scoreDAO, daoExecutor, daoMetrics,
+				ingestionQueue);
+		CountDownLatch stopped = new CountDownLatch(1);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			server.close();
+			if (ingestionQueue != null) {
+				ingestionQueue.close();
+			}
+			daoExecutor.close();
+			ConnectionProviders.shutdown();
+			stopped.countDown();
+		}, "api-shutdown"));
+		server.start();
+		System.out.println("Serving the API on http://localhost:" + server.getPort() + "/ (Ctrl+C to stop).");
+
+		try {
+			stopped.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 		}
 	}
 
-	private static void createTablesIfNotExists(String url, String username, String password) throws SQLException {
-		String createPlayerTableQuery = "CREATE TABLE IF NOT EXISTS Player (" + "id INT AUTO_INCREMENT PRIMARY KEY,"
-				+ "name VARCHAR(10) NOT NULL," + "domesticTeam VARCHAR(255) NOT NULL,"
-				+ "average INT NOT NULL DEFAULT 0" + ")";
-
-		String createScoreTableQuery = "CREATE TABLE IF NOT EXISTS Score (" + "id INT AUTO_INCREMENT PRIMARY KEY,"
-				+ "score INT NOT NULL," + "playerId INT NOT NULL," + "FOREIGN KEY (playerId) REFERENCES Player(id)"
-				+ ")";
+	/**
+	 * Serves the menu from a snapshot file held in memory, without connecting
+	 * to the database. Changes are not written back. Scores are kept on the
+	 * heap, or off it when snapshot.scoreStore is "offheap".
+	 */
+	private static void runFromSnapshot(String[] args) {
+		Path file = Paths.get(args.length > 1 ? args[1] : DEFAULT_SNAPSHOT_FILE);
+		try {
+			DataSourceConfig config = DataSourceConfig.load();
+			String storeType = config.getProperty("snapshot.scoreStore", "heap");
+			ScoreStore scoreStore;
+			if ("offheap".equalsIgnoreCase(storeType)) {
+				scoreStore = new OffHeapScoreStore(config.getFormAlpha());
+			} else if ("heap".equalsIgnoreCase(storeType)) {
+				scoreStore = new InMemoryScoreStore(config.getFormAlpha());
+			} else {
+				System.out.println("snapshot.scoreStore must be heap or offheap, not " + storeType);
+				return;
+			}
+			InMemoryPlayerDAO inMemoryPlayerDAO = new InMemoryPlayerDAO(scoreStore);
+			SnapshotInfo info = ColumnarSnapshot.load(file, inMemoryPlayerDAO, scoreStore);
+			System.out.println("Loaded " + info.getPlayerCount() + " players and " + info.getScoreCount()
+					+ " scores from " + file + " in " + info.getElapsedMillis() + " ms.");
+
+			daoMetrics = new DaoMetrics();
+			playerDAO = daoMetrics.instrument(PlayerDAO.class, inMemoryPlayerDAO);
+			scoreDAO = daoMetrics.instrument(ScoreDAO.class, scoreStore);
+			showOptions();
+		} catch (SQLException | IOException e) {
+			e.printStackTrace();
+		}
+	}
 
-		try (Connection connection = DriverManager.getConnection(url, username, password);
+	private static void createDatabaseIfNotExists(ConnectionProvider connectionProvider) throws SQLException {
+		try (Connection connection = connectionProvider.getConnection();
 				Statement statement = connection.createStatement()) {
 
-			statement.executeUpdate(createPlayerTableQuery);
-			statement.executeUpdate(createScoreTableQuery);
+			String createDatabaseQuery = "CREATE DATABASE IF NOT EXISTS your_database_name";
+			statement.executeUpdate(createDatabaseQuery);
 		}
 	}
 
@@ -89,6 +269,10 @@ public class PlayersSelectionApplication {
 			System.out.println("10. Search players by domestic team");
 			System.out.println("11. Get scores by player ID");
 			System.out.println("12. Get average of last three scores for a player");
+			System.out.println("13. Select best players");
+			System.out.println("14. Show DAO statistics");
+			System.out.println("15. Show season statistics");
+			System.out.println("16. Rebuild form ratings");
 			System.out.println("0. Exit");
 
 			try {
@@ -137,6 +321,18 @@ public class PlayersSelectionApplication {
 			case 12:
 				getAverageOfLastThreeScores(scanner);
 				break;
+			case 13:
+				selectSquad(scanner);
+				break;
+			case 14:
+				showDaoStatistics(scanner);
+				break;
+			case 15:
+				showSeasonStatistics(scanner);
+				break;
+			case 16:
+				rebuildFormRatings();
+				break;
 			case 0:
 				System.out.println("Exiting the application.");
 				break;
@@ -263,27 +459,31 @@ public class PlayersSelectionApplication {
 	}
 
 	private static void showAllPlayers() throws SQLException {
-		List<Player> players = playerDAO.getAllPlayers();
-
-		if (players.isEmpty()) {
-			System.out.println("No players found!");
-		} else {
-			System.out.println("All players:");
-			for (Player player : players) {
-				System.out.println(player);
+		try (Stream<Player> players = playerDAO.streamAllPlayers()) {
+			Iterator<Player> iterator = players.iterator();
+
+			if (!iterator.hasNext()) {
+				System.out.println("No players found!");
+			} else {
+				System.out.println("All players:");
+				while (iterator.hasNext()) {
+					System.out.println(iterator.next());
+				}
 			}
 		}
 	}
 
 	private static void showAllScores() throws SQLException {
-		List<Score> scores = scoreDAO.getAllScores();
-
-		if (scores.isEmpty()) {
-			System.out.println("No scores found!");
-		} else {
-			System.out.println("All scores:");
-			for (Score score : scores) {
-				System.out.println(score);
+		try (Stream<Score> scores = scoreDAO.streamAllScores()) {
+			Iterator<Score> iterator = scores.iterator();
+
+			if (!iterator.hasNext()) {
+				System.out.println("No scores found!");
+			} else {
+				System.out.println("All scores:");
+				while (iterator.hasNext()) {
+					System.out.println(iterator.next());
+				}
 			}
 		}
 	}
@@ -344,5 +544,78 @@ public class PlayersSelectionApplication {
 
 		double average = scoreDAO.getAverageOfLastThreeScores(playerId);
 		System.out.println("Average of last three scores for player ID " + playerId + ": " + average);
+		System.out.println("Form rating for player ID " + playerId + ": " + scoreDAO.getFormRating(playerId));
+	}
+
+	private static void selectSquad(Scanner scanner) throws SQLException {
+		System.out.print("Number of players to select: ");
+		int squadSize = scanner.nextInt();
+		System.out.print("Maximum players per domestic team (0 for no limit): ");
+		int maxPerDomesticTeam = scanner.nextInt();
+		System.out.print("Minimum number of innings: ");
+		int minInnings = scanner.nextInt();
+		scanner.nextLine(); // Consume newline character
+		System.out.print("Rank by (average/rating): ");
+		SelectionCriteria.Ranking ranking = "rating".equalsIgnoreCase(scanner.nextLine().trim())
+				? SelectionCriteria.Ranking.FORM_RATING
+				: SelectionCriteria.Ranking.LAST_THREE_AVERAGE;
+
+		SelectionCriteria criteria;
+		try {
+			criteria = new SelectionCriteria(squadSize, maxPerDomesticTeam, minInnings, ranking);
+		} catch (IllegalArgumentException e) {
+			System.out.println("Invalid criteria: " + e.getMessage());
+			return;
+		}
+
+		List<SelectedPlayer> squad = new SelectionEngine(playerDAO, scoreDAO).selectSquad(criteria);
+
+		if (squad.isEmpty()) {
+			System.out.println("No players meet the selection criteria.");
+		} else {
+			System.out.println("Selected players:");
+			for (SelectedPlayer selected : squad) {
+				System.out.println(selected);
+			}
+		}
+	}
+
+	private static void rebuildFormRatings() throws SQLException {
+		scoreDAO.rebuildFormRatings();
+		System.out.println("Form ratings rebuilt.");
+	}
+
+	private static void showSeasonStatistics(Scanner scanner) throws SQLException {
+		System.out.println("Enter number of top players to show:");
+		int top = scanner.nextInt();
+		scanner.nextLine(); // Consume newline character
+
+		SeasonStatistics statistics = new StatisticsEngine(playerDAO, scoreDAO).compute();
+
+		if (statistics.getPlayers().isEmpty()) {
+			System.out.println("No scores recorded yet.");
+			return;
+		}
+		System.out.println("Teams:");
+		for (TeamStatistics team : statistics.getTeams()) {
+			System.out.println(team);
+		}
+		System.out.println("Top players by mean score:");
+		statistics.getPlayers().stream()
+				.sorted(Comparator.comparingDouble(PlayerStatistics::getMean).reversed())
+				.limit(Math.max(0, top))
+				.forEach(System.out::println);
+	}
+
+	private static void showDaoStatistics(Scanner scanner) {
+		System.out.println("Enter format (text/json):");
+		String format = scanner.nextLine().trim();
+
+		MetricsSnapshot snapshot = daoMetrics.snapshot();
+		if (snapshot.getMethods().isEmpty()) {
+			System.out.println("No DAO calls recorded yet.");
+			return;
+		}
+		System.out.println("json".equalsIgnoreCase(format) ? snapshot.toJson() : snapshot.toText());
 	}
 }
@@ -0,0 +1,130 @@
+package com.playersselectionapplication.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded least-recently-used cache whose entries also expire after a fixed
+ * time to live. All operations are synchronized; the cache is meant to sit in
+ * front of a database round trip, so lock contention is not the bottleneck.
+ *
+ * Every write bumps the generation of its key. A read-through caller takes
+ * {@link #generation(Object)} before loading a value and stores it with
+ * {@link #putIfGeneration}, which drops the value if the key was written in
+ * between, so a load that raced an invalidation cannot reinstate stale data.
+ * Fills do not bump generations, so concurrent fills never drop each other.
+ * Generations are kept for a fixed number of key hash stripes; a write drops
+ * fills in flight for keys sharing its stripe as well.
+ */
+public class LruCache<K, V> {
+	private static final int GENERATION_STRIPES = 256;
+
+	private final int maxSize;
+	private final long ttlMillis;
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long expirations;
+	private final long[] generations = new long[GENERATION_STRIPES];
+
+	public LruCache(int maxSize, long ttlMillis) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > LruCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		if (System.currentTimeMillis() >= entry.expiresAt) {
+			entries.remove(key);
+			expirations++;
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	/**
+	 * Stores a value written to the backing store, dropping fills of the key
+	 * that are in flight.
+	 */
+	public synchronized void put(K key, V value) {
+		generations[stripe(key)]++;
+		store(key, value);
+	}
+
+	public synchronized long generation(K key) {
+		return generations[stripe(key)];
+	}
+
+	/**
+	 * Stores the value only if the key was not written since
+	 * {@code generation} was read.
+	 *
+	 * @return whether the value was stored
+	 */
+	public synchronized boolean putIfGeneration(K key, V value, long generation) {
+		if (generations[stripe(key)] != generation) {
+			return false;
+		}
+		store(key, value);
+		return true;
+	}
+
+	public synchronized void invalidate(K key) {
+		generations[stripe(key)]++;
+		entries.remove(key);
+	}
+
+	public synchronized void invalidateAll() {
+		for (int i = 0; i < generations.length; i++) {
+			generations[i]++;
+		}
+		entries.clear();
+	}
+
+	public synchronized CacheStats getStats() {
+		return new CacheStats(entries.size(), maxSize, hits, misses, evictions, expirations);
+	}
+
+	private void store(K key, V value) {
+		entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+	}
+
+	private static int stripe(Object key) {
+		int hash = Objects.hashCode(key);
+		return (hash ^ hash >>> 16) & (GENERATION_STRIPES - 1);
+	}
+
+	private static class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
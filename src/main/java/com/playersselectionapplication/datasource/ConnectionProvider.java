@@ -0,0 +1,16 @@
+package com.playersselectionapplication.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source of JDBC connections for the DAO layer. Callers always close the
+ * connection they obtain; for pooled providers this returns it to the pool.
+ */
+public interface ConnectionProvider extends AutoCloseable {
+	Connection getConnection() throws SQLException;
+
+	@Override
+	default void close() {
+	}
+}
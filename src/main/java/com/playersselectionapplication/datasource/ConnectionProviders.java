@@ -0,0 +1,26 @@
+package com.playersselectionapplication.datasource;
+
+/**
+ * Holds the application-wide connection pool shared by the DAOs and the schema
+ * bootstrap.
+ */
+public final class ConnectionProviders {
+	private static PooledConnectionProvider defaultProvider;
+
+	private ConnectionProviders() {
+	}
+
+	public static synchronized PooledConnectionProvider getDefault() {
+		if (defaultProvider == null) {
+			defaultProvider = PooledConnectionProvider.fromConfig(DataSourceConfig.load());
+		}
+		return defaultProvider;
+	}
+
+	public static synchronized void shutdown() {
+		if (defaultProvider != null) {
+			defaultProvider.close();
+			defaultProvider = null;
+		}
+	}
+}
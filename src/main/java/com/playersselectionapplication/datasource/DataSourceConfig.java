@@ -0,0 +1,105 @@
+package com.playersselectionapplication.datasource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Database settings read from application.properties.
+ */
+public class DataSourceConfig {
+	/** Weight of the newest score in the exponentially weighted form rating. */
+	public static final double DEFAULT_FORM_ALPHA = 0.3;
+
+	private final Properties properties;
+
+	public DataSourceConfig(Properties properties) {
+		this.properties = properties;
+	}
+
+	public static DataSourceConfig load() {
+		Properties properties = new Properties();
+		try (InputStream inputStream = DataSourceConfig.class.getClassLoader()
+				.getResourceAsStream("application.properties")) {
+			if (inputStream == null) {
+				throw new RuntimeException("application.properties file not found");
+			}
+			properties.load(inputStream);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to load application.properties file", e);
+		}
+		return new DataSourceConfig(properties);
+	}
+
+	public String getUrl() {
+		return properties.getProperty("db.url");
+	}
+
+	public String getUsername() {
+		return properties.getProperty("db.username");
+	}
+
+	public String getPassword() {
+		return properties.getProperty("db.password");
+	}
+
+	public int getPoolMaxSize() {
+		return getInt("db.pool.maxSize", 10);
+	}
+
+	public int getPoolMinIdle() {
+		return getInt("db.pool.minIdle", 0);
+	}
+
+	public long getPoolBorrowTimeoutMillis() {
+		return getLong("db.pool.borrowTimeoutMillis", 30000L);
+	}
+
+	public long getPoolIdleTimeoutMillis() {
+		return getLong("db.pool.idleTimeoutMillis", 600000L);
+	}
+
+	public int getPoolValidationTimeoutSeconds() {
+		return getInt("db.pool.validationTimeoutSeconds", 5);
+	}
+
+	public int getPoolStatementCacheSize() {
+		return getInt("db.pool.statementCacheSize", 64);
+	}
+
+	public int getBatchSize() {
+		return getInt("db.batch.size", 1000);
+	}
+
+	public boolean isCascadeDeletes() {
+		return getBoolean("db.cascadeDeletes", true);
+	}
+
+	public double getFormAlpha() {
+		return getDouble("form.alpha", DEFAULT_FORM_ALPHA);
+	}
+
+	public String getProperty(String key, String defaultValue) {
+		return properties.getProperty(key, defaultValue);
+	}
+
+	public int getInt(String key, int defaultValue) {
+		String value = properties.getProperty(key);
+		return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+	}
+
+	public long getLong(String key, long defaultValue) {
+		String value = properties.getProperty(key);
+		return value == null || value.trim().isEmpty() ? defaultValue : Long.parseLong(value.trim());
+	}
+
+	public double getDouble(String key, double defaultValue) {
+		String value = properties.getProperty(key);
+		return value == null || value.trim().isEmpty() ? defaultValue : Double.parseDouble(value.trim());
+	}
+
+	public boolean getBoolean(String key, boolean defaultValue) {
+		String value = properties.getProperty(key);
+		return value == null || value.trim().isEmpty() ? defaultValue : Boolean.parseBoolean(value.trim());
+	}
+}
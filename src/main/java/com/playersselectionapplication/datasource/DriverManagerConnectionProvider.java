@@ -0,0 +1,26 @@
+package com.playersselectionapplication.datasource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Opens a new physical connection for every call. Used as the connection
+ * factory behind {@link PooledConnectionProvider}.
+ */
+public class DriverManagerConnectionProvider implements ConnectionProvider {
+	private final String url;
+	private final String username;
+	private final String password;
+
+	public DriverManagerConnectionProvider(String url, String username, String password) {
+		this.url = url;
+		this.username = username;
+		this.password = password;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return DriverManager.getConnection(url, username, password);
+	}
+}
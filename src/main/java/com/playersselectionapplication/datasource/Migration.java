@@ -0,0 +1,48 @@
+package com.playersselectionapplication.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One versioned step of the schema, applied at most once by
+ * {@link SchemaMigrator}.
+ */
+public class Migration {
+	@FunctionalInterface
+	public interface Step {
+		void apply(Connection connection) throws SQLException;
+	}
+
+	private final int version;
+	private final String description;
+	private final Step step;
+
+	public Migration(int version, String description, Step step) {
+		this.version = version;
+		this.description = description;
+		this.step = step;
+	}
+
+	public static Migration sql(int version, String description, String... statements) {
+		return new Migration(version, description, connection -> {
+			try (Statement statement = connection.createStatement()) {
+				for (String sql : statements) {
+					statement.executeUpdate(sql);
+				}
+			}
+		});
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void apply(Connection connection) throws SQLException {
+		step.apply(connection);
+	}
+}
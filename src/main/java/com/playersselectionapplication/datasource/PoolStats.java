@@ -0,0 +1,85 @@
+package com.playersselectionapplication.datasource;
+
+/**
+ * Point-in-time view of a {@link PooledConnectionProvider}.
+ */
+public class PoolStats {
+	private final int maxSize;
+	private final int active;
+	private final int idle;
+	private final int waiting;
+	private final long created;
+	private final long destroyed;
+	private final long borrowed;
+	private final long timeouts;
+	private final long validationFailures;
+	private final long statementCacheHits;
+	private final long statementCacheMisses;
+
+	public PoolStats(int maxSize, int active, int idle, int waiting, long created, long destroyed, long borrowed,
+			long timeouts, long validationFailures, long statementCacheHits, long statementCacheMisses) {
+		this.maxSize = maxSize;
+		this.active = active;
+		this.idle = idle;
+		this.waiting = waiting;
+		this.created = created;
+		this.destroyed = destroyed;
+		this.borrowed = borrowed;
+		this.timeouts = timeouts;
+		this.validationFailures = validationFailures;
+		this.statementCacheHits = statementCacheHits;
+		this.statementCacheMisses = statementCacheMisses;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public int getActive() {
+		return active;
+	}
+
+	public int getIdle() {
+		return idle;
+	}
+
+	public int getWaiting() {
+		return waiting;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public long getDestroyed() {
+		return destroyed;
+	}
+
+	public long getBorrowed() {
+		return borrowed;
+	}
+
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	public long getValidationFailures() {
+		return validationFailures;
+	}
+
+	public long getStatementCacheHits() {
+		return statementCacheHits;
+	}
+
+	public long getStatementCacheMisses() {
+		return statementCacheMisses;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStats{" + "maxSize=" + maxSize + ", active=" + active + ", idle=" + idle + ", waiting=" + waiting
+				+ ", created=" + created + ", destroyed=" + destroyed + ", borrowed=" + borrowed + ", timeouts="
+				+ timeouts + ", validationFailures=" + validationFailures + ", statementCacheHits=" + statementCacheHits
+				+ ", statementCacheMisses=" + statementCacheMisses + '}';
+	}
+}
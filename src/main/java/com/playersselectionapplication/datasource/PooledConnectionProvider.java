@@ -0,0 +1,355 @@
+package com.playersselectionapplication.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded connection pool. At most {@code maxSize} connections are handed out
+ * at once; further borrowers wait up to {@code borrowTimeoutMillis} and then
+ * fail with {@link SQLTimeoutException}. Idle connections are validated before
+ * reuse and evicted by a background task once they exceed
+ * {@code idleTimeoutMillis}; the same task opens connections in the background
+ * until at least {@code minIdle} are idle, at startup and after each eviction.
+ * A returned connection gets back the auto-commit, read-only, isolation and
+ * catalog settings it was opened with. Each pooled connection keeps up to
+ * {@code statementCacheSize} prepared statements open across borrows, so
+ * repeated queries skip the prepare round trip.
+ */
+public class PooledConnectionProvider implements ConnectionProvider {
+	private static final long VALIDATION_BYPASS_MILLIS = 500L;
+
+	private final ConnectionProvider factory;
+	private final int maxSize;
+	private final int minIdle;
+	private final long borrowTimeoutMillis;
+	private final long idleTimeoutMillis;
+	private final int validationTimeoutSeconds;
+	private final int statementCacheSize;
+
+	private final Semaphore permits;
+	private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+	private final ScheduledExecutorService evictor;
+	private volatile boolean closed;
+
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong destroyed = new AtomicLong();
+	private final AtomicLong borrowed = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+	private final AtomicLong validationFailures = new AtomicLong();
+	private final AtomicLong statementCacheHits = new AtomicLong();
+	private final AtomicLong statementCacheMisses = new AtomicLong();
+
+	public PooledConnectionProvider(ConnectionProvider factory, int maxSize, int minIdle, long borrowTimeoutMillis,
+			long idleTimeoutMillis, int validationTimeoutSeconds) {
+		this(factory, maxSize, minIdle, borrowTimeoutMillis, idleTimeoutMillis, validationTimeoutSeconds, 0);
+	}
+
+	/**
+	 * @param statementCacheSize prepared statements cached per connection; 0
+	 *                           disables statement caching
+	 */
+	public PooledConnectionProvider(ConnectionProvider factory, int maxSize, int minIdle, long borrowTimeoutMillis,
+			long idleTimeoutMillis, int validationTimeoutSeconds, int statementCacheSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Pool size must be positive");
+		}
+		this.factory = factory;
+		this.maxSize = maxSize;
+		this.minIdle = Math.min(minIdle, maxSize);
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.validationTimeoutSeconds = validationTimeoutSeconds;
+		this.statementCacheSize = Math.max(0, statementCacheSize);
+		this.permits = new Semaphore(maxSize, true);
+		this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "connection-pool-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.max(1000L, Math.min(idleTimeoutMillis / 2, 30000L));
+		evictor.execute(this::fillIdle);
+		evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	public static PooledConnectionProvider fromConfig(DataSourceConfig config) {
+		ConnectionProvider factory = new DriverManagerConnectionProvider(config.getUrl(), config.getUsername(),
+				config.getPassword());
+		return new PooledConnectionProvider(factory, config.getPoolMaxSize(), config.getPoolMinIdle(),
+				config.getPoolBorrowTimeoutMillis(), config.getPoolIdleTimeoutMillis(),
+				config.getPoolValidationTimeoutSeconds(), config.getPoolStatementCacheSize());
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (closed) {
+			throw new SQLException("Connection pool is closed.");
+		}
+		try {
+			if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				timeouts.incrementAndGet();
+				throw new SQLTimeoutException(
+						"Timed out after " + borrowTimeoutMillis + " ms waiting for a pooled connection.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a pooled connection.", e);
+		}
+
+		try {
+			PooledEntry entry = takeValidIdle();
+			if (entry == null) {
+				entry = newEntry();
+			}
+			active.incrementAndGet();
+			borrowed.incrementAndGet();
+			return wrap(entry);
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	public PoolStats getStats() {
+		return new PoolStats(maxSize, active.get(), idle.size(), permits.getQueueLength(), created.get(),
+				destroyed.get(), borrowed.get(), timeouts.get(), validationFailures.get(), statementCacheHits.get(),
+				statementCacheMisses.get());
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		evictor.shutdownNow();
+		PooledEntry entry;
+		while ((entry = idle.pollFirst()) != null) {
+			destroy(entry);
+		}
+	}
+
+	private PooledEntry takeValidIdle() {
+		PooledEntry entry;
+		while ((entry = idle.pollFirst()) != null) {
+			if (isValid(entry)) {
+				return entry;
+			}
+			validationFailures.incrementAndGet();
+			destroy(entry);
+		}
+		return null;
+	}
+
+	private boolean isValid(PooledEntry entry) {
+		try {
+			if (entry.connection.isClosed()) {
+				return false;
+			}
+			if (System.currentTimeMillis() - entry.lastUsed < VALIDATION_BYPASS_MILLIS) {
+				return true;
+			}
+			return entry.connection.isValid(validationTimeoutSeconds);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void release(PooledEntry entry) {
+		active.decrementAndGet();
+		try {
+			if (closed || entry.connection.isClosed()) {
+				destroy(entry);
+				return;
+			}
+			if (!entry.connection.getAutoCommit()) {
+				entry.connection.rollback();
+				entry.connection.setAutoCommit(true);
+			}
+			entry.resetSessionState();
+			entry.lastUsed = System.currentTimeMillis();
+			idle.offerFirst(entry);
+		} catch (SQLException e) {
+			destroy(entry);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private void evictIdle() {
+		long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+		Iterator<PooledEntry> iterator = idle.descendingIterator();
+		while (iterator.hasNext() && idle.size() > minIdle) {
+			PooledEntry entry = iterator.next();
+			if (entry.lastUsed < cutoff && idle.remove(entry)) {
+				destroy(entry);
+			}
+		}
+		fillIdle();
+	}
+
+	/**
+	 * Opens connections until {@code minIdle} are idle. Each one is opened under
+	 * a permit so the pool never exceeds {@code maxSize}; a failure is left for
+	 * the next borrower to report.
+	 */
+	private void fillIdle() {
+		while (!closed && idle.size() < minIdle && permits.tryAcquire()) {
+			try {
+				idle.offerLast(newEntry());
+			} catch (SQLException | RuntimeException e) {
+				return;
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	private PooledEntry newEntry() throws SQLException {
+		Connection connection = factory.getConnection();
+		try {
+			PooledEntry entry = new PooledEntry(connection, newStatementCache());
+			created.incrementAndGet();
+			return entry;
+		} catch (SQLException | RuntimeException e) {
+			try {
+				connection.close();
+			} catch (SQLException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		}
+	}
+
+	private StatementCache newStatementCache() {
+		return statementCacheSize == 0 ? null
+				: new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses);
+	}
+
+	private void destroy(PooledEntry entry) {
+		destroyed.incrementAndGet();
+		if (entry.statements != null) {
+			entry.statements.close();
+		}
+		try {
+			entry.connection.close();
+		} catch (SQLException e) {
+			// the connection is being discarded anyway
+		}
+	}
+
+	private Connection wrap(PooledEntry entry) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new PooledConnectionHandler(entry));
+	}
+
+	private static class PooledEntry {
+		private final Connection connection;
+		private final StatementCache statements;
+		private final boolean readOnly;
+		private final int transactionIsolation;
+		private final String catalog;
+		private boolean sessionStateChanged;
+		private volatile long lastUsed = System.currentTimeMillis();
+
+		private PooledEntry(Connection connection, StatementCache statements) throws SQLException {
+			this.connection = connection;
+			this.statements = statements;
+			this.readOnly = connection.isReadOnly();
+			this.transactionIsolation = connection.getTransactionIsolation();
+			this.catalog = connection.getCatalog();
+		}
+
+		/** Undoes setReadOnly, setTransactionIsolation and setCatalog calls made by the last borrower. */
+		private void resetSessionState() throws SQLException {
+			if (!sessionStateChanged) {
+				return;
+			}
+			if (connection.isReadOnly() != readOnly) {
+				connection.setReadOnly(readOnly);
+			}
+			if (connection.getTransactionIsolation() != transactionIsolation) {
+				connection.setTransactionIsolation(transactionIsolation);
+			}
+			if (catalog != null && !catalog.equals(connection.getCatalog())) {
+				connection.setCatalog(catalog);
+			}
+			sessionStateChanged = false;
+		}
+	}
+
+	/**
+	 * Routes calls to the physical connection and turns {@code close()} into a
+	 * return to the pool. Calls after close fail as they would on a real
+	 * connection. {@code prepareStatement(sql)} and
+	 * {@code prepareStatement(sql, autoGeneratedKeys)} go through the entry's
+	 * statement cache when one is configured.
+	 */
+	private class PooledConnectionHandler implements InvocationHandler {
+		private final PooledEntry entry;
+		private boolean returned;
+
+		private PooledConnectionHandler(PooledEntry entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if ("close".equals(name)) {
+				if (!returned) {
+					returned = true;
+					release(entry);
+				}
+				return null;
+			}
+			if ("isClosed".equals(name)) {
+				return returned || entry.connection.isClosed();
+			}
+			if ("equals".equals(name)) {
+				return proxy == args[0];
+			}
+			if ("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			}
+			if ("toString".equals(name)) {
+				return "Pooled" + entry.connection;
+			}
+			if (returned) {
+				throw new SQLException("Connection has already been returned to the pool.");
+			}
+			if ("setReadOnly".equals(name) || "setTransactionIsolation".equals(name) || "setCatalog".equals(name)) {
+				entry.sessionStateChanged = true;
+			}
+			if ("prepareStatement".equals(name) && entry.statements != null && isCacheable(args)) {
+				int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+				return entry.statements.prepare(entry.connection, (Connection) proxy, (String) args[0],
+						autoGeneratedKeys);
+			}
+			try {
+				return method.invoke(entry.connection, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		private boolean isCacheable(Object[] args) {
+			return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+		}
+	}
+}
@@ -0,0 +1,333 @@
+package com.playersselectionapplication.datasource;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Brings the schema up to date at startup. Applied versions are recorded in
+ * the SchemaVersion table so each migration runs once per database. On MySQL
+ * the run holds a named lock, so instances starting together migrate one at a
+ * time and the later ones find the work done.
+ *
+ * Whether deleting a player cascades to its scores and form follows
+ * {@code db.cascadeDeletes}. Because that setting can change between runs,
+ * the default migrator checks the delete rule of the player foreign keys on
+ * every run rather than only when migration 4 is first applied.
+ */
+public class SchemaMigrator {
+	private static final String LOCK_NAME = "PlayersSelectionApplication.schema";
+	private static final int LOCK_TIMEOUT_SECONDS = 60;
+	private static final int PLAYER_DELETE_RULE_VERSION = 4;
+
+	private final ConnectionProvider connectionProvider;
+	private final List<Migration> migrations;
+	private final Migration.Step afterMigrate;
+
+	public SchemaMigrator(ConnectionProvider connectionProvider) {
+		this(connectionProvider, DataSourceConfig.load());
+	}
+
+	private SchemaMigrator(ConnectionProvider connectionProvider, DataSourceConfig config) {
+		this(connectionProvider, config.isCascadeDeletes(), config.getFormAlpha());
+	}
+
+	/**
+	 * @param cascadeDeletes whether player deletes cascade to Score and
+	 *                       PlayerForm through the foreign keys
+	 * @param formAlpha      decay factor the form rating backfill uses
+	 */
+	public SchemaMigrator(ConnectionProvider connectionProvider, boolean cascadeDeletes, double formAlpha) {
+		this(connectionProvider, defaultMigrations(cascadeDeletes, formAlpha), connection -> {
+			if (getCurrentVersion(connection) >= PLAYER_DELETE_RULE_VERSION) {
+				setPlayerDeleteRules(connection, cascadeDeletes);
+			}
+		});
+	}
+
+	public SchemaMigrator(ConnectionProvider connectionProvider, List<Migration> migrations) {
+		this(connectionProvider, migrations, null);
+	}
+
+	private SchemaMigrator(ConnectionProvider connectionProvider, List<Migration> migrations,
+			Migration.Step afterMigrate) {
+		this.connectionProvider = connectionProvider;
+		this.migrations = new ArrayList<>(migrations);
+		this.migrations.sort(Comparator.comparingInt(Migration::getVersion));
+		this.afterMigrate = afterMigrate;
+	}
+
+	/**
+	 * Applies every migration newer than the recorded version and returns how
+	 * many were applied.
+	 */
+	public int migrate() throws SQLException {
+		String createVersionTableQuery = "CREATE TABLE IF NOT EXISTS SchemaVersion (" + "version INT PRIMARY KEY,"
+				+ "description VARCHAR(255) NOT NULL," + "appliedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP"
+				+ ")";
+		String recordVersionQuery = "INSERT INTO SchemaVersion (version, description) VALUES (?, ?)";
+
+		try (Connection connection = connectionProvider.getConnection()) {
+			boolean locked = acquireLock(connection);
+			try {
+				try (Statement statement = connection.createStatement()) {
+					statement.executeUpdate(createVersionTableQuery);
+				}
+
+				int currentVersion = getCurrentVersion(connection);
+				int applied = 0;
+
+				for (Migration migration : migrations) {
+					if (migration.getVersion() <= currentVersion) {
+						continue;
+					}
+
+					migration.apply(connection);
+
+					try (PreparedStatement statement = connection.prepareStatement(recordVersionQuery)) {
+						statement.setInt(1, migration.getVersion());
+						statement.setString(2, migration.getDescription());
+						statement.executeUpdate();
+					}
+					applied++;
+				}
+
+				if (afterMigrate != null) {
+					afterMigrate.apply(connection);
+				}
+				return applied;
+			} finally {
+				if (locked) {
+					releaseLock(connection);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Takes the migration lock on MySQL, where DDL commits implicitly and a
+	 * row lock would not survive the run. Other databases migrate unlocked.
+	 *
+	 * @return whether a lock was taken
+	 */
+	private static boolean acquireLock(Connection connection) throws SQLException {
+		if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+			return false;
+		}
+		try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+			statement.setString(1, LOCK_NAME);
+			statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				if (!resultSet.next() || resultSet.getInt(1) != 1) {
+					throw new SQLTimeoutException(
+							"Timed out after " + LOCK_TIMEOUT_SECONDS + " s waiting for the schema migration lock.");
+				}
+			}
+		}
+		return true;
+	}
+
+	private static void releaseLock(Connection connection) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+			statement.setString(1, LOCK_NAME);
+			statement.executeQuery().close();
+		}
+	}
+
+	public int getCurrentVersion() throws SQLException {
+		try (Connection connection = connectionProvider.getConnection()) {
+			return getCurrentVersion(connection);
+		}
+	}
+
+	private static int getCurrentVersion(Connection connection) throws SQLException {
+		String query = "SELECT MAX(version) FROM SchemaVersion";
+		try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(query)) {
+			return resultSet.next() ? resultSet.getInt(1) : 0;
+		}
+	}
+
+	public static List<Migration> defaultMigrations() {
+		DataSourceConfig config = DataSourceConfig.load();
+		return defaultMigrations(config.isCascadeDeletes(), config.getFormAlpha());
+	}
+
+	public static List<Migration> defaultMigrations(boolean cascadeDeletes, double formAlpha) {
+		List<Migration> migrations = new ArrayList<>();
+
+		migrations.add(Migration.sql(1, "Create Player and Score tables",
+				"CREATE TABLE IF NOT EXISTS Player (" + "id INT AUTO_INCREMENT PRIMARY KEY,"
+						+ "name VARCHAR(10) NOT NULL," + "domesticTeam VARCHAR(255) NOT NULL,"
+						+ "average INT NOT NULL DEFAULT 0" + ")",
+				"CREATE TABLE IF NOT EXISTS Score (" + "id INT AUTO_INCREMENT PRIMARY KEY," + "score INT NOT NULL,"
+						+ "playerId INT NOT NULL," + "FOREIGN KEY (playerId) REFERENCES Player(id)" + ")"));
+
+		migrations.add(new Migration(2, "Create and backfill PlayerForm", connection -> {
+			String createPlayerFormTableQuery = "CREATE TABLE IF NOT EXISTS PlayerForm ("
+					+ "playerId INT PRIMARY KEY," + "recentScore1 INT NULL," + "recentScore2 INT NULL,"
+					+ "recentScore3 INT NULL," + "scoreCount INT NOT NULL DEFAULT 0,"
+					+ "FOREIGN KEY (playerId) REFERENCES Player(id)" + ")";
+
+			String backfillPlayerFormQuery = "INSERT INTO PlayerForm "
+					+ "(playerId, recentScore1, recentScore2, recentScore3, scoreCount) "
+					+ "SELECT playerId, MAX(CASE WHEN rowNumber = 1 THEN score END), "
+					+ "MAX(CASE WHEN rowNumber = 2 THEN score END), MAX(CASE WHEN rowNumber = 3 THEN score END), "
+					+ "COUNT(*) FROM (SELECT playerId, score, "
+					+ "ROW_NUMBER() OVER (PARTITION BY playerId ORDER BY id DESC) AS rowNumber FROM Score) ranked "
+					+ "GROUP BY playerId";
+
+			// Databases bootstrapped before versioning may already hold a maintained PlayerForm.
+			boolean playerFormExists = tableExists(connection, "PlayerForm");
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate(createPlayerFormTableQuery);
+				if (!playerFormExists) {
+					statement.executeUpdate(backfillPlayerFormQuery);
+				}
+			}
+		}));
+
+		migrations.add(new Migration(3, "Add covering score index and player lookup indexes", connection -> {
+			createIndexIfNotExists(connection, "Score", "idx_score_player_recent", "playerId, id DESC, score");
+			createIndexIfNotExists(connection, "Player", "idx_player_name", "name");
+			createIndexIfNotExists(connection, "Player", "idx_player_domestic_team", "domesticTeam");
+		}));
+
+		migrations.add(new Migration(PLAYER_DELETE_RULE_VERSION, "Set the player delete rule of Score and PlayerForm",
+				connection -> setPlayerDeleteRules(connection, cascadeDeletes)));
+
+		migrations.add(new Migration(5, "Add exponentially weighted form rating to PlayerForm", connection -> {
+			// Rating after n scores, newest first at rowNumber 1: the oldest score
+			// weighs (1 - alpha)^(n - 1), every other alpha * (1 - alpha)^(rowNumber - 1).
+			String backfillFormRatingQuery = "INSERT INTO PlayerForm "
+					+ "(playerId, recentScore1, recentScore2, recentScore3, scoreCount, formRating) "
+					+ "SELECT playerId, MAX(CASE WHEN rowNumber = 1 THEN score END), "
+					+ "MAX(CASE WHEN rowNumber = 2 THEN score END), MAX(CASE WHEN rowNumber = 3 THEN score END), "
+					+ "COUNT(*), SUM(score * POWER(1E0 - ?, rowNumber - 1) "
+					+ "* CASE WHEN rowNumber = scoreCount THEN 1E0 ELSE ? END) "
+					+ "FROM (SELECT playerId, score, "
+					+ "ROW_NUMBER() OVER (PARTITION BY playerId ORDER BY id DESC) AS rowNumber, "
+					+ "COUNT(*) OVER (PARTITION BY playerId) AS scoreCount FROM Score) ranked GROUP BY playerId "
+					+ "ON DUPLICATE KEY UPDATE formRating = VALUES(formRating)";
+
+			// The ALTER commits on MySQL; skipping it lets a run that failed in the backfill be retried.
+			addColumnIfNotExists(connection, "PlayerForm", "formRating", "DOUBLE NOT NULL DEFAULT 0");
+			try (PreparedStatement statement = connection.prepareStatement(backfillFormRatingQuery)) {
+				statement.setDouble(1, formAlpha);
+				statement.setDouble(2, formAlpha);
+				statement.executeUpdate();
+			}
+		}));
+
+		// Empty until the first rebuild, so existing ratings are rebuilt once with the configured alpha.
+		migrations.add(Migration.sql(6, "Record the decay factor of the stored form ratings",
+				"CREATE TABLE IF NOT EXISTS FormRatingConfig (" + "id INT PRIMARY KEY," + "alpha DOUBLE NOT NULL"
+						+ ")"));
+
+		// Written in the same transaction as each imported batch, see ScoreDAO#addScores(Collection, String, String).
+		migrations.add(Migration.sql(7, "Create the ImportCheckpoint table",
+				"CREATE TABLE IF NOT EXISTS ImportCheckpoint (" + "importKey VARCHAR(255) PRIMARY KEY,"
+						+ "checkpoint VARCHAR(1024) NOT NULL" + ")"));
+
+		return Collections.unmodifiableList(migrations);
+	}
+
+	private static void setPlayerDeleteRules(Connection connection, boolean cascade) throws SQLException {
+		setPlayerDeleteRule(connection, "Score", "fk_score_player", cascade);
+		setPlayerDeleteRule(connection, "PlayerForm", "fk_player_form_player", cascade);
+	}
+
+	/**
+	 * Leaves {@code table} with a single foreign key from playerId to Player
+	 * whose delete rule matches {@code cascade}, replacing the existing keys
+	 * only if they differ. The original keys were created without names, so
+	 * they are looked up in the metadata.
+	 */
+	private static void setPlayerDeleteRule(Connection connection, String table, String constraintName,
+			boolean cascade) throws SQLException {
+		List<String> existingKeys = new ArrayList<>();
+		boolean rulesMatch = true;
+		DatabaseMetaData metaData = connection.getMetaData();
+		try (ResultSet importedKeys = metaData.getImportedKeys(connection.getCatalog(), null,
+				storedName(metaData, table))) {
+			while (importedKeys.next()) {
+				String keyName = importedKeys.getString("FK_NAME");
+				if ("Player".equalsIgnoreCase(importedKeys.getString("PKTABLE_NAME")) && keyName != null
+						&& !existingKeys.contains(keyName)) {
+					existingKeys.add(keyName);
+					boolean cascades = importedKeys.getShort("DELETE_RULE") == DatabaseMetaData.importedKeyCascade;
+					rulesMatch &= cascades == cascade;
+				}
+			}
+		}
+		if (existingKeys.size() == 1 && rulesMatch) {
+			return;
+		}
+
+		try (Statement statement = connection.createStatement()) {
+			for (String existingKey : existingKeys) {
+				statement.executeUpdate("ALTER TABLE " + table + " DROP FOREIGN KEY " + existingKey);
+			}
+			statement.executeUpdate("ALTER TABLE " + table + " ADD CONSTRAINT " + constraintName
+					+ " FOREIGN KEY (playerId) REFERENCES Player(id)" + (cascade ? " ON DELETE CASCADE" : ""));
+		}
+	}
+
+	/**
+	 * MySQL has no CREATE INDEX IF NOT EXISTS, so a migration interrupted after
+	 * its first index would otherwise fail on every rerun.
+	 */
+	private static void createIndexIfNotExists(Connection connection, String table, String indexName, String columns)
+			throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, storedName(metaData, table),
+				false, true)) {
+			while (indexes.next()) {
+				if (indexName.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+					return;
+				}
+			}
+		}
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE INDEX " + indexName + " ON " + table + " (" + columns + ")");
+		}
+	}
+
+	private static void addColumnIfNotExists(Connection connection, String table, String column, String definition)
+			throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, storedName(metaData, table),
+				storedName(metaData, column))) {
+			if (columns.next()) {
+				return;
+			}
+		}
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+		}
+	}
+
+	private static String storedName(DatabaseMetaData metaData, String name) throws SQLException {
+		if (metaData.storesUpperCaseIdentifiers()) {
+			return name.toUpperCase();
+		} else if (metaData.storesLowerCaseIdentifiers()) {
+			return name.toLowerCase();
+		}
+		return name;
+	}
+
+	static boolean tableExists(Connection connection, String tableName) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, storedName(metaData, tableName),
+				new String[] { "TABLE" })) {
+			return tables.next();
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package com.playersselectionapplication.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prepared statements kept open on one physical connection, keyed by SQL and
+ * generated-keys mode. A statement is checked out while in use, so a second
+ * prepare of the same SQL on that connection gets a fresh statement; on close
+ * the statement's parameters and batch are cleared and it goes back into the
+ * cache, evicting the least recently used one when full.
+ */
+class StatementCache {
+	private final int maxSize;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final LinkedHashMap<Key, PreparedStatement> statements;
+	private boolean closed;
+
+	StatementCache(int maxSize, AtomicLong hits, AtomicLong misses) {
+		this.maxSize = maxSize;
+		this.hits = hits;
+		this.misses = misses;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns a cached statement for the SQL, preparing one on a miss. The
+	 * result is a proxy whose {@code close()} returns it to this cache.
+	 */
+	PreparedStatement prepare(Connection physical, Connection owner, String sql, int autoGeneratedKeys)
+			throws SQLException {
+		Key key = new Key(sql, autoGeneratedKeys);
+		PreparedStatement statement = checkOut(key);
+		if (statement == null) {
+			misses.incrementAndGet();
+			statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS ? physical.prepareStatement(sql)
+					: physical.prepareStatement(sql, autoGeneratedKeys);
+		} else {
+			hits.incrementAndGet();
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, new CachedStatementHandler(key, statement, owner));
+	}
+
+	/**
+	 * Closes every cached statement. Statements still checked out are closed
+	 * when their users close them.
+	 */
+	void close() {
+		List<PreparedStatement> toClose;
+		synchronized (this) {
+			closed = true;
+			toClose = new ArrayList<>(statements.values());
+			statements.clear();
+		}
+		for (PreparedStatement statement : toClose) {
+			closeQuietly(statement);
+		}
+	}
+
+	private synchronized PreparedStatement checkOut(Key key) {
+		return closed ? null : statements.remove(key);
+	}
+
+	private void checkIn(Key key, PreparedStatement statement) {
+		PreparedStatement evicted = null;
+		synchronized (this) {
+			if (!closed && !statements.containsKey(key)) {
+				statements.put(key, statement);
+				statement = null;
+				if (statements.size() > maxSize) {
+					Iterator<PreparedStatement> eldest = statements.values().iterator();
+					evicted = eldest.next();
+					eldest.remove();
+				}
+			}
+		}
+		closeQuietly(statement);
+		closeQuietly(evicted);
+	}
+
+	private static void closeQuietly(Statement statement) {
+		if (statement == null) {
+			return;
+		}
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			// the statement is being discarded anyway
+		}
+	}
+
+	private static final class Key {
+		private final String sql;
+		private final int autoGeneratedKeys;
+
+		private Key(String sql, int autoGeneratedKeys) {
+			this.sql = sql;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(sql, autoGeneratedKeys);
+		}
+	}
+
+	/**
+	 * Turns {@code close()} into a check-in. Statements whose fetch size, row
+	 * limit, timeout or other settings were changed are closed instead, so
+	 * the next user always starts from the driver defaults.
+	 */
+	private class CachedStatementHandler implements InvocationHandler {
+		private final Key key;
+		private final PreparedStatement statement;
+		private final Connection owner;
+		private boolean returned;
+		private boolean reconfigured;
+
+		private CachedStatementHandler(Key key, PreparedStatement statement, Connection owner) {
+			this.key = key;
+			this.statement = statement;
+			this.owner = owner;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if ("close".equals(name)) {
+				if (!returned) {
+					returned = true;
+					recycle();
+				}
+				return null;
+			}
+			if ("isClosed".equals(name)) {
+				return returned || statement.isClosed();
+			}
+			if ("getConnection".equals(name)) {
+				return owner;
+			}
+			if ("equals".equals(name)) {
+				return proxy == args[0];
+			}
+			if ("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			}
+			if ("toString".equals(name)) {
+				return "Cached" + statement;
+			}
+			if (returned) {
+				throw new SQLException("Statement has already been closed.");
+			}
+			if (name.startsWith("set") && method.getDeclaringClass() == Statement.class) {
+				reconfigured = true;
+			}
+			try {
+				return method.invoke(statement, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		private void recycle() throws SQLException {
+			if (reconfigured || statement.isClosed()) {
+				closeQuietly(statement);
+				return;
+			}
+			try {
+				ResultSet resultSet = statement.getResultSet();
+				if (resultSet != null) {
+					resultSet.close();
+				}
+				statement.clearParameters();
+				statement.clearBatch();
+				statement.clearWarnings();
+			} catch (SQLException e) {
+				closeQuietly(statement);
+				return;
+			}
+			checkIn(key, statement);
+		}
+	}
+}
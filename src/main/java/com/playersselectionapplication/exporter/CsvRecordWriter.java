@@ -0,0 +1,146 @@
+package com.playersselectionapplication.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CSV writer that encodes straight into one reusable byte buffer: integers
+ * are written digit by digit and strings are UTF-8 encoded by hand, so no
+ * intermediate strings or byte arrays are created per field. Fields holding
+ * commas, quotes or line breaks are quoted with quotes doubled; null is an
+ * empty field.
+ */
+final class CsvRecordWriter implements RecordWriter {
+	private static final int BUFFER_BYTES = 1 << 16;
+	/** Longest encoding of one field separator or char: 3 UTF-8 bytes, or 4 for a surrogate pair. */
+	private static final int MAX_CHAR_BYTES = 4;
+
+	private final OutputStream outputStream;
+	private final byte[] buffer = new byte[BUFFER_BYTES];
+	private int size;
+	private boolean firstField = true;
+
+	CsvRecordWriter(OutputStream outputStream, String[] columns) throws IOException {
+		this.outputStream = outputStream;
+		for (String column : columns) {
+			writeString(column);
+		}
+		endRecord();
+	}
+
+	@Override
+	public void writeString(String value) throws IOException {
+		separate();
+		if (value == null) {
+			return;
+		}
+		boolean quoted = needsQuotes(value);
+		if (quoted) {
+			put('"');
+		}
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			if (size + MAX_CHAR_BYTES > buffer.length) {
+				flushBuffer();
+			}
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				if (c == '"') {
+					buffer[size++] = '"';
+				}
+				buffer[size++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[size++] = (byte) (0xC0 | c >> 6);
+				buffer[size++] = (byte) (0x80 | c & 0x3F);
+			} else if (Character.isHighSurrogate(c) && i + 1 < length
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				buffer[size++] = (byte) (0xF0 | codePoint >> 18);
+				buffer[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+				buffer[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+				buffer[size++] = (byte) (0x80 | codePoint & 0x3F);
+			} else if (Character.isSurrogate(c)) {
+				buffer[size++] = '?'; // unpaired surrogate, as String.getBytes does
+			} else {
+				buffer[size++] = (byte) (0xE0 | c >> 12);
+				buffer[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+				buffer[size++] = (byte) (0x80 | c & 0x3F);
+			}
+		}
+		if (quoted) {
+			put('"');
+		}
+	}
+
+	@Override
+	public void writeInt(int value) throws IOException {
+		separate();
+		if (size + 11 > buffer.length) {
+			flushBuffer();
+		}
+		long remaining = value;
+		if (remaining < 0) {
+			buffer[size++] = '-';
+			remaining = -remaining;
+		}
+		int end = size + digits(remaining);
+		for (int i = end - 1; i >= size; i--) {
+			buffer[i] = (byte) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+		size = end;
+	}
+
+	@Override
+	public void endRecord() throws IOException {
+		put('\n');
+		firstField = true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			outputStream.close();
+		}
+	}
+
+	private void separate() throws IOException {
+		if (!firstField) {
+			put(',');
+		}
+		firstField = false;
+	}
+
+	private void put(char c) throws IOException {
+		if (size == buffer.length) {
+			flushBuffer();
+		}
+		buffer[size++] = (byte) c;
+	}
+
+	private void flushBuffer() throws IOException {
+		outputStream.write(buffer, 0, size);
+		size = 0;
+	}
+
+	private static boolean needsQuotes(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int digits(long value) {
+		int digits = 1;
+		while (value >= 10) {
+			value /= 10;
+			digits++;
+		}
+		return digits;
+	}
+}
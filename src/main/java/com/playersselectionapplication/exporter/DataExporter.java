@@ -0,0 +1,122 @@
+package com.playersselectionapplication.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.PlayerDAO;
+import com.playersselectionapplication.repository.ScoreDAO;
+
+/**
+ * Streams players or scores from the DAO cursors to a CSV or NDJSON file,
+ * optionally gzip-compressed. Rows are encoded as they are read, so memory
+ * does not grow with the table. The file is written under a temporary name
+ * and moved into place when complete.
+ *
+ * Score rows carry the player's name and domestic team next to the player
+ * id, so an export can be imported into another database. Those come from
+ * one pass over the players before the scores are read.
+ */
+public class DataExporter {
+	private static final int GZIP_BUFFER_BYTES = 1 << 16;
+	private static final String[] PLAYER_COLUMNS = { "id", "name", "domesticTeam", "average" };
+	private static final String[] SCORE_COLUMNS = { "id", "playerId", "name", "domesticTeam", "score" };
+
+	private final PlayerDAO playerDAO;
+	private final ScoreDAO scoreDAO;
+
+	public DataExporter(PlayerDAO playerDAO, ScoreDAO scoreDAO) {
+		this.playerDAO = playerDAO;
+		this.scoreDAO = scoreDAO;
+	}
+
+	public ExportInfo exportPlayers(Path file, ExportFormat format, boolean gzip) throws SQLException, IOException {
+		return export(file, format, gzip, PLAYER_COLUMNS, writer -> {
+			long rows = 0;
+			try (Stream<Player> players = playerDAO.streamAllPlayers()) {
+				Iterator<Player> iterator = players.iterator();
+				while (iterator.hasNext()) {
+					Player player = iterator.next();
+					writer.writeInt(player.getId());
+					writer.writeString(player.getName());
+					writer.writeString(player.getDomesticTeam());
+					writer.writeInt(player.getAverage());
+					writer.endRecord();
+					rows++;
+				}
+			}
+			return rows;
+		});
+	}
+
+	public ExportInfo exportScores(Path file, ExportFormat format, boolean gzip) throws SQLException, IOException {
+		Map<Integer, Player> playersById = new HashMap<>();
+		try (Stream<Player> players = playerDAO.streamAllPlayers()) {
+			players.forEach(player -> playersById.put(player.getId(), player));
+		}
+
+		return export(file, format, gzip, SCORE_COLUMNS, writer -> {
+			long rows = 0;
+			try (Stream<Score> scores = scoreDAO.streamAllScores()) {
+				Iterator<Score> iterator = scores.iterator();
+				while (iterator.hasNext()) {
+					Score score = iterator.next();
+					Player player = playersById.get(score.getPlayerId());
+					writer.writeInt(score.getId());
+					writer.writeInt(score.getPlayerId());
+					writer.writeString(player != null ? player.getName() : null);
+					writer.writeString(player != null ? player.getDomesticTeam() : null);
+					writer.writeInt(score.getScore());
+					writer.endRecord();
+					rows++;
+				}
+			}
+			return rows;
+		});
+	}
+
+	private static ExportInfo export(Path file, ExportFormat format, boolean gzip, String[] columns,
+			RecordSource source) throws SQLException, IOException {
+		long start = System.nanoTime();
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		long rows;
+		try {
+			// Each stream is closed even if wrapping it fails; closing one twice is harmless.
+			try (OutputStream fileStream = Files.newOutputStream(temp);
+					OutputStream outputStream = gzip ? compress(fileStream) : fileStream;
+					RecordWriter writer = RecordWriter.create(format, outputStream, columns)) {
+				rows = source.writeTo(writer);
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (SQLException | IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		return new ExportInfo(rows, Files.size(file), (System.nanoTime() - start) / 1_000_000L);
+	}
+
+	private static OutputStream compress(OutputStream outputStream) throws IOException {
+		return new GZIPOutputStream(outputStream, GZIP_BUFFER_BYTES) {
+			{
+				// Compression, not the cursor, bounds a gzip export; trade ratio for speed.
+				def.setLevel(Deflater.BEST_SPEED);
+			}
+		};
+	}
+
+	@FunctionalInterface
+	private interface RecordSource {
+		long writeTo(RecordWriter writer) throws SQLException, IOException;
+	}
+}
@@ -0,0 +1,48 @@
+package com.playersselectionapplication.exporter;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats written by the {@link DataExporter}. Score exports in either
+ * can be read back by the score importer once decompressed; it does not read
+ * gzip files.
+ */
+public enum ExportFormat {
+	CSV, NDJSON;
+
+	private static final String GZIP_SUFFIX = ".gz";
+
+	/**
+	 * Format named on the command line, ignoring case.
+	 */
+	public static ExportFormat forName(String name) {
+		try {
+			return valueOf(name.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown export format: " + name + " (expected csv or ndjson)");
+		}
+	}
+
+	/**
+	 * Format implied by the file extension, ignoring a trailing .gz: .csv, or
+	 * .ndjson, .jsonl and .json.
+	 */
+	public static ExportFormat forFile(Path file) {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		if (name.endsWith(GZIP_SUFFIX)) {
+			name = name.substring(0, name.length() - GZIP_SUFFIX.length());
+		}
+		if (name.endsWith(".csv")) {
+			return CSV;
+		}
+		if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+			return NDJSON;
+		}
+		throw new IllegalArgumentException("Cannot tell the format of " + file + "; name it csv or ndjson");
+	}
+
+	public static boolean isGzip(Path file) {
+		return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(GZIP_SUFFIX);
+	}
+}
@@ -0,0 +1,33 @@
+package com.playersselectionapplication.exporter;
+
+/**
+ * Summary of a file written by the {@link DataExporter}.
+ */
+public class ExportInfo {
+	private final long rows;
+	private final long sizeBytes;
+	private final long elapsedMillis;
+
+	public ExportInfo(long rows, long sizeBytes, long elapsedMillis) {
+		this.rows = rows;
+		this.sizeBytes = sizeBytes;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getSizeBytes() {
+		return sizeBytes;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "ExportInfo{" + "rows=" + rows + ", sizeBytes=" + sizeBytes + ", elapsedMillis=" + elapsedMillis + '}';
+	}
+}
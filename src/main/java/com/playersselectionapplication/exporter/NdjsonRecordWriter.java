@@ -0,0 +1,66 @@
+package com.playersselectionapplication.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes one JSON object per line with Jackson's streaming generator, which
+ * encodes into its own reusable buffer.
+ */
+final class NdjsonRecordWriter implements RecordWriter {
+	private static final JsonFactory JSON_FACTORY = new JsonFactory().setRootValueSeparator(null);
+
+	private final JsonGenerator generator;
+	private final String[] columns;
+	private int field;
+
+	NdjsonRecordWriter(OutputStream outputStream, String[] columns) throws IOException {
+		this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+		this.columns = columns.clone();
+	}
+
+	@Override
+	public void writeString(String value) throws IOException {
+		startField();
+		if (value == null) {
+			generator.writeNull();
+		} else {
+			generator.writeString(value);
+		}
+	}
+
+	@Override
+	public void writeInt(int value) throws IOException {
+		startField();
+		generator.writeNumber(value);
+	}
+
+	@Override
+	public void endRecord() throws IOException {
+		if (field == 0) {
+			generator.writeStartObject();
+		}
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+		field = 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+
+	private void startField() throws IOException {
+		if (field == columns.length) {
+			throw new IllegalStateException("Record has more fields than the " + columns.length + " columns");
+		}
+		if (field == 0) {
+			generator.writeStartObject();
+		}
+		generator.writeFieldName(columns[field++]);
+	}
+}
@@ -0,0 +1,23 @@
+package com.playersselectionapplication.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes records field by field in the column order fixed at creation.
+ * Closing flushes and closes the underlying stream.
+ */
+interface RecordWriter extends Closeable {
+	static RecordWriter create(ExportFormat format, OutputStream outputStream, String... columns)
+			throws IOException {
+		return format == ExportFormat.CSV ? new CsvRecordWriter(outputStream, columns)
+				: new NdjsonRecordWriter(outputStream, columns);
+	}
+
+	void writeString(String value) throws IOException;
+
+	void writeInt(int value) throws IOException;
+
+	void endRecord() throws IOException;
+}
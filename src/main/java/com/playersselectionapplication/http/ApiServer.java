@@ -0,0 +1,614 @@
+package com.playersselectionapplication.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playersselectionapplication.metrics.DaoMetrics;
+import com.playersselectionapplication.metrics.MethodMetrics;
+import com.playersselectionapplication.metrics.MethodStats;
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.AsyncPlayerDAO;
+import com.playersselectionapplication.repository.AsyncScoreDAO;
+import com.playersselectionapplication.repository.DaoExecutor;
+import com.playersselectionapplication.repository.PlayerDAO;
+import com.playersselectionapplication.repository.ScoreDAO;
+import com.playersselectionapplication.service.SelectionCriteria;
+import com.playersselectionapplication.service.ScoreIngestionQueue;
+import com.playersselectionapplication.service.SelectionEngine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JSON API over the DAOs on the JDK's built-in HTTP server.
+ *
+ * Handler threads only parse and dispatch: every DAO call goes through a
+ * {@link DaoExecutor} and the response is written when its future completes,
+ * so a slow query holds a connection but not a handler thread. Reads use the
+ * {@link AsyncPlayerDAO} and {@link AsyncScoreDAO} facades; writes that check
+ * the row first run as one task. Given a {@link ScoreIngestionQueue},
+ * {@code POST /scores} is written through it in batches and its counters are
+ * reported under {@code /metrics}. The executor
+ * bounds the calls in flight; beyond that requests get 503 at once, and
+ * calls over its timeout get 504. A known path with another method gets 405
+ * and an Allow header. Constraint violations get 409; other database and
+ * unexpected errors are logged and reported as a bare 500. Handlers run on virtual threads when the JVM provides them, otherwise
+ * on one thread per processor.
+ *
+ * <pre>
+ * GET    /health
+ * GET    /metrics
+ * GET    /players?after=&lt;token&gt;&amp;limit=&lt;n&gt;     page of players in id order
+ * GET    /players?name=&lt;text&gt;                 or ?domesticTeam=&lt;team&gt;
+ * GET    /players?ids=&lt;id&gt;,&lt;id&gt;,...            players that exist, in the order given
+ * POST   /players                            {"name": ..., "domesticTeam": ...}
+ * GET    /players/{id}
+ * PUT    /players/{id}                       {"name": ..., "domesticTeam": ...}
+ * DELETE /players/{id}
+ * GET    /players/{id}/scores?after=&lt;token&gt;&amp;limit=&lt;n&gt;
+ * GET    /players/{id}/form
+ * POST   /scores                             {"playerId": ..., "score": ...}
+ * GET    /scores/{id}
+ * PUT    /scores/{id}                        {"score": ...}
+ * DELETE /scores/{id}
+ * GET    /selection?squadSize=&lt;n&gt;&amp;maxPerTeam=&lt;n&gt;&amp;minInnings=&lt;n&gt;&amp;ranking=average|rating
+ * </pre>
+ */
+public class ApiServer implements AutoCloseable {
+	private static final int DEFAULT_PAGE_SIZE = 100;
+	private static final int MAX_PAGE_SIZE = 1000;
+	/** Lengths of the Player.name and Player.domesticTeam columns. */
+	private static final int MAX_NAME_LENGTH = 10;
+	private static final int MAX_TEAM_LENGTH = 255;
+	private static final Logger LOG = Logger.getLogger(ApiServer.class.getName());
+	private static final ObjectMapper JSON = new ObjectMapper()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+	private final PlayerDAO playerDAO;
+	private final ScoreDAO scoreDAO;
+	private final DaoExecutor daoExecutor;
+	private final AsyncPlayerDAO asyncPlayerDAO;
+	private final AsyncScoreDAO asyncScoreDAO;
+	private final DaoMetrics daoMetrics;
+	private final ScoreIngestionQueue ingestionQueue;
+	private final HttpServer server;
+	private final ExecutorService handlerExecutor;
+	private final Map<String, MethodMetrics> routeMetrics = new ConcurrentHashMap<>();
+	private final long startedAtMillis = System.currentTimeMillis();
+
+	/**
+	 * @param daoMetrics metrics of the instrumented DAOs for {@code /metrics},
+	 *                   or null
+	 */
+	public ApiServer(InetSocketAddress address, PlayerDAO playerDAO, ScoreDAO scoreDAO, DaoExecutor daoExecutor,
+			DaoMetrics daoMetrics) throws IOException {
+		this(address, playerDAO, scoreDAO, daoExecutor, daoMetrics, null);
+	}
+
+	/**
+	 * @param ingestionQueue queue for {@code POST /scores}, or null to write
+	 *                       each score directly; the caller closes it
+	 */
+	public ApiServer(InetSocketAddress address, PlayerDAO playerDAO, ScoreDAO scoreDAO, DaoExecutor daoExecutor,
+			DaoMetrics daoMetrics, ScoreIngestionQueue ingestionQueue) throws IOException {
+		this.playerDAO = playerDAO;
+		this.scoreDAO = scoreDAO;
+		this.daoExecutor = daoExecutor;
+		this.asyncPlayerDAO = new AsyncPlayerDAO(playerDAO, daoExecutor);
+		this.asyncScoreDAO = new AsyncScoreDAO(scoreDAO, daoExecutor);
+		this.daoMetrics = daoMetrics;
+		this.ingestionQueue = ingestionQueue;
+		this.handlerExecutor = newHandlerExecutor();
+		this.server = HttpServer.create(address, 0);
+		this.server.createContext("/", this::handle);
+		this.server.setExecutor(handlerExecutor);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops accepting requests and waits up to a second for open exchanges.
+	 */
+	@Override
+	public void close() {
+		server.stop(1);
+		handlerExecutor.shutdown();
+	}
+
+	private void handle(HttpExchange exchange) {
+		long start = System.nanoTime();
+		Request request = new Request(exchange);
+		CompletableFuture<Response> response;
+		try {
+			response = route(request);
+		} catch (IOException | RuntimeException e) {
+			response = new CompletableFuture<>();
+			response.completeExceptionally(e);
+		}
+		// Write on a handler thread, not the DAO or timeout thread that completed the call.
+		response.whenCompleteAsync((result, error) -> respond(exchange, request, start,
+				error == null ? result : errorResponse(error)), handlerExecutor);
+	}
+
+	private CompletableFuture<Response> route(Request request) throws IOException {
+		String[] path = request.path;
+		String resource = path.length > 0 ? path[0] : "";
+
+		if (path.length == 1 && "health".equals(resource) && request.is("GET", "health")) {
+			return completed(Response.ok(health()));
+		}
+		if (path.length == 1 && "metrics".equals(resource) && request.is("GET", "metrics")) {
+			return completed(Response.ok(metrics()));
+		}
+		if ("players".equals(resource)) {
+			return routePlayers(request, path);
+		}
+		if ("scores".equals(resource)) {
+			return routeScores(request, path);
+		}
+		if (path.length == 1 && "selection".equals(resource) && request.is("GET", "selection")) {
+			SelectionCriteria criteria = new SelectionCriteria(request.intParam("squadSize", 11),
+					request.intParam("maxPerTeam", 0), request.intParam("minInnings", 0),
+					"rating".equalsIgnoreCase(request.param("ranking")) ? SelectionCriteria.Ranking.FORM_RATING
+							: SelectionCriteria.Ranking.LAST_THREE_AVERAGE);
+			return call(() -> Response.ok(new SelectionEngine(playerDAO, scoreDAO).selectSquad(criteria)));
+		}
+		return noRoute(request);
+	}
+
+	private CompletableFuture<Response> routePlayers(Request request, String[] path) throws IOException {
+		if (path.length == 1 && request.is("GET", "players")) {
+			String name = request.param("name");
+			String domesticTeam = request.param("domesticTeam");
+			String ids = request.param("ids");
+			if (name != null) {
+				return asyncPlayerDAO.searchPlayersByName(name).thenApply(Response::ok);
+			}
+			if (domesticTeam != null) {
+				return asyncPlayerDAO.searchPlayersByDomesticTeam(domesticTeam).thenApply(Response::ok);
+			}
+			if (ids != null) {
+				return asyncPlayerDAO.getPlayersByIds(parseIds(ids)).thenApply(Response::ok);
+			}
+			String after = request.param("after");
+			int limit = request.pageSize();
+			return asyncPlayerDAO.getPlayersPage(after, limit).thenApply(Response::ok);
+		}
+		if (path.length == 1 && request.is("POST", "players")) {
+			Player player = validPlayer(request.body(Player.class));
+			return call(() -> {
+				playerDAO.addPlayer(player);
+				return new Response(201, player);
+			});
+		}
+		if (path.length < 2) {
+			return noRoute(request);
+		}
+
+		int id = parseId(path[1]);
+		if (path.length == 2 && request.is("GET", "players/{id}")) {
+			return asyncPlayerDAO.getPlayerById(id).thenApply(player -> found(player, "player", id));
+		}
+		if (path.length == 2 && request.is("PUT", "players/{id}")) {
+			Player player = validPlayer(request.body(Player.class));
+			player.setId(id);
+			return call(() -> {
+				if (playerDAO.getPlayerById(id) == null) {
+					return Response.notFound("No player with id " + id);
+				}
+				playerDAO.updatePlayer(player);
+				return Response.ok(playerDAO.getPlayerById(id));
+			});
+		}
+		if (path.length == 2 && request.is("DELETE", "players/{id}")) {
+			return call(() -> playerDAO.deletePlayer(new Player(id, null, null, 0)) > 0 ? Response.noContent()
+					: Response.notFound("No player with id " + id));
+		}
+		if (path.length == 3 && "scores".equals(path[2]) && request.is("GET", "players/{id}/scores")) {
+			String after = request.param("after");
+			int limit = request.pageSize();
+			return asyncScoreDAO.getScoresPage(id, after, limit).thenApply(Response::ok);
+		}
+		if (path.length == 3 && "form".equals(path[2]) && request.is("GET", "players/{id}/form")) {
+			return asyncScoreDAO.getPlayerForm(id).thenApply(form -> form != null ? Response.ok(form)
+					: Response.notFound("No scores recorded for player " + id));
+		}
+		return noRoute(request);
+	}
+
+	private CompletableFuture<Response> routeScores(Request request, String[] path) throws IOException {
+		if (path.length == 1 && request.is("POST", "scores")) {
+			Score score = validScore(request.body(Score.class));
+			if (ingestionQueue != null) {
+				return asyncPlayerDAO.getPlayerById(score.getPlayerId()).thenCompose(player -> player == null
+						? completed(Response.notFound("No player with id " + score.getPlayerId()))
+						: ingestionQueue.enqueue(score).thenApply(added -> new Response(201, added)));
+			}
+			return call(() -> {
+				if (playerDAO.getPlayerById(score.getPlayerId()) == null) {
+					return Response.notFound("No player with id " + score.getPlayerId());
+				}
+				scoreDAO.addScore(score);
+				return new Response(201, score);
+			});
+		}
+		if (path.length != 2) {
+			return noRoute(request);
+		}
+
+		int id = parseId(path[1]);
+		if (request.is("GET", "scores/{id}")) {
+			return asyncScoreDAO.getScoreById(id).thenApply(score -> found(score, "score", id));
+		}
+		if (request.is("PUT", "scores/{id}")) {
+			int value = validScore(request.body(Score.class)).getScore();
+			return call(() -> {
+				Score score = scoreDAO.getScoreById(id);
+				if (score == null) {
+					return Response.notFound("No score with id " + id);
+				}
+				score.setScore(value);
+				scoreDAO.updateScore(score);
+				return Response.ok(score);
+			});
+		}
+		if (request.is("DELETE", "scores/{id}")) {
+			return call(() -> {
+				Score score = scoreDAO.getScoreById(id);
+				if (score == null) {
+					return Response.notFound("No score with id " + id);
+				}
+				scoreDAO.deleteScore(score);
+				return Response.noContent();
+			});
+		}
+		return noRoute(request);
+	}
+
+	/**
+	 * 405 if another method is routed on this path, else 404.
+	 */
+	private static CompletableFuture<Response> noRoute(Request request) {
+		if (!request.allowedMethods.isEmpty()) {
+			return completed(Response.methodNotAllowed(request.method + " is not supported on " + request.rawPath,
+					String.join(", ", request.allowedMethods)));
+		}
+		return completed(Response.notFound("No route for " + request.method + " " + request.rawPath));
+	}
+
+	private CompletableFuture<Response> call(DaoExecutor.SqlCallable<Response> call) {
+		return daoExecutor.submit(call);
+	}
+
+	private Map<String, Object> health() {
+		Map<String, Object> health = new LinkedHashMap<>();
+		health.put("status", "UP");
+		health.put("uptimeMillis", System.currentTimeMillis() - startedAtMillis);
+		health.put("daoCallsInFlight", daoExecutor.getInFlight());
+		return health;
+	}
+
+	private Map<String, Object> metrics() {
+		List<MethodStats> routes = new ArrayList<>();
+		for (MethodMetrics metrics : routeMetrics.values()) {
+			routes.add(metrics.snapshot());
+		}
+		routes.sort(Comparator.comparing(MethodStats::getName));
+
+		Map<String, Object> metrics = new LinkedHashMap<>(health());
+		metrics.put("routes", routes);
+		if (daoMetrics != null) {
+			metrics.put("dao", daoMetrics.snapshot());
+		}
+		if (ingestionQueue != null) {
+			metrics.put("ingestion", ingestionQueue.getMetrics());
+		}
+		return metrics;
+	}
+
+	private void respond(HttpExchange exchange, Request request, long start, Response response) {
+		try {
+			byte[] body = response.body == null ? null : JSON.writeValueAsBytes(response.body);
+			if (body != null) {
+				exchange.getResponseHeaders().set("Content-Type", "application/json");
+			}
+			if (response.status == 503) {
+				exchange.getResponseHeaders().set("Retry-After", "1");
+			}
+			if (response.allow != null) {
+				exchange.getResponseHeaders().set("Allow", response.allow);
+			}
+			exchange.sendResponseHeaders(response.status, body == null ? -1 : body.length);
+			if (body != null) {
+				try (OutputStream outputStream = exchange.getResponseBody()) {
+					outputStream.write(body);
+				}
+			}
+		} catch (IOException e) {
+			// The client disconnected; nothing left to tell it.
+		} finally {
+			exchange.close();
+			routeMetrics.computeIfAbsent(request.route, MethodMetrics::new)
+					.recordCall(System.nanoTime() - start, response.status >= 500);
+		}
+	}
+
+	private static Response errorResponse(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+				: error;
+		if (cause instanceof IllegalArgumentException) {
+			return Response.error(400, cause.getMessage());
+		}
+		if (cause instanceof JsonProcessingException) {
+			return Response.error(400,
+					"Malformed JSON body: " + ((JsonProcessingException) cause).getOriginalMessage());
+		}
+		if (cause instanceof RejectedExecutionException) {
+			return Response.error(503, cause.getMessage());
+		}
+		if (cause instanceof TimeoutException) {
+			return Response.error(504, cause.getMessage());
+		}
+		if (cause instanceof SQLException && isIntegrityViolation((SQLException) cause)) {
+			return Response.error(409, "Request conflicts with the stored data");
+		}
+		LOG.log(Level.SEVERE, "Request failed", cause);
+		return Response.error(500, "Internal error");
+	}
+
+	/**
+	 * Whether the database refused the write for a constraint, SQLState class
+	 * 23, such as a foreign key to a player deleted meanwhile.
+	 */
+	private static boolean isIntegrityViolation(SQLException e) {
+		String sqlState = e.getSQLState();
+		return sqlState != null && sqlState.startsWith("23");
+	}
+
+	private static Response found(Object value, String kind, int id) {
+		return value != null ? Response.ok(value) : Response.notFound("No " + kind + " with id " + id);
+	}
+
+	/**
+	 * A new player with the body's name and team; the average is not taken
+	 * from clients.
+	 */
+	private static Player validPlayer(Player player) {
+		if (player.getName() == null || player.getName().trim().isEmpty() || player.getDomesticTeam() == null
+				|| player.getDomesticTeam().trim().isEmpty()) {
+			throw new IllegalArgumentException("Player needs a name and a domestic team");
+		}
+		if (player.getName().length() > MAX_NAME_LENGTH) {
+			throw new IllegalArgumentException("Player name longer than " + MAX_NAME_LENGTH + " characters");
+		}
+		if (player.getDomesticTeam().length() > MAX_TEAM_LENGTH) {
+			throw new IllegalArgumentException("Domestic team longer than " + MAX_TEAM_LENGTH + " characters");
+		}
+		return new Player(player.getName(), player.getDomesticTeam());
+	}
+
+	private static Score validScore(Score score) {
+		if (score.getScore() < 0) {
+			throw new IllegalArgumentException("Score must not be negative: " + score.getScore());
+		}
+		return score;
+	}
+
+	private static List<Integer> parseIds(String list) {
+		List<Integer> ids = new ArrayList<>();
+		for (String id : list.split(",")) {
+			if (!id.trim().isEmpty()) {
+				ids.add(parseId(id.trim()));
+			}
+		}
+		if (ids.size() > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("At most " + MAX_PAGE_SIZE + " ids per request");
+		}
+		return ids;
+	}
+
+	private static int parseId(String segment) {
+		try {
+			return Integer.parseInt(segment);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Not an id: " + segment);
+		}
+	}
+
+	private static <T> CompletableFuture<T> completed(T value) {
+		return CompletableFuture.completedFuture(value);
+	}
+
+	private static ExecutorService newHandlerExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Virtual threads are unavailable on this JVM
+		}
+		AtomicInteger counter = new AtomicInteger();
+		return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+			Thread thread = new Thread(runnable, "http-handler-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static final class Response {
+		private final int status;
+		private final Object body;
+		/** Allow header of a 405, else null. */
+		private final String allow;
+
+		private Response(int status, Object body) {
+			this(status, body, null);
+		}
+
+		private Response(int status, Object body, String allow) {
+			this.status = status;
+			this.body = body;
+			this.allow = allow;
+		}
+
+		private static Response ok(Object body) {
+			return new Response(200, body);
+		}
+
+		private static Response noContent() {
+			return new Response(204, null);
+		}
+
+		private static Response notFound(String message) {
+			return error(404, message);
+		}
+
+		private static Response methodNotAllowed(String message, String allow) {
+			return new Response(405, Collections.singletonMap("error", message), allow);
+		}
+
+		private static Response error(int status, String message) {
+			return new Response(status, Collections.singletonMap("error", message));
+		}
+	}
+
+	/**
+	 * Method, path segments and query parameters of one exchange. The route
+	 * name, such as "GET /players/{id}", is set once a route matches and keys
+	 * the per-route metrics; the methods of routes that matched only the path
+	 * are collected for a 405.
+	 */
+	private static final class Request {
+		private final HttpExchange exchange;
+		private final String method;
+		private final String rawPath;
+		private final String[] path;
+		private final Set<String> allowedMethods = new LinkedHashSet<>();
+		private Map<String, String> params;
+		private String route;
+
+		private Request(HttpExchange exchange) {
+			this.exchange = exchange;
+			this.method = exchange.getRequestMethod();
+			this.rawPath = exchange.getRequestURI().getRawPath();
+			this.path = segments(exchange.getRequestURI().getPath());
+			this.route = method + " (unmatched)";
+		}
+
+		/**
+		 * Whether this is a {@code method} request, recording {@code pattern} as
+		 * the route if so. Callers match the path segments first.
+		 */
+		private boolean is(String method, String pattern) {
+			if (!this.method.equals(method)) {
+				allowedMethods.add(method);
+				return false;
+			}
+			route = method + " /" + pattern;
+			return true;
+		}
+
+		/**
+		 * Query parameter, decoded on first use so a malformed query fails the
+		 * request with 400 rather than the exchange.
+		 */
+		private String param(String name) {
+			if (params == null) {
+				params = parseQuery(exchange.getRequestURI().getRawQuery());
+			}
+			return params.get(name);
+		}
+
+		private int intParam(String name, int defaultValue) {
+			String value = param(name);
+			if (value == null) {
+				return defaultValue;
+			}
+			try {
+				return Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Parameter " + name + " is not a whole number: " + value);
+			}
+		}
+
+		private int pageSize() {
+			int limit = intParam("limit", DEFAULT_PAGE_SIZE);
+			if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+				throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+			}
+			return limit;
+		}
+
+		private <T> T body(Class<T> type) throws IOException {
+			T value = JSON.readValue(exchange.getRequestBody(), type);
+			if (value == null) {
+				throw new IllegalArgumentException("Request body is empty");
+			}
+			return value;
+		}
+
+		private static String[] segments(String path) {
+			List<String> segments = new ArrayList<>();
+			for (String segment : path.split("/")) {
+				if (!segment.isEmpty()) {
+					segments.add(segment);
+				}
+			}
+			return segments.toArray(new String[0]);
+		}
+
+		private static Map<String, String> parseQuery(String query) {
+			Map<String, String> params = new HashMap<>();
+			if (query == null) {
+				return params;
+			}
+			for (String pair : query.split("&")) {
+				int separator = pair.indexOf('=');
+				String name = separator < 0 ? pair : pair.substring(0, separator);
+				String value = separator < 0 ? "" : pair.substring(separator + 1);
+				params.putIfAbsent(decode(name), decode(value));
+			}
+			return params;
+		}
+
+		private static String decode(String value) {
+			try {
+				return URLDecoder.decode(value, "UTF-8");
+			} catch (UnsupportedEncodingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
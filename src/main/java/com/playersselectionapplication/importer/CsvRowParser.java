@@ -0,0 +1,83 @@
+package com.playersselectionapplication.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses CSV rows whose column order is given by the header. Quoted fields
+ * may contain commas and doubled quotes but not line breaks.
+ */
+final class CsvRowParser implements RowParser {
+	private final int nameColumn;
+	private final int teamColumn;
+	private final int scoreColumn;
+	private final List<String> fields = new ArrayList<>();
+
+	private CsvRowParser(int nameColumn, int teamColumn, int scoreColumn) {
+		this.nameColumn = nameColumn;
+		this.teamColumn = teamColumn;
+		this.scoreColumn = scoreColumn;
+	}
+
+	static CsvRowParser fromHeader(String header) {
+		List<String> columns = new ArrayList<>();
+		split(header, columns);
+		return new CsvRowParser(indexOf(columns, "name"), indexOf(columns, "domesticTeam"),
+				indexOf(columns, "score"));
+	}
+
+	@Override
+	public ImportRow parse(String line) {
+		split(line, fields);
+		String score = field(scoreColumn);
+		try {
+			return new ImportRow(field(nameColumn), field(teamColumn),
+					score == null || score.trim().isEmpty() ? null : Integer.valueOf(score.trim()));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Score is not a whole number: " + score);
+		}
+	}
+
+	private String field(int column) {
+		return column < fields.size() ? fields.get(column) : null;
+	}
+
+	private static int indexOf(List<String> columns, String column) {
+		for (int i = 0; i < columns.size(); i++) {
+			if (columns.get(i).trim().equalsIgnoreCase(column)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("CSV header has no " + column + " column");
+	}
+
+	private static void split(String line, List<String> fields) {
+		fields.clear();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quoted field");
+		}
+		fields.add(field.toString());
+	}
+}
@@ -0,0 +1,119 @@
+package com.playersselectionapplication.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Where an import stopped: the byte offset and line number just after the
+ * last committed row, the totals so far, and CRC-32s of the first and last
+ * {@link #FINGERPRINT_BYTES} bytes before the offset. It is stored through
+ * the score DAO in the transaction of the batch it follows; the checksums
+ * tie it to the file's contents so a replaced or edited file is not resumed
+ * at a stale offset.
+ */
+final class ImportCheckpoint {
+	static final int FINGERPRINT_BYTES = 4096;
+
+	private final long offset;
+	private final long lineNumber;
+	private final long rows;
+	private final long playersCreated;
+	private final long headCrc;
+	private final long tailCrc;
+
+	ImportCheckpoint(long offset, long lineNumber, long rows, long playersCreated, long headCrc, long tailCrc) {
+		this.offset = offset;
+		this.lineNumber = lineNumber;
+		this.rows = rows;
+		this.playersCreated = playersCreated;
+		this.headCrc = headCrc;
+		this.tailCrc = tailCrc;
+	}
+
+	/**
+	 * A checkpoint at {@code offset} of the file, with the checksums of its
+	 * current contents.
+	 */
+	static ImportCheckpoint of(Path file, long offset, long lineNumber, long rows, long playersCreated)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new ImportCheckpoint(offset, lineNumber, rows, playersCreated,
+					checksum(channel, 0, Math.min(FINGERPRINT_BYTES, offset)),
+					checksum(channel, Math.max(0, offset - FINGERPRINT_BYTES), offset));
+		}
+	}
+
+	/**
+	 * Parses a checkpoint written by {@link #encode}.
+	 */
+	static ImportCheckpoint decode(String value) throws IOException {
+		String[] fields = value.split(",", -1);
+		if (fields.length != 6) {
+			throw new IOException("Corrupt import checkpoint: " + value);
+		}
+		try {
+			return new ImportCheckpoint(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+					Long.parseLong(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[4], 16),
+					Long.parseLong(fields[5], 16));
+		} catch (NumberFormatException e) {
+			throw new IOException("Corrupt import checkpoint: " + value, e);
+		}
+	}
+
+	String encode() {
+		return offset + "," + lineNumber + "," + rows + "," + playersCreated + "," + Long.toHexString(headCrc) + ","
+				+ Long.toHexString(tailCrc);
+	}
+
+	/**
+	 * Throws if the file is shorter than the offset or its bytes before the
+	 * offset no longer match the checksums.
+	 */
+	void verify(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (offset > channel.size()
+					|| checksum(channel, 0, Math.min(FINGERPRINT_BYTES, offset)) != headCrc
+					|| checksum(channel, Math.max(0, offset - FINGERPRINT_BYTES), offset) != tailCrc) {
+				throw new IOException(file + " has changed since its import checkpoint was written;"
+						+ " import it with --restart to start over");
+			}
+		}
+	}
+
+	private static long checksum(FileChannel channel, long from, long to) throws IOException {
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(FINGERPRINT_BYTES, to - from));
+		for (long position = from; position < to;) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), to - position));
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				break;
+			}
+			buffer.flip();
+			crc.update(buffer.array(), 0, buffer.limit());
+			position += read;
+		}
+		return crc.getValue();
+	}
+
+	long getOffset() {
+		return offset;
+	}
+
+	long getLineNumber() {
+		return lineNumber;
+	}
+
+	long getRows() {
+		return rows;
+	}
+
+	long getPlayersCreated() {
+		return playersCreated;
+	}
+}
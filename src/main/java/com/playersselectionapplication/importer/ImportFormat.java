@@ -0,0 +1,46 @@
+package com.playersselectionapplication.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats accepted by the {@link ScoreImporter}.
+ *
+ * <pre>
+ * CSV     header row naming the columns name, domesticTeam and score in any
+ *         order; fields may be quoted with "" escaping quotes
+ * NDJSON  one object per line: {"name": ..., "domesticTeam": ..., "score": ...}
+ * </pre>
+ */
+public enum ImportFormat {
+	CSV, NDJSON;
+
+	/**
+	 * Format named on the command line, ignoring case.
+	 */
+	public static ImportFormat forName(String name) {
+		try {
+			return valueOf(name.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown import format: " + name + " (expected csv or ndjson)");
+		}
+	}
+
+	/**
+	 * Format implied by the file extension: .csv, or .ndjson, .jsonl and .json.
+	 * Compressed .gz files are rejected, since imports resume by file offset.
+	 */
+	public static ImportFormat forFile(Path file) {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		if (name.endsWith(".gz")) {
+			throw new IllegalArgumentException(ScoreImporter.compressedFileMessage(file));
+		}
+		if (name.endsWith(".csv")) {
+			return CSV;
+		}
+		if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+			return NDJSON;
+		}
+		throw new IllegalArgumentException("Cannot tell the format of " + file + "; name it csv or ndjson");
+	}
+}
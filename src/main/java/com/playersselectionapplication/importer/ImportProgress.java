@@ -0,0 +1,59 @@
+package com.playersselectionapplication.importer;
+
+/**
+ * Position of a running or finished import. Counts include rows committed by
+ * earlier runs of a resumed import; the rate covers this run only.
+ */
+public class ImportProgress {
+	private final long rows;
+	private final long playersCreated;
+	private final long bytesRead;
+	private final long totalBytes;
+	private final long elapsedMillis;
+	private final double rowsPerSecond;
+
+	public ImportProgress(long rows, long playersCreated, long bytesRead, long totalBytes, long elapsedMillis,
+			double rowsPerSecond) {
+		this.rows = rows;
+		this.playersCreated = playersCreated;
+		this.bytesRead = bytesRead;
+		this.totalBytes = totalBytes;
+		this.elapsedMillis = elapsedMillis;
+		this.rowsPerSecond = rowsPerSecond;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getPlayersCreated() {
+		return playersCreated;
+	}
+
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public double getPercentComplete() {
+		return totalBytes == 0 ? 100.0 : 100.0 * bytesRead / totalBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "ImportProgress{" + "rows=" + rows + ", playersCreated=" + playersCreated + ", bytesRead=" + bytesRead
+				+ ", totalBytes=" + totalBytes + ", elapsedMillis=" + elapsedMillis + ", rowsPerSecond="
+				+ rowsPerSecond + '}';
+	}
+}
@@ -0,0 +1,69 @@
+package com.playersselectionapplication.importer;
+
+import java.util.Locale;
+
+/**
+ * One parsed line of an import file: a score by a player identified by name
+ * and domestic team.
+ */
+final class ImportRow {
+	/** Length of the Player.name column. */
+	static final int MAX_NAME_LENGTH = 10;
+	/** Length of the Player.domesticTeam column. */
+	static final int MAX_TEAM_LENGTH = 255;
+
+	private final String name;
+	private final String domesticTeam;
+	private final int score;
+	private final String playerKey;
+
+	ImportRow(String name, String domesticTeam, Integer score) {
+		if (name == null || name.trim().isEmpty()) {
+			throw new IllegalArgumentException("Missing player name");
+		}
+		if (domesticTeam == null || domesticTeam.trim().isEmpty()) {
+			throw new IllegalArgumentException("Missing domestic team");
+		}
+		if (name.trim().length() > MAX_NAME_LENGTH) {
+			throw new IllegalArgumentException("Player name longer than " + MAX_NAME_LENGTH + " characters: " + name);
+		}
+		if (domesticTeam.trim().length() > MAX_TEAM_LENGTH) {
+			throw new IllegalArgumentException("Domestic team longer than " + MAX_TEAM_LENGTH + " characters");
+		}
+		if (score == null) {
+			throw new IllegalArgumentException("Missing score");
+		}
+		if (score < 0) {
+			throw new IllegalArgumentException("Score must not be negative: " + score);
+		}
+		this.name = name.trim();
+		this.domesticTeam = domesticTeam.trim();
+		this.score = score;
+		this.playerKey = playerKey(this.name, this.domesticTeam);
+	}
+
+	/**
+	 * Identity of a player for matching rows to existing players: name and
+	 * domestic team, ignoring case.
+	 */
+	static String playerKey(String name, String domesticTeam) {
+		return (name == null ? "" : name.trim().toLowerCase(Locale.ROOT)) + '\n'
+				+ (domesticTeam == null ? "" : domesticTeam.trim().toLowerCase(Locale.ROOT));
+	}
+
+	String getName() {
+		return name;
+	}
+
+	String getDomesticTeam() {
+		return domesticTeam;
+	}
+
+	int getScore() {
+		return score;
+	}
+
+	String getPlayerKey() {
+		return playerKey;
+	}
+}
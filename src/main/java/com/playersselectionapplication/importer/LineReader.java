@@ -0,0 +1,112 @@
+package com.playersselectionapplication.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads UTF-8 lines straight from a {@link FileChannel} through one reusable
+ * byte buffer, tracking the file offset of the next unread line so an import
+ * can checkpoint and later {@link #seek} back to it. Lines end at '\n' with an
+ * optional '\r'; a leading byte order mark is dropped. The buffer grows to fit
+ * the longest line.
+ */
+final class LineReader implements Closeable {
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	private final FileChannel channel;
+	private byte[] buffer = new byte[BUFFER_BYTES];
+	/** File offset of buffer[0]. */
+	private long bufferStart;
+	private int position;
+	private int limit;
+	private boolean endOfFile;
+
+	LineReader(Path file) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+	}
+
+	/**
+	 * Next line without its terminator, or null at the end of the file.
+	 */
+	String readLine() throws IOException {
+		int scan = position;
+		while (true) {
+			for (; scan < limit; scan++) {
+				if (buffer[scan] == '\n') {
+					String line = decode(position, scan);
+					position = scan + 1;
+					return line;
+				}
+			}
+			if (endOfFile) {
+				if (position == limit) {
+					return null;
+				}
+				String line = decode(position, limit);
+				position = limit;
+				return line;
+			}
+			scan -= position;
+			fill();
+		}
+	}
+
+	/**
+	 * File offset of the first byte not yet returned by {@link #readLine}.
+	 */
+	long position() {
+		return bufferStart + position;
+	}
+
+	void seek(long offset) throws IOException {
+		channel.position(offset);
+		bufferStart = offset;
+		position = 0;
+		limit = 0;
+		endOfFile = false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Moves the unread bytes to the front of the buffer, growing it if a
+	 * single line fills it, and reads more from the channel.
+	 */
+	private void fill() throws IOException {
+		if (position > 0) {
+			System.arraycopy(buffer, position, buffer, 0, limit - position);
+			bufferStart += position;
+			limit -= position;
+			position = 0;
+		}
+		if (limit == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+		if (read < 0) {
+			endOfFile = true;
+		} else {
+			limit += read;
+		}
+	}
+
+	private String decode(int from, int to) {
+		if (bufferStart + from == 0 && to - from >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB
+				&& buffer[2] == (byte) 0xBF) {
+			from += 3;
+		}
+		if (to > from && buffer[to - 1] == '\r') {
+			to--;
+		}
+		return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+	}
+}
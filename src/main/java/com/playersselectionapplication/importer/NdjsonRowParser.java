@@ -0,0 +1,49 @@
+package com.playersselectionapplication.importer;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Parses one JSON object per line with the streaming parser, so no tree or
+ * bound object is built per row. Unknown fields are skipped.
+ */
+final class NdjsonRowParser implements RowParser {
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	@Override
+	public ImportRow parse(String line) {
+		try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IllegalArgumentException("Expected a JSON object");
+			}
+			String name = null;
+			String domesticTeam = null;
+			Integer score = null;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("name".equals(field)) {
+					name = parser.getValueAsString();
+				} else if ("domesticTeam".equals(field)) {
+					domesticTeam = parser.getValueAsString();
+				} else if ("score".equals(field)) {
+					if (value != JsonToken.VALUE_NUMBER_INT) {
+						throw new IllegalArgumentException("Score is not a whole number: " + parser.getText());
+					}
+					score = parser.getIntValue();
+				} else {
+					parser.skipChildren();
+				}
+			}
+			return new ImportRow(name, domesticTeam, score);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+		} catch (IOException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+	}
+}
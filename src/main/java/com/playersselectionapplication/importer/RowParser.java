@@ -0,0 +1,9 @@
+package com.playersselectionapplication.importer;
+
+/**
+ * Turns one line of an import file into a row. Malformed lines are reported
+ * with {@link IllegalArgumentException}.
+ */
+interface RowParser {
+	ImportRow parse(String line);
+}
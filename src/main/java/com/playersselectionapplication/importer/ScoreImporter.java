@@ -0,0 +1,228 @@
+package com.playersselectionapplication.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.PlayerDAO;
+import com.playersselectionapplication.repository.ScoreDAO;
+
+/**
+ * Streams a CSV or NDJSON scorecard file into the database. Players are
+ * matched by name and domestic team against a map built from one pass over
+ * the Player table; unknown players are created. Rows are written in batches:
+ * the batch's new players with {@link PlayerDAO#addPlayers}, then its scores
+ * with {@link ScoreDAO#addScores}, each in one transaction.
+ *
+ * Every batch of scores is committed together with a checkpoint keyed by the
+ * file's absolute path, and an import started again on the same file resumes
+ * after the last committed batch. A file that changed before the checkpoint
+ * is refused rather than resumed at a stale offset; importing with
+ * {@code restart} discards the checkpoint and starts from the first row. The
+ * checkpoint is removed once the whole file is imported.
+ */
+public class ScoreImporter {
+	private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final int MAX_KEY_LENGTH = 255;
+	private static final int GZIP_MAGIC = 0x1f8b;
+
+	private final PlayerDAO playerDAO;
+	private final ScoreDAO scoreDAO;
+	private final int batchSize;
+
+	/**
+	 * @param batchSize rows per batch; each batch's scores are committed in one
+	 *                  transaction with the checkpoint that follows them
+	 */
+	public ScoreImporter(PlayerDAO playerDAO, ScoreDAO scoreDAO, int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.playerDAO = playerDAO;
+		this.scoreDAO = scoreDAO;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * The key the file's checkpoint is stored under: its absolute path, or for
+	 * paths too long for the key column, their tail and a hash of the whole.
+	 */
+	public static String checkpointKey(Path file) {
+		String path = file.toAbsolutePath().normalize().toString();
+		if (path.length() <= MAX_KEY_LENGTH) {
+			return path;
+		}
+		String hash = Integer.toHexString(path.hashCode());
+		return hash + ":" + path.substring(path.length() - (MAX_KEY_LENGTH - hash.length() - 1));
+	}
+
+	/**
+	 * Imports the file, resuming from its checkpoint unless {@code restart} is
+	 * set; a restarted import adds the rows before the checkpoint again.
+	 * {@code progressListener} is called about once a second while importing
+	 * and not for the final result, which is returned. A malformed line stops
+	 * the import with an {@link IOException} naming the line; rows before its
+	 * batch stay committed and a later run resumes there.
+	 */
+	public ImportProgress importFile(Path file, ImportFormat format, boolean restart,
+			Consumer<ImportProgress> progressListener) throws IOException, SQLException {
+		long start = System.nanoTime();
+		if (isGzip(file)) {
+			throw new IOException(compressedFileMessage(file));
+		}
+		long totalBytes = Files.size(file);
+		String checkpointKey = checkpointKey(file);
+		ImportCheckpoint checkpoint = null;
+		if (restart) {
+			scoreDAO.deleteCheckpoint(checkpointKey);
+		} else {
+			String stored = scoreDAO.getCheckpoint(checkpointKey);
+			if (stored != null) {
+				checkpoint = ImportCheckpoint.decode(stored);
+				checkpoint.verify(file);
+			}
+		}
+
+		Map<String, Integer> playerIds = loadPlayerIds();
+		try (LineReader reader = new LineReader(file)) {
+			long lineNumber = 0;
+			RowParser parser;
+			if (format == ImportFormat.CSV) {
+				String header = reader.readLine();
+				lineNumber++;
+				try {
+					parser = CsvRowParser.fromHeader(header == null ? "" : header);
+				} catch (IllegalArgumentException e) {
+					throw new IOException(file + " line 1: " + e.getMessage(), e);
+				}
+			} else {
+				parser = new NdjsonRowParser();
+			}
+
+			long rows = 0;
+			long playersCreated = 0;
+			if (checkpoint != null) {
+				reader.seek(checkpoint.getOffset());
+				lineNumber = checkpoint.getLineNumber();
+				rows = checkpoint.getRows();
+				playersCreated = checkpoint.getPlayersCreated();
+			}
+			long resumedRows = rows;
+			long lastReport = start;
+
+			List<ImportRow> batch = new ArrayList<>(batchSize);
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				lineNumber++;
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				try {
+					batch.add(parser.parse(line));
+				} catch (IllegalArgumentException e) {
+					throw new IOException(file + " line " + lineNumber + ": " + e.getMessage(), e);
+				}
+
+				if (batch.size() == batchSize) {
+					rows += batch.size();
+					playersCreated += writeBatch(batch, playerIds, checkpointKey, file, reader.position(),
+							lineNumber, rows, playersCreated);
+					batch.clear();
+
+					long now = System.nanoTime();
+					if (now - lastReport >= PROGRESS_INTERVAL_NANOS) {
+						progressListener.accept(progress(rows, resumedRows, playersCreated, reader.position(),
+								totalBytes, start, now));
+						lastReport = now;
+					}
+				}
+			}
+			if (!batch.isEmpty()) {
+				rows += batch.size();
+				playersCreated += writeBatch(batch, playerIds, checkpointKey, file, reader.position(), lineNumber,
+						rows, playersCreated);
+			}
+			scoreDAO.deleteCheckpoint(checkpointKey);
+
+			return progress(rows, resumedRows, playersCreated, reader.position(), totalBytes, start,
+					System.nanoTime());
+		}
+	}
+
+	static String compressedFileMessage(Path file) {
+		return "Cannot import the compressed file " + file + "; decompress it first, for example with gunzip";
+	}
+
+	/**
+	 * Whether the file starts with the gzip magic number, whatever its name.
+	 */
+	private static boolean isGzip(Path file) throws IOException {
+		try (InputStream inputStream = Files.newInputStream(file)) {
+			return (inputStream.read() << 8 | inputStream.read()) == GZIP_MAGIC;
+		}
+	}
+
+	/**
+	 * Player ids by {@link ImportRow#playerKey}; of players sharing a name and
+	 * team, the oldest wins.
+	 */
+	private Map<String, Integer> loadPlayerIds() throws SQLException {
+		Map<String, Integer> playerIds = new HashMap<>();
+		try (Stream<Player> players = playerDAO.streamAllPlayers()) {
+			players.forEachOrdered(player -> playerIds
+					.putIfAbsent(ImportRow.playerKey(player.getName(), player.getDomesticTeam()), player.getId()));
+		}
+		return playerIds;
+	}
+
+	/**
+	 * Writes one batch, committing its scores with a checkpoint just after its
+	 * last line, and returns the number of players it created. {@code rows}
+	 * includes the batch; {@code playersCreated} does not.
+	 */
+	private int writeBatch(List<ImportRow> batch, Map<String, Integer> playerIds, String checkpointKey, Path file,
+			long offset, long lineNumber, long rows, long playersCreated) throws IOException, SQLException {
+		Map<String, Player> newPlayers = new LinkedHashMap<>();
+		for (ImportRow row : batch) {
+			if (!playerIds.containsKey(row.getPlayerKey())) {
+				newPlayers.computeIfAbsent(row.getPlayerKey(),
+						key -> new Player(row.getName(), row.getDomesticTeam()));
+			}
+		}
+		if (!newPlayers.isEmpty()) {
+			playerDAO.addPlayers(newPlayers.values());
+			for (Map.Entry<String, Player> entry : newPlayers.entrySet()) {
+				playerIds.put(entry.getKey(), entry.getValue().getId());
+			}
+		}
+
+		List<Score> scores = new ArrayList<>(batch.size());
+		for (ImportRow row : batch) {
+			scores.add(new Score(playerIds.get(row.getPlayerKey()), row.getScore()));
+		}
+		ImportCheckpoint checkpoint = ImportCheckpoint.of(file, offset, lineNumber, rows,
+				playersCreated + newPlayers.size());
+		scoreDAO.addScores(scores, checkpointKey, checkpoint.encode());
+		return newPlayers.size();
+	}
+
+	private static ImportProgress progress(long rows, long resumedRows, long playersCreated, long bytesRead,
+			long totalBytes, long startNanos, long nowNanos) {
+		long elapsedNanos = nowNanos - startNanos;
+		double rowsPerSecond = elapsedNanos == 0 ? 0.0
+				: (rows - resumedRows) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+		return new ImportProgress(rows, playersCreated, bytesRead, totalBytes,
+				TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+	}
+}
@@ -0,0 +1,186 @@
+package com.playersselectionapplication.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.playersselectionapplication.model.Player;
+
+/**
+ * Case-insensitive substring index over player names built on trigrams.
+ * Queries of three or more characters intersect the posting lists of their
+ * trigrams and verify the survivors; shorter queries scan the names held in
+ * memory. Results are ranked exact match first, then prefix, then by where the
+ * match starts, then by name length.
+ */
+public class PlayerNameIndex {
+	private static final int GRAM_LENGTH = 3;
+
+	private final Map<Integer, Player> players = new HashMap<>();
+	private final Map<String, Set<Integer>> postings = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public void rebuild(Collection<Player> allPlayers) {
+		lock.writeLock().lock();
+		try {
+			players.clear();
+			postings.clear();
+			for (Player player : allPlayers) {
+				addLocked(player);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void put(Player player) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(player.getId());
+			addLocked(player);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int playerId) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(playerId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public Player get(int playerId) {
+		lock.readLock().lock();
+		try {
+			Player player = players.get(playerId);
+			return player != null ? copyOf(player) : null;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return players.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Player> search(String query) {
+		String needle = normalize(query);
+		List<Match> matches = new ArrayList<>();
+
+		lock.readLock().lock();
+		try {
+			for (Player player : candidates(needle)) {
+				String name = normalize(player.getName());
+				int position = name.indexOf(needle);
+				if (position >= 0) {
+					matches.add(new Match(player, name, needle, position));
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		matches.sort(Match.ORDER);
+		List<Player> results = new ArrayList<>(matches.size());
+		for (Match match : matches) {
+			results.add(copyOf(match.player));
+		}
+		return results;
+	}
+
+	private Collection<Player> candidates(String needle) {
+		if (needle.length() < GRAM_LENGTH) {
+			return players.values();
+		}
+
+		Set<Integer> smallest = null;
+		for (String gram : grams(needle)) {
+			Set<Integer> posting = postings.get(gram);
+			if (posting == null) {
+				return new ArrayList<>();
+			}
+			if (smallest == null || posting.size() < smallest.size()) {
+				smallest = posting;
+			}
+		}
+
+		List<Player> candidates = new ArrayList<>(smallest.size());
+		for (Integer id : smallest) {
+			candidates.add(players.get(id));
+		}
+		return candidates;
+	}
+
+	private void addLocked(Player player) {
+		players.put(player.getId(), copyOf(player));
+		for (String gram : grams(normalize(player.getName()))) {
+			postings.computeIfAbsent(gram, key -> new HashSet<>()).add(player.getId());
+		}
+	}
+
+	private void removeLocked(int playerId) {
+		Player existing = players.remove(playerId);
+		if (existing == null) {
+			return;
+		}
+		for (String gram : grams(normalize(existing.getName()))) {
+			Set<Integer> posting = postings.get(gram);
+			if (posting != null) {
+				posting.remove(playerId);
+				if (posting.isEmpty()) {
+					postings.remove(gram);
+				}
+			}
+		}
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			grams.add(text.substring(i, i + GRAM_LENGTH));
+		}
+		return grams;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+
+	private static Player copyOf(Player player) {
+		return new Player(player.getId(), player.getName(), player.getDomesticTeam(), player.getAverage());
+	}
+
+	private static class Match {
+		private static final Comparator<Match> ORDER = Comparator.comparingInt((Match match) -> match.rank)
+				.thenComparingInt(match -> match.position).thenComparingInt(match -> match.nameLength)
+				.thenComparingInt(match -> match.player.getId());
+
+		private final Player player;
+		private final int rank;
+		private final int position;
+		private final int nameLength;
+
+		private Match(Player player, String name, String needle, int position) {
+			this.player = player;
+			this.rank = name.equals(needle) ? 0 : position == 0 ? 1 : 2;
+			this.position = position;
+			this.nameLength = name.length();
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.playersselectionapplication.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.playersselectionapplication.model.Player;
+
+/**
+ * Groups player ids by domestic team, compared case-insensitively. Each group
+ * is kept sorted by id. The number of distinct teams is small, so substring
+ * lookups scan the team keys rather than the players.
+ */
+public class PlayerTeamIndex {
+	private final Map<String, TreeSet<Integer>> playersByTeam = new HashMap<>();
+	private final Map<Integer, String> teamByPlayer = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public void rebuild(Collection<Player> allPlayers) {
+		lock.writeLock().lock();
+		try {
+			playersByTeam.clear();
+			teamByPlayer.clear();
+			for (Player player : allPlayers) {
+				addLocked(player.getId(), normalize(player.getDomesticTeam()));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds the player or moves them to their current team.
+	 */
+	public void put(Player player) {
+		String team = normalize(player.getDomesticTeam());
+		lock.writeLock().lock();
+		try {
+			String previous = teamByPlayer.get(player.getId());
+			if (team.equals(previous)) {
+				return;
+			}
+			removeLocked(player.getId());
+			addLocked(player.getId(), team);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int playerId) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(playerId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids of the players whose team equals {@code domesticTeam}, ignoring case,
+	 * in ascending order.
+	 */
+	public List<Integer> getPlayerIds(String domesticTeam) {
+		lock.readLock().lock();
+		try {
+			TreeSet<Integer> ids = playersByTeam.get(normalize(domesticTeam));
+			return ids != null ? new ArrayList<>(ids) : new ArrayList<>();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids of the players whose team contains {@code text}, ignoring case, in
+	 * ascending order.
+	 */
+	public List<Integer> searchPlayerIds(String text) {
+		String needle = normalize(text);
+		TreeSet<Integer> ids = new TreeSet<>();
+		lock.readLock().lock();
+		try {
+			for (Map.Entry<String, TreeSet<Integer>> entry : playersByTeam.entrySet()) {
+				if (entry.getKey().contains(needle)) {
+					ids.addAll(entry.getValue());
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return new ArrayList<>(ids);
+	}
+
+	private void addLocked(int playerId, String team) {
+		teamByPlayer.put(playerId, team);
+		playersByTeam.computeIfAbsent(team, key -> new TreeSet<>()).add(playerId);
+	}
+
+	private void removeLocked(int playerId) {
+		String team = teamByPlayer.remove(playerId);
+		if (team == null) {
+			return;
+		}
+		TreeSet<Integer> ids = playersByTeam.get(team);
+		if (ids != null) {
+			ids.remove(playerId);
+			if (ids.isEmpty()) {
+				playersByTeam.remove(team);
+			}
+		}
+	}
+
+	private static String normalize(String team) {
+		return team == null ? "" : team.toLowerCase(Locale.ROOT);
+	}
+}
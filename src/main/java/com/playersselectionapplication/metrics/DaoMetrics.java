@@ -0,0 +1,162 @@
+package com.playersselectionapplication.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.cache.CacheStats;
+import com.playersselectionapplication.datasource.ConnectionProvider;
+import com.playersselectionapplication.datasource.PoolStats;
+import com.playersselectionapplication.datasource.PooledConnectionProvider;
+import com.playersselectionapplication.repository.Page;
+
+/**
+ * Instruments DAO interfaces with per-method latency histograms and counters
+ * of calls, errors, rows returned and connections acquired. Wrap the
+ * outermost DAO with {@link #instrument(Class, Object)} and the connection
+ * provider the DAOs use with {@link #instrument(ConnectionProvider)}; each
+ * connection is then charged to the DAO method running on the borrowing
+ * thread. Caches hidden behind an instrumented DAO can be added to the
+ * snapshot with {@link #registerCache(String, Supplier)}.
+ */
+public class DaoMetrics {
+	private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+	private final ThreadLocal<MethodMetrics> current = new ThreadLocal<>();
+	private volatile Supplier<PoolStats> poolStats;
+	private final Map<String, Supplier<CacheStats>> caches = new ConcurrentHashMap<>();
+
+	public <T> T instrument(Class<T> type, T target) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				new InstrumentingHandler(type, target)));
+	}
+
+	public ConnectionProvider instrument(ConnectionProvider provider) {
+		if (provider instanceof PooledConnectionProvider) {
+			poolStats = ((PooledConnectionProvider) provider)::getStats;
+		}
+		return new ConnectionProvider() {
+			@Override
+			public Connection getConnection() throws SQLException {
+				MethodMetrics metrics = current.get();
+				if (metrics != null) {
+					metrics.connectionAcquired();
+				}
+				return provider.getConnection();
+			}
+
+			@Override
+			public void close() {
+				provider.close();
+			}
+		};
+	}
+
+	public void registerCache(String name, Supplier<CacheStats> stats) {
+		caches.put(name, stats);
+	}
+
+	/**
+	 * Stats of every method called so far, ordered by name, plus the pool
+	 * counters when the instrumented provider is a pool and the counters of
+	 * each registered cache.
+	 */
+	public MetricsSnapshot snapshot() {
+		List<MethodStats> stats = new ArrayList<>();
+		for (MethodMetrics metrics : methods.values()) {
+			stats.add(metrics.snapshot());
+		}
+		stats.sort(Comparator.comparing(MethodStats::getName));
+		Supplier<PoolStats> pool = poolStats;
+		Map<String, CacheStats> cacheStats = new LinkedHashMap<>();
+		caches.keySet().stream().sorted().forEach(name -> cacheStats.put(name, caches.get(name).get()));
+		return new MetricsSnapshot(System.currentTimeMillis(), stats, pool != null ? pool.get() : null,
+				cacheStats);
+	}
+
+	private MethodMetrics metricsFor(Class<?> type, Method method) {
+		StringBuilder name = new StringBuilder(type.getSimpleName()).append('.').append(method.getName()).append('(');
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			name.append(i == 0 ? "" : ", ").append(parameterTypes[i].getSimpleName());
+		}
+		String key = name.append(')').toString();
+		return methods.computeIfAbsent(key, MethodMetrics::new);
+	}
+
+	private static long rowsOf(Object result) {
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if (result instanceof Map) {
+			return ((Map<?, ?>) result).size();
+		}
+		if (result instanceof Page) {
+			return ((Page<?>) result).getItems().size();
+		}
+		if (result instanceof Integer) {
+			return (Integer) result;
+		}
+		return result != null && !(result instanceof Number) ? 1 : 0;
+	}
+
+	private class InstrumentingHandler implements InvocationHandler {
+		private final Class<?> type;
+		private final Object target;
+		private final Map<Method, MethodMetrics> metricsByMethod = new ConcurrentHashMap<>();
+
+		private InstrumentingHandler(Class<?> type, Object target) {
+			this.type = type;
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getDeclaringClass() == Object.class) {
+				if ("equals".equals(method.getName())) {
+					return proxy == args[0];
+				}
+				if ("hashCode".equals(method.getName())) {
+					return System.identityHashCode(proxy);
+				}
+				return "Instrumented" + target;
+			}
+
+			MethodMetrics metrics = metricsByMethod.computeIfAbsent(method, m -> metricsFor(type, m));
+			MethodMetrics previous = current.get();
+			current.set(metrics);
+			long start = System.nanoTime();
+			boolean failed = true;
+			try {
+				Object result = method.invoke(target, args);
+				failed = false;
+				if (result instanceof Stream) {
+					// Rows of a stream are counted as they are consumed.
+					return ((Stream<?>) result).peek(row -> metrics.addRows(1));
+				}
+				metrics.addRows(rowsOf(result));
+				return result;
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			} finally {
+				metrics.recordCall(System.nanoTime() - start, failed);
+				if (previous == null) {
+					current.remove();
+				} else {
+					current.set(previous);
+				}
+			}
+		}
+	}
+}
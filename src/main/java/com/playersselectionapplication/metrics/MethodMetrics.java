@@ -0,0 +1,41 @@
+package com.playersselectionapplication.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of one instrumented DAO method, or of one API route.
+ */
+public class MethodMetrics {
+	private final String name;
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder rows = new LongAdder();
+	private final LongAdder connections = new LongAdder();
+
+	public MethodMetrics(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void recordCall(long nanos, boolean failed) {
+		latency.record(nanos);
+		if (failed) {
+			errors.increment();
+		}
+	}
+
+	void addRows(long count) {
+		rows.add(count);
+	}
+
+	void connectionAcquired() {
+		connections.increment();
+	}
+
+	public MethodStats snapshot() {
+		return new MethodStats(name, latency.snapshot(), errors.sum(), rows.sum(), connections.sum());
+	}
+}
@@ -0,0 +1,82 @@
+package com.playersselectionapplication.metrics;
+
+/**
+ * Point-in-time view of a {@link MethodMetrics}. Latencies are in
+ * milliseconds.
+ */
+public class MethodStats {
+	private final String name;
+	private final long calls;
+	private final long errors;
+	private final long rows;
+	private final long connections;
+	private final double meanMillis;
+	private final double p50Millis;
+	private final double p99Millis;
+	private final double p999Millis;
+	private final double maxMillis;
+
+	MethodStats(String name, LatencyHistogram.Snapshot latency, long errors, long rows, long connections) {
+		this.name = name;
+		this.calls = latency.getCount();
+		this.errors = errors;
+		this.rows = rows;
+		this.connections = connections;
+		this.meanMillis = latency.getMeanNanos() / 1_000_000.0;
+		this.p50Millis = toMillis(latency.getValueAtPercentile(50.0));
+		this.p99Millis = toMillis(latency.getValueAtPercentile(99.0));
+		this.p999Millis = toMillis(latency.getValueAtPercentile(99.9));
+		this.maxMillis = toMillis(latency.getMaxNanos());
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCalls() {
+		return calls;
+	}
+
+	public long getErrors() {
+		return errors;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getConnections() {
+		return connections;
+	}
+
+	public double getMeanMillis() {
+		return meanMillis;
+	}
+
+	public double getP50Millis() {
+		return p50Millis;
+	}
+
+	public double getP99Millis() {
+		return p99Millis;
+	}
+
+	public double getP999Millis() {
+		return p999Millis;
+	}
+
+	public double getMaxMillis() {
+		return maxMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "MethodStats{" + "name=" + name + ", calls=" + calls + ", errors=" + errors + ", rows=" + rows
+				+ ", connections=" + connections + ", meanMillis=" + meanMillis + ", p50Millis=" + p50Millis
+				+ ", p99Millis=" + p99Millis + ", p999Millis=" + p999Millis + ", maxMillis=" + maxMillis + '}';
+	}
+}
@@ -0,0 +1,85 @@
+package com.playersselectionapplication.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.playersselectionapplication.cache.CacheStats;
+import com.playersselectionapplication.datasource.PoolStats;
+
+/**
+ * Point-in-time export of {@link DaoMetrics}, as a text table or JSON.
+ */
+public class MetricsSnapshot {
+	private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private final long capturedAtMillis;
+	private final List<MethodStats> methods;
+	private final PoolStats pool;
+	private final Map<String, CacheStats> caches;
+
+	public MetricsSnapshot(long capturedAtMillis, List<MethodStats> methods, PoolStats pool,
+			Map<String, CacheStats> caches) {
+		this.capturedAtMillis = capturedAtMillis;
+		this.methods = Collections.unmodifiableList(methods);
+		this.pool = pool;
+		this.caches = Collections.unmodifiableMap(caches);
+	}
+
+	public long getCapturedAtMillis() {
+		return capturedAtMillis;
+	}
+
+	public List<MethodStats> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * Pool counters, or null when the instrumented provider is not a pool.
+	 */
+	public PoolStats getPool() {
+		return pool;
+	}
+
+	/**
+	 * Counters of each registered cache, by name.
+	 */
+	public Map<String, CacheStats> getCaches() {
+		return caches;
+	}
+
+	public String toJson() {
+		try {
+			return JSON.writeValueAsString(this);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to write metrics as JSON", e);
+		}
+	}
+
+	public String toText() {
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("%-55s %8s %6s %10s %6s %9s %9s %9s %9s%n", "Method", "Calls", "Errors", "Rows",
+				"Conns", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+		for (MethodStats stats : methods) {
+			text.append(String.format("%-55s %8d %6d %10d %6d %9.3f %9.3f %9.3f %9.3f%n", stats.getName(),
+					stats.getCalls(), stats.getErrors(), stats.getRows(), stats.getConnections(),
+					stats.getP50Millis(), stats.getP99Millis(), stats.getP999Millis(), stats.getMaxMillis()));
+		}
+		if (pool != null) {
+			text.append(pool).append(System.lineSeparator());
+		}
+		for (Map.Entry<String, CacheStats> cache : caches.entrySet()) {
+			text.append(String.format("Cache %s: %s, hit rate %.1f%%%n", cache.getKey(), cache.getValue(),
+					cache.getValue().getHitRate() * 100));
+		}
+		return text.toString();
+	}
+
+	@Override
+	public String toString() {
+		return toText();
+	}
+}
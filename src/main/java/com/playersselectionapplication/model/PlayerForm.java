@@ -0,0 +1,120 @@
+package com.playersselectionapplication.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Rolling form of a player, maintained alongside every score write so the
+ * last-three average and the form rating can be read without scanning the
+ * Score table. {@code recentScore1} is the most recent score. The form rating
+ * is an exponentially weighted average of all scores: the first score sets
+ * it, and each later score moves it by {@code alpha * (score - rating)}.
+ */
+@Entity
+@Table(name = "PlayerForm")
+public class PlayerForm {
+	@Id
+	@Column(name = "playerId")
+	private int playerId;
+
+	@Column(name = "recentScore1")
+	private Integer recentScore1;
+
+	@Column(name = "recentScore2")
+	private Integer recentScore2;
+
+	@Column(name = "recentScore3")
+	private Integer recentScore3;
+
+	@Column(name = "scoreCount", nullable = false)
+	private int scoreCount;
+
+	@Column(name = "formRating", nullable = false)
+	private double formRating;
+
+	public PlayerForm() {
+	}
+
+	public PlayerForm(int playerId, Integer recentScore1, Integer recentScore2, Integer recentScore3,
+			int scoreCount) {
+		this.playerId = playerId;
+		this.recentScore1 = recentScore1;
+		this.recentScore2 = recentScore2;
+		this.recentScore3 = recentScore3;
+		this.scoreCount = scoreCount;
+	}
+
+	public PlayerForm(int playerId, Integer recentScore1, Integer recentScore2, Integer recentScore3,
+			int scoreCount, double formRating) {
+		this(playerId, recentScore1, recentScore2, recentScore3, scoreCount);
+		this.formRating = formRating;
+	}
+
+	public int getPlayerId() {
+		return playerId;
+	}
+
+	public void setPlayerId(int playerId) {
+		this.playerId = playerId;
+	}
+
+	public Integer getRecentScore1() {
+		return recentScore1;
+	}
+
+	public void setRecentScore1(Integer recentScore1) {
+		this.recentScore1 = recentScore1;
+	}
+
+	public Integer getRecentScore2() {
+		return recentScore2;
+	}
+
+	public void setRecentScore2(Integer recentScore2) {
+		this.recentScore2 = recentScore2;
+	}
+
+	public Integer getRecentScore3() {
+		return recentScore3;
+	}
+
+	public void setRecentScore3(Integer recentScore3) {
+		this.recentScore3 = recentScore3;
+	}
+
+	public int getScoreCount() {
+		return scoreCount;
+	}
+
+	public void setScoreCount(int scoreCount) {
+		this.scoreCount = scoreCount;
+	}
+
+	public double getFormRating() {
+		return formRating;
+	}
+
+	public void setFormRating(double formRating) {
+		this.formRating = formRating;
+	}
+
+	public double getLastThreeAverage() {
+		int sum = 0;
+		int count = 0;
+		for (Integer score : new Integer[] { recentScore1, recentScore2, recentScore3 }) {
+			if (score != null) {
+				sum += score;
+				count++;
+			}
+		}
+		return count > 0 ? (double) sum / count : 0.0;
+	}
+
+	@Override
+	public String toString() {
+		return "PlayerForm{" + "playerId=" + playerId + ", recentScores=[" + recentScore1 + ", " + recentScore2
+				+ ", " + recentScore3 + "]" + ", scoreCount=" + scoreCount + ", formRating=" + formRating + '}';
+	}
+}
@@ -0,0 +1,109 @@
+package com.playersselectionapplication.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.playersselectionapplication.model.Player;
+
+/**
+ * Non-blocking facade over a {@link PlayerDAO}. Each call runs on the given
+ * {@link DaoExecutor}, which bounds concurrency and applies the per-call
+ * timeout.
+ */
+public class AsyncPlayerDAO {
+	private final PlayerDAO playerDAO;
+	private final DaoExecutor executor;
+
+	public AsyncPlayerDAO(PlayerDAO playerDAO, DaoExecutor executor) {
+		this.playerDAO = playerDAO;
+		this.executor = executor;
+	}
+
+	public CompletableFuture<Player> addPlayer(Player player) {
+		return executor.submit(() -> {
+			playerDAO.addPlayer(player);
+			return player;
+		});
+	}
+
+	public CompletableFuture<Collection<Player>> addPlayers(Collection<Player> players) {
+		return executor.submit(() -> {
+			playerDAO.addPlayers(players);
+			return players;
+		});
+	}
+
+	public CompletableFuture<Void> updatePlayer(Player player) {
+		return executor.submit(() -> {
+			playerDAO.updatePlayer(player);
+			return null;
+		});
+	}
+
+	public CompletableFuture<Integer> deletePlayer(Player player) {
+		return executor.submit(() -> playerDAO.deletePlayer(player));
+	}
+
+	public CompletableFuture<Integer> deletePlayers(Collection<Integer> ids) {
+		return executor.submit(() -> playerDAO.deletePlayers(ids));
+	}
+
+	public CompletableFuture<Player> getPlayerById(int id) {
+		return executor.submit(() -> playerDAO.getPlayerById(id));
+	}
+
+	/**
+	 * Looks up many players concurrently. The ids are split into at most
+	 * {@link DaoExecutor#getConcurrency()} chunks, each read by one task, so a
+	 * long list takes a bounded number of in-flight slots rather than one per
+	 * id. Missing players are left out; the rest keep the order of
+	 * {@code ids}.
+	 */
+	public CompletableFuture<List<Player>> getPlayersByIds(Collection<Integer> ids) {
+		List<Integer> idList = new ArrayList<>(ids);
+		int chunkSize = Math.max(1, (idList.size() + executor.getConcurrency() - 1) / executor.getConcurrency());
+		List<CompletableFuture<List<Player>>> lookups = new ArrayList<>();
+		for (int from = 0; from < idList.size(); from += chunkSize) {
+			List<Integer> chunk = idList.subList(from, Math.min(from + chunkSize, idList.size()));
+			lookups.add(executor.submit(() -> {
+				List<Player> players = new ArrayList<>(chunk.size());
+				for (Integer id : chunk) {
+					Player player = playerDAO.getPlayerById(id);
+					if (player != null) {
+						players.add(player);
+					}
+				}
+				return players;
+			}));
+		}
+		return CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+			List<Player> players = new ArrayList<>(idList.size());
+			for (CompletableFuture<List<Player>> lookup : lookups) {
+				players.addAll(lookup.join());
+			}
+			return players;
+		});
+	}
+
+	public CompletableFuture<List<Player>> getAllPlayers() {
+		return executor.submit(playerDAO::getAllPlayers);
+	}
+
+	public CompletableFuture<Page<Player>> getPlayersPage(String continuationToken, int limit) {
+		return executor.submit(() -> playerDAO.getPlayersPage(continuationToken, limit));
+	}
+
+	public CompletableFuture<List<Player>> searchPlayersByName(String name) {
+		return executor.submit(() -> playerDAO.searchPlayersByName(name));
+	}
+
+	public CompletableFuture<List<Player>> searchPlayersByDomesticTeam(String domesticTeam) {
+		return executor.submit(() -> playerDAO.searchPlayersByDomesticTeam(domesticTeam));
+	}
+
+	public CompletableFuture<List<Player>> getPlayersByDomesticTeam(String domesticTeam) {
+		return executor.submit(() -> playerDAO.getPlayersByDomesticTeam(domesticTeam));
+	}
+}
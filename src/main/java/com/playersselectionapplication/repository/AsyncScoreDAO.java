@@ -0,0 +1,84 @@
+package com.playersselectionapplication.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.model.Score;
+
+/**
+ * Non-blocking facade over a {@link ScoreDAO}. Each call runs on the given
+ * {@link DaoExecutor}, which bounds concurrency and applies the per-call
+ * timeout.
+ */
+public class AsyncScoreDAO {
+	private final ScoreDAO scoreDAO;
+	private final DaoExecutor executor;
+
+	public AsyncScoreDAO(ScoreDAO scoreDAO, DaoExecutor executor) {
+		this.scoreDAO = scoreDAO;
+		this.executor = executor;
+	}
+
+	public CompletableFuture<Score> addScore(Score score) {
+		return executor.submit(() -> {
+			scoreDAO.addScore(score);
+			return score;
+		});
+	}
+
+	public CompletableFuture<Void> addScores(Collection<Score> scores) {
+		return executor.submit(() -> {
+			scoreDAO.addScores(scores);
+			return null;
+		});
+	}
+
+	public CompletableFuture<Void> updateScore(Score score) {
+		return executor.submit(() -> {
+			scoreDAO.updateScore(score);
+			return null;
+		});
+	}
+
+	public CompletableFuture<Void> deleteScore(Score score) {
+		return executor.submit(() -> {
+			scoreDAO.deleteScore(score);
+			return null;
+		});
+	}
+
+	public CompletableFuture<Score> getScoreById(int id) {
+		return executor.submit(() -> scoreDAO.getScoreById(id));
+	}
+
+	public CompletableFuture<List<Score>> getAllScores() {
+		return executor.submit(scoreDAO::getAllScores);
+	}
+
+	public CompletableFuture<List<Score>> getScoresByPlayerId(int playerId) {
+		return executor.submit(() -> scoreDAO.getScoresByPlayerId(playerId));
+	}
+
+	public CompletableFuture<Page<Score>> getScoresPage(int playerId, String continuationToken, int limit) {
+		return executor.submit(() -> scoreDAO.getScoresPage(playerId, continuationToken, limit));
+	}
+
+	public CompletableFuture<Double> getAverageOfLastThreeScores(int playerId) {
+		return executor.submit(() -> scoreDAO.getAverageOfLastThreeScores(playerId));
+	}
+
+	public CompletableFuture<Map<Integer, Double>> getAverageOfLastThreeScores(Collection<Integer> playerIds) {
+		return executor.submit(() -> scoreDAO.getAverageOfLastThreeScores(playerIds));
+	}
+
+	public CompletableFuture<Double> getFormRating(int playerId) {
+		return executor.submit(() -> scoreDAO.getFormRating(playerId));
+	}
+
+	public CompletableFuture<PlayerForm> getPlayerForm(int playerId) {
+		return executor.submit(() -> scoreDAO.getPlayerForm(playerId));
+	}
+}
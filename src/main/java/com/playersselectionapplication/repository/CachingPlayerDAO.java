@@ -0,0 +1,90 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.SQLException;
+import java.util.Collection;
+
+import com.playersselectionapplication.cache.CacheStats;
+import com.playersselectionapplication.cache.LruCache;
+import com.playersselectionapplication.model.Player;
+
+/**
+ * Read-through cache for {@link #getPlayerById(int)}. Writes made through this
+ * DAO refresh or invalidate the affected entry. Callers receive copies, so
+ * mutating a returned player does not change the cached one. A load that
+ * overlaps a write is returned but not cached, so it cannot outlive the
+ * invalidation.
+ */
+public class CachingPlayerDAO extends ForwardingPlayerDAO {
+	private final LruCache<Integer, Player> cache;
+
+	public CachingPlayerDAO(PlayerDAO delegate, int maxSize, long ttlMillis) {
+		super(delegate);
+		this.cache = new LruCache<>(maxSize, ttlMillis);
+	}
+
+	@Override
+	public void addPlayer(Player player) throws SQLException {
+		delegate.addPlayer(player);
+		cache.put(player.getId(), copyOf(player));
+	}
+
+	@Override
+	public void addPlayers(Collection<Player> players) throws SQLException {
+		delegate.addPlayers(players);
+		for (Player player : players) {
+			cache.put(player.getId(), copyOf(player));
+		}
+	}
+
+	@Override
+	public void updatePlayer(Player player) throws SQLException {
+		try {
+			delegate.updatePlayer(player);
+		} finally {
+			cache.invalidate(player.getId());
+		}
+	}
+
+	@Override
+	public int deletePlayer(Player player) throws SQLException {
+		try {
+			return delegate.deletePlayer(player);
+		} finally {
+			cache.invalidate(player.getId());
+		}
+	}
+
+	@Override
+	public int deletePlayers(Collection<Integer> ids) throws SQLException {
+		try {
+			return delegate.deletePlayers(ids);
+		} finally {
+			for (Integer id : ids) {
+				cache.invalidate(id);
+			}
+		}
+	}
+
+	@Override
+	public Player getPlayerById(int id) throws SQLException {
+		Player cached = cache.get(id);
+		if (cached != null) {
+			return copyOf(cached);
+		}
+
+		long generation = cache.generation(id);
+		Player player = delegate.getPlayerById(id);
+		if (player != null) {
+			cache.putIfGeneration(id, copyOf(player), generation);
+		}
+		return player;
+	}
+
+	public CacheStats getCacheStats() {
+		return cache.getStats();
+	}
+
+	private static Player copyOf(Player player) {
+		return new Player(player.getId(), player.getName(), player.getDomesticTeam(), player.getAverage());
+	}
+}
@@ -0,0 +1,153 @@
+package com.playersselectionapplication.repository;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.playersselectionapplication.datasource.PooledConnectionProvider;
+
+/**
+ * Runs blocking DAO calls off the caller's thread for the async facades.
+ *
+ * Tasks run on virtual threads when the JVM provides them, otherwise on a
+ * fixed pool sized to the connection pool. At most {@code maxInFlight} calls
+ * may be running or queued; beyond that new calls fail immediately with
+ * {@link RejectedExecutionException} instead of piling up behind a saturated
+ * connection pool. Every call is failed with {@link TimeoutException} and
+ * interrupted if it has not finished within {@code timeoutMillis}. A timed-out
+ * call keeps its in-flight slot until its task actually returns, since it may
+ * still hold a connection; one that never started gives it back at once.
+ */
+public class DaoExecutor implements AutoCloseable {
+	@FunctionalInterface
+	public interface SqlCallable<T> {
+		T call() throws SQLException;
+	}
+
+	private final ExecutorService executor;
+	private final ScheduledExecutorService timer;
+	private final Semaphore inFlight;
+	private final int concurrency;
+	private final int maxInFlight;
+	private final long timeoutMillis;
+
+	public DaoExecutor(int concurrency, int maxInFlight, long timeoutMillis) {
+		if (concurrency <= 0 || maxInFlight < concurrency) {
+			throw new IllegalArgumentException("maxInFlight must be at least the concurrency, which must be positive");
+		}
+		this.executor = newExecutor(concurrency);
+		this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("dao-timeout"));
+		this.inFlight = new Semaphore(maxInFlight);
+		this.concurrency = concurrency;
+		this.maxInFlight = maxInFlight;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * Sizes the executor for a connection pool: as many concurrent calls as
+	 * connections, and a queue of the same size again.
+	 */
+	public static DaoExecutor forPool(PooledConnectionProvider pool, long timeoutMillis) {
+		return new DaoExecutor(pool.getMaxSize(), pool.getMaxSize() * 2, timeoutMillis);
+	}
+
+	public <T> CompletableFuture<T> submit(SqlCallable<T> call) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		if (!inFlight.tryAcquire()) {
+			result.completeExceptionally(new RejectedExecutionException(
+					"Too many DAO calls in flight (" + maxInFlight + "); the connection pool is saturated."));
+			return result;
+		}
+
+		// Whoever claims the call first, the task starting or the timeout
+		// before it starts, is responsible for releasing the permit.
+		AtomicBoolean claimed = new AtomicBoolean();
+		Future<?> task;
+		try {
+			task = executor.submit(() -> {
+				if (!claimed.compareAndSet(false, true)) {
+					return;
+				}
+				T value;
+				try {
+					value = call.call();
+				} catch (Throwable e) {
+					inFlight.release();
+					result.completeExceptionally(e);
+					return;
+				}
+				// Free the slot first so a caller reacting to the result can submit again at once
+				inFlight.release();
+				result.complete(value);
+			});
+		} catch (RejectedExecutionException e) {
+			inFlight.release();
+			result.completeExceptionally(e);
+			return result;
+		}
+
+		ScheduledFuture<?> timeout = timer.schedule(() -> {
+			if (result.completeExceptionally(
+					new TimeoutException("DAO call did not complete within " + timeoutMillis + " ms"))) {
+				if (claimed.compareAndSet(false, true)) {
+					inFlight.release();
+				}
+				task.cancel(true);
+			}
+		}, timeoutMillis, TimeUnit.MILLISECONDS);
+
+		result.whenComplete((value, error) -> timeout.cancel(false));
+		return result;
+	}
+
+	/**
+	 * Number of calls meant to run at once, normally the connection pool size.
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public int getInFlight() {
+		return maxInFlight - inFlight.availablePermits();
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+		timer.shutdownNow();
+	}
+
+	private static ExecutorService newExecutor(int concurrency) {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Virtual threads are unavailable on this JVM
+		}
+		return new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), daemonThreads("dao-worker"));
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
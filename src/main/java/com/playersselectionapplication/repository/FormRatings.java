@@ -0,0 +1,36 @@
+package com.playersselectionapplication.repository;
+
+/**
+ * Arithmetic of the exponentially weighted form rating kept in
+ * {@link com.playersselectionapplication.model.PlayerForm}.
+ */
+final class FormRatings {
+	private FormRatings() {
+	}
+
+	/**
+	 * Rating after one more score: the first score sets it, later ones move it
+	 * by {@code alpha * (score - rating)}.
+	 */
+	static double next(double rating, int previousCount, int score, double alpha) {
+		return previousCount == 0 ? score : alpha * score + (1 - alpha) * rating;
+	}
+
+	/**
+	 * Rating of a whole history given oldest first.
+	 */
+	static double of(int[] scores, int count, double alpha) {
+		double rating = 0.0;
+		for (int i = 0; i < count; i++) {
+			rating = next(rating, i, scores[i], alpha);
+		}
+		return rating;
+	}
+
+	static double checkAlpha(double alpha) {
+		if (!(alpha > 0.0 && alpha <= 1.0)) {
+			throw new IllegalArgumentException("Form rating alpha must be in (0, 1]");
+		}
+		return alpha;
+	}
+}
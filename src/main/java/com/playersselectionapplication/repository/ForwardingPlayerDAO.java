@@ -0,0 +1,80 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.model.Player;
+
+/**
+ * Base class for {@link PlayerDAO} decorators. Every call is passed to the
+ * delegate; subclasses override only what they change.
+ */
+public abstract class ForwardingPlayerDAO implements PlayerDAO {
+	protected final PlayerDAO delegate;
+
+	protected ForwardingPlayerDAO(PlayerDAO delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void addPlayer(Player player) throws SQLException {
+		delegate.addPlayer(player);
+	}
+
+	@Override
+	public void addPlayers(Collection<Player> players) throws SQLException {
+		delegate.addPlayers(players);
+	}
+
+	@Override
+	public void updatePlayer(Player player) throws SQLException {
+		delegate.updatePlayer(player);
+	}
+
+	@Override
+	public int deletePlayer(Player player) throws SQLException {
+		return delegate.deletePlayer(player);
+	}
+
+	@Override
+	public int deletePlayers(Collection<Integer> ids) throws SQLException {
+		return delegate.deletePlayers(ids);
+	}
+
+	@Override
+	public Player getPlayerById(int id) throws SQLException {
+		return delegate.getPlayerById(id);
+	}
+
+	@Override
+	public List<Player> getAllPlayers() throws SQLException {
+		return delegate.getAllPlayers();
+	}
+
+	@Override
+	public List<Player> getPlayersAfter(int lastId, int limit) throws SQLException {
+		return delegate.getPlayersAfter(lastId, limit);
+	}
+
+	@Override
+	public Stream<Player> streamAllPlayers() throws SQLException {
+		return delegate.streamAllPlayers();
+	}
+
+	@Override
+	public List<Player> searchPlayersByName(String name) throws SQLException {
+		return delegate.searchPlayersByName(name);
+	}
+
+	@Override
+	public List<Player> searchPlayersByDomesticTeam(String domesticTeam) throws SQLException {
+		return delegate.searchPlayersByDomesticTeam(domesticTeam);
+	}
+
+	@Override
+	public List<Player> getPlayersByDomesticTeam(String domesticTeam) throws SQLException {
+		return delegate.getPlayersByDomesticTeam(domesticTeam);
+	}
+}
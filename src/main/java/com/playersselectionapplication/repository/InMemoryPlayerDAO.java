@@ -0,0 +1,153 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.model.Player;
+
+/**
+ * {@link PlayerDAO} held entirely in memory, for simulations and tests.
+ * Players are stored as copies, so callers cannot change stored state without
+ * going through the DAO. When built with a score store, deleting a player
+ * also deletes their scores, as it does in the database.
+ */
+public class InMemoryPlayerDAO implements PlayerDAO {
+	private final AtomicInteger nextId = new AtomicInteger();
+	private final ConcurrentSkipListMap<Integer, Player> players = new ConcurrentSkipListMap<>();
+	private final ScoreStore scoreStore;
+
+	public InMemoryPlayerDAO() {
+		this(null);
+	}
+
+	public InMemoryPlayerDAO(ScoreStore scoreStore) {
+		this.scoreStore = scoreStore;
+	}
+
+	@Override
+	public void addPlayer(Player player) throws SQLException {
+		int id = nextId.incrementAndGet();
+		player.setId(id);
+		players.put(id, copyOf(player));
+	}
+
+	@Override
+	public void addPlayers(Collection<Player> added) throws SQLException {
+		for (Player player : added) {
+			addPlayer(player);
+		}
+	}
+
+	/**
+	 * Adds players keeping their ids, for loading a snapshot. Ids assigned
+	 * afterwards continue after the largest loaded id.
+	 */
+	public void loadPlayers(Collection<Player> loaded) {
+		for (Player player : loaded) {
+			players.put(player.getId(), copyOf(player));
+			nextId.accumulateAndGet(player.getId(), Math::max);
+		}
+	}
+
+	@Override
+	public void updatePlayer(Player player) throws SQLException {
+		Player updated = players.computeIfPresent(player.getId(), (id, existing) -> new Player(id,
+				player.getName(), player.getDomesticTeam(), existing.getAverage()));
+		if (updated == null) {
+			throw new SQLException("Updating player failed, no rows affected.");
+		}
+	}
+
+	@Override
+	public int deletePlayer(Player player) throws SQLException {
+		if (scoreStore != null) {
+			scoreStore.deleteScoresByPlayerId(player.getId());
+		}
+		return players.remove(player.getId()) != null ? 1 : 0;
+	}
+
+	@Override
+	public int deletePlayers(Collection<Integer> ids) throws SQLException {
+		int deletedRows = 0;
+		for (Integer id : ids) {
+			if (scoreStore != null) {
+				scoreStore.deleteScoresByPlayerId(id);
+			}
+			if (players.remove(id) != null) {
+				deletedRows++;
+			}
+		}
+		return deletedRows;
+	}
+
+	@Override
+	public Player getPlayerById(int id) throws SQLException {
+		Player player = players.get(id);
+		return player != null ? copyOf(player) : null; // null if player not found
+	}
+
+	@Override
+	public List<Player> getAllPlayers() throws SQLException {
+		return filter(player -> true);
+	}
+
+	@Override
+	public List<Player> getPlayersAfter(int lastId, int limit) throws SQLException {
+		List<Player> page = new ArrayList<>();
+		for (Player player : players.tailMap(lastId, false).values()) {
+			if (page.size() == limit) {
+				break;
+			}
+			page.add(copyOf(player));
+		}
+		return page;
+	}
+
+	@Override
+	public Stream<Player> streamAllPlayers() throws SQLException {
+		return players.values().stream().map(InMemoryPlayerDAO::copyOf);
+	}
+
+	@Override
+	public List<Player> searchPlayersByName(String name) throws SQLException {
+		String needle = normalize(name);
+		return filter(player -> normalize(player.getName()).contains(needle));
+	}
+
+	@Override
+	public List<Player> searchPlayersByDomesticTeam(String domesticTeam) throws SQLException {
+		String needle = normalize(domesticTeam);
+		return filter(player -> normalize(player.getDomesticTeam()).contains(needle));
+	}
+
+	@Override
+	public List<Player> getPlayersByDomesticTeam(String domesticTeam) throws SQLException {
+		String team = normalize(domesticTeam);
+		return filter(player -> normalize(player.getDomesticTeam()).equals(team));
+	}
+
+	private List<Player> filter(Predicate<Player> predicate) {
+		List<Player> matches = new ArrayList<>();
+		for (Player player : players.values()) {
+			if (predicate.test(player)) {
+				matches.add(copyOf(player));
+			}
+		}
+		return matches;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+
+	private static Player copyOf(Player player) {
+		return new Player(player.getId(), player.getName(), player.getDomesticTeam(), player.getAverage());
+	}
+}
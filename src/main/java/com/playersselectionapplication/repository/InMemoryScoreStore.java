@@ -0,0 +1,487 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.playersselectionapplication.datasource.DataSourceConfig;
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.model.Score;
+
+/**
+ * {@link ScoreDAO} held entirely in memory. Each player's scores live in a
+ * pair of growable {@code int[]} columns (ids and values) kept in id order, so
+ * the last three scores are the tail of the arrays and no {@link Score}
+ * objects are retained. A second growable array maps score ids to their
+ * player for lookups by id.
+ *
+ * Writes for one player are serialized on that player's columns; ids are
+ * drawn under the same lock so each player's ids stay ascending. Writes for
+ * different players proceed in parallel. Deleting a player's scores marks
+ * their columns released, and a writer that finds released columns retries
+ * with fresh ones, so no score is appended to columns already unlinked. The
+ * form rating is folded in on append and recomputed from the columns when a
+ * score is updated or removed.
+ *
+ * Unlike the Score table, whose playerId references Player, the store does
+ * not check that a score's player exists: it is built before
+ * {@link InMemoryPlayerDAO} and knows nothing of its players. Scores added
+ * for an unknown player id are kept until that id's scores are deleted, so
+ * callers that rely on the foreign key must look the player up first.
+ */
+public class InMemoryScoreStore implements ScoreStore {
+	private final double formAlpha;
+	private final AtomicInteger nextId = new AtomicInteger();
+	private final ConcurrentHashMap<Integer, PlayerScores> scoresByPlayer = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, String> checkpoints = new ConcurrentHashMap<>();
+
+	private final ReadWriteLock ownerLock = new ReentrantReadWriteLock();
+	/** Player id + 1 indexed by score id; 0 means no such score. */
+	private int[] ownerByScoreId = new int[1024];
+
+	public InMemoryScoreStore() {
+		this(DataSourceConfig.DEFAULT_FORM_ALPHA);
+	}
+
+	/**
+	 * @param formAlpha weight of each new score in the form rating, in (0, 1]
+	 */
+	public InMemoryScoreStore(double formAlpha) {
+		this.formAlpha = FormRatings.checkAlpha(formAlpha);
+	}
+
+	@Override
+	public void addScore(Score score) throws SQLException {
+		while (true) {
+			PlayerScores playerScores = scoresByPlayer.computeIfAbsent(score.getPlayerId(), PlayerScores::new);
+			synchronized (playerScores) {
+				if (playerScores.released) {
+					continue; // the player's scores were deleted concurrently
+				}
+				int id = nextId.incrementAndGet();
+				playerScores.append(id, score.getScore());
+				setOwner(id, score.getPlayerId());
+				score.setId(id);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void addScores(Collection<Score> scores) throws SQLException {
+		for (Score score : scores) {
+			addScore(score);
+		}
+	}
+
+	/**
+	 * Adds the scores, then stores the checkpoint. Nothing here survives a
+	 * restart, so there is no transaction to share.
+	 */
+	@Override
+	public void addScores(Collection<Score> scores, String checkpointKey, String checkpoint) throws SQLException {
+		addScores(scores);
+		checkpoints.put(checkpointKey, checkpoint);
+	}
+
+	@Override
+	public String getCheckpoint(String checkpointKey) {
+		return checkpoints.get(checkpointKey);
+	}
+
+	@Override
+	public void deleteCheckpoint(String checkpointKey) {
+		checkpoints.remove(checkpointKey);
+	}
+
+	@Override
+	public void loadScores(int[] ids, int[] playerIds, int[] values, int count) {
+		if (count == 0) {
+			return;
+		}
+		int maxId = 0;
+		for (int i = 0; i < count; i++) {
+			if (ids[i] <= maxId) {
+				throw new IllegalArgumentException("Score ids must be positive and ascending, found " + ids[i]);
+			}
+			maxId = ids[i];
+		}
+		ownerLock.writeLock().lock();
+		try {
+			if (maxId >= ownerByScoreId.length) {
+				ownerByScoreId = Arrays.copyOf(ownerByScoreId, maxId + 1);
+			}
+			for (int i = 0; i < count; i++) {
+				ownerByScoreId[ids[i]] = playerIds[i] + 1;
+			}
+		} finally {
+			ownerLock.writeLock().unlock();
+		}
+		for (int i = 0; i < count; i++) {
+			loadScore(ids[i], playerIds[i], values[i]);
+		}
+		nextId.accumulateAndGet(maxId, Math::max);
+	}
+
+	private void loadScore(int id, int playerId, int value) {
+		while (true) {
+			PlayerScores playerScores = scoresByPlayer.computeIfAbsent(playerId, PlayerScores::new);
+			synchronized (playerScores) {
+				if (playerScores.released) {
+					continue;
+				}
+				if (playerScores.size > 0 && playerScores.ids[playerScores.size - 1] >= id) {
+					throw new IllegalArgumentException("Score " + id + " is older than a stored score of player "
+							+ playerId);
+				}
+				playerScores.append(id, value);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void updateScore(Score score) throws SQLException {
+		PlayerScores playerScores = playerScoresFor(score.getId());
+		if (playerScores == null || !playerScores.update(score.getId(), score.getScore())) {
+			throw new SQLException("Updating score failed, no rows affected.");
+		}
+	}
+
+	@Override
+	public void deleteScore(Score score) throws SQLException {
+		PlayerScores playerScores = playerScoresFor(score.getId());
+		if (playerScores != null && playerScores.remove(score.getId())) {
+			setOwner(score.getId(), -1);
+		}
+	}
+
+	@Override
+	public int deleteScoresByPlayerId(int playerId) {
+		PlayerScores playerScores = scoresByPlayer.remove(playerId);
+		if (playerScores == null) {
+			return 0;
+		}
+		synchronized (playerScores) {
+			int removed = playerScores.size;
+			for (int i = 0; i < removed; i++) {
+				setOwner(playerScores.ids[i], -1);
+			}
+			playerScores.size = 0;
+			playerScores.released = true;
+			return removed;
+		}
+	}
+
+	@Override
+	public Score getScoreById(int id) throws SQLException {
+		PlayerScores playerScores = playerScoresFor(id);
+		if (playerScores == null) {
+			return null; // Score not found
+		}
+		synchronized (playerScores) {
+			int index = playerScores.indexOf(id);
+			return index >= 0 ? new Score(id, playerScores.values[index], playerScores.playerId) : null;
+		}
+	}
+
+	@Override
+	public List<Score> getAllScores() throws SQLException {
+		List<Score> scores = new ArrayList<>();
+		for (PlayerScores playerScores : scoresByPlayer.values()) {
+			playerScores.copyTo(scores);
+		}
+		scores.sort(Comparator.comparingInt(Score::getId));
+		return scores;
+	}
+
+	/**
+	 * Merges the players' columns in id order one score at a time, without
+	 * copying the store. Scores written while the stream is open may or may
+	 * not appear in it.
+	 */
+	@Override
+	public Stream<Score> streamAllScores() throws SQLException {
+		PriorityQueue<ScoreCursor> cursors = new PriorityQueue<>(Comparator.comparingInt(
+				(ScoreCursor cursor) -> cursor.id));
+		for (PlayerScores playerScores : scoresByPlayer.values()) {
+			ScoreCursor cursor = new ScoreCursor(playerScores);
+			if (playerScores.advance(cursor)) {
+				cursors.add(cursor);
+			}
+		}
+		Iterator<Score> iterator = new Iterator<Score>() {
+			@Override
+			public boolean hasNext() {
+				return !cursors.isEmpty();
+			}
+
+			@Override
+			public Score next() {
+				ScoreCursor cursor = cursors.poll();
+				if (cursor == null) {
+					throw new NoSuchElementException();
+				}
+				Score score = new Score(cursor.id, cursor.value, cursor.playerScores.playerId);
+				if (cursor.playerScores.advance(cursor)) {
+					cursors.add(cursor);
+				}
+				return score;
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	@Override
+	public List<Score> getScoresByPlayerId(int playerId) throws SQLException {
+		List<Score> scores = new ArrayList<>();
+		PlayerScores playerScores = scoresByPlayer.get(playerId);
+		if (playerScores != null) {
+			playerScores.copyTo(scores);
+		}
+		return scores;
+	}
+
+	@Override
+	public List<Score> getScoresByPlayerIdAfter(int playerId, int lastScoreId, int limit) throws SQLException {
+		List<Score> scores = new ArrayList<>();
+		PlayerScores playerScores = scoresByPlayer.get(playerId);
+		if (playerScores != null) {
+			playerScores.copyAfter(lastScoreId, limit, scores);
+		}
+		return scores;
+	}
+
+	@Override
+	public double getAverageOfLastThreeScores(int playerId) throws SQLException {
+		PlayerScores playerScores = scoresByPlayer.get(playerId);
+		return playerScores != null ? playerScores.lastThreeAverage() : 0.0;
+	}
+
+	@Override
+	public Map<Integer, Double> getAverageOfLastThreeScores(Collection<Integer> playerIds) throws SQLException {
+		Map<Integer, Double> averages = new HashMap<>();
+		for (Integer playerId : playerIds) {
+			if (playerId == null) {
+				throw new IllegalArgumentException("Player ids must not be null");
+			}
+			averages.put(playerId, getAverageOfLastThreeScores(playerId));
+		}
+		return averages;
+	}
+
+	@Override
+	public double getFormRating(int playerId) throws SQLException {
+		PlayerScores playerScores = scoresByPlayer.get(playerId);
+		return playerScores != null ? playerScores.formRating() : 0.0;
+	}
+
+	@Override
+	public void rebuildFormRatings() throws SQLException {
+		for (PlayerScores playerScores : scoresByPlayer.values()) {
+			playerScores.rebuildFormRating();
+		}
+	}
+
+	@Override
+	public PlayerForm getPlayerForm(int playerId) throws SQLException {
+		PlayerScores playerScores = scoresByPlayer.get(playerId);
+		return playerScores != null ? playerScores.form() : null;
+	}
+
+	@Override
+	public List<PlayerForm> getAllPlayerForms() throws SQLException {
+		List<PlayerForm> forms = new ArrayList<>();
+		for (PlayerScores playerScores : scoresByPlayer.values()) {
+			PlayerForm form = playerScores.form();
+			if (form != null) {
+				forms.add(form);
+			}
+		}
+		return forms;
+	}
+
+	/**
+	 * Number of scores recorded for the player, without copying them.
+	 */
+	public int getScoreCount(int playerId) {
+		PlayerScores playerScores = scoresByPlayer.get(playerId);
+		if (playerScores == null) {
+			return 0;
+		}
+		synchronized (playerScores) {
+			return playerScores.size;
+		}
+	}
+
+	private PlayerScores playerScoresFor(int scoreId) {
+		int owner;
+		ownerLock.readLock().lock();
+		try {
+			owner = scoreId > 0 && scoreId < ownerByScoreId.length ? ownerByScoreId[scoreId] : 0;
+		} finally {
+			ownerLock.readLock().unlock();
+		}
+		return owner == 0 ? null : scoresByPlayer.get(owner - 1);
+	}
+
+	/**
+	 * Records the owner of a score id; {@code playerId} of -1 clears it.
+	 */
+	private void setOwner(int scoreId, int playerId) {
+		ownerLock.writeLock().lock();
+		try {
+			if (scoreId >= ownerByScoreId.length) {
+				ownerByScoreId = Arrays.copyOf(ownerByScoreId,
+						Math.max(scoreId + 1, ownerByScoreId.length + (ownerByScoreId.length >> 1)));
+			}
+			ownerByScoreId[scoreId] = playerId + 1;
+		} finally {
+			ownerLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Position of a stream in one player's columns: the last score it returned.
+	 */
+	private static final class ScoreCursor {
+		private final PlayerScores playerScores;
+		private int id;
+		private int value;
+
+		private ScoreCursor(PlayerScores playerScores) {
+			this.playerScores = playerScores;
+		}
+	}
+
+	/**
+	 * Column pair of one player's scores in ascending id order. All access is
+	 * synchronized on the instance.
+	 */
+	private final class PlayerScores {
+		private final int playerId;
+		private int[] ids = new int[8];
+		private int[] values = new int[8];
+		private int size;
+		private double formRating;
+		private boolean released;
+
+		private PlayerScores(int playerId) {
+			this.playerId = playerId;
+		}
+
+		private void append(int id, int value) {
+			if (size == ids.length) {
+				int capacity = size + (size >> 1) + 1;
+				ids = Arrays.copyOf(ids, capacity);
+				values = Arrays.copyOf(values, capacity);
+			}
+			ids[size] = id;
+			values[size] = value;
+			formRating = FormRatings.next(formRating, size, value, formAlpha);
+			size++;
+		}
+
+		private int indexOf(int id) {
+			return Arrays.binarySearch(ids, 0, size, id);
+		}
+
+		private synchronized boolean update(int id, int value) {
+			int index = indexOf(id);
+			if (index < 0) {
+				return false;
+			}
+			values[index] = value;
+			rebuildFormRating();
+			return true;
+		}
+
+		private synchronized boolean remove(int id) {
+			int index = indexOf(id);
+			if (index < 0) {
+				return false;
+			}
+			int tail = size - index - 1;
+			System.arraycopy(ids, index + 1, ids, index, tail);
+			System.arraycopy(values, index + 1, values, index, tail);
+			size--;
+			rebuildFormRating();
+			return true;
+		}
+
+		private synchronized double lastThreeAverage() {
+			int count = Math.min(3, size);
+			if (count == 0) {
+				return 0.0;
+			}
+			int sum = 0;
+			for (int i = size - count; i < size; i++) {
+				sum += values[i];
+			}
+			return (double) sum / count;
+		}
+
+		private synchronized double formRating() {
+			return formRating;
+		}
+
+		private synchronized void rebuildFormRating() {
+			formRating = FormRatings.of(values, size, formAlpha);
+		}
+
+		private synchronized PlayerForm form() {
+			if (size == 0) {
+				return null;
+			}
+			return new PlayerForm(playerId, values[size - 1], size > 1 ? values[size - 2] : null,
+					size > 2 ? values[size - 3] : null, size, formRating);
+		}
+
+		private synchronized void copyTo(List<Score> scores) {
+			for (int i = 0; i < size; i++) {
+				scores.add(new Score(ids[i], values[i], playerId));
+			}
+		}
+
+		/**
+		 * Moves the cursor to the first score after its current id, or returns
+		 * false if there is none.
+		 */
+		private synchronized boolean advance(ScoreCursor cursor) {
+			int index = indexOf(cursor.id);
+			int next = index >= 0 ? index + 1 : -index - 1;
+			if (next >= size) {
+				return false;
+			}
+			cursor.id = ids[next];
+			cursor.value = values[next];
+			return true;
+		}
+
+		private synchronized void copyAfter(int lastId, int limit, List<Score> scores) {
+			int index = indexOf(lastId);
+			int from = index >= 0 ? index + 1 : -index - 1;
+			int to = (int) Math.min(size, (long) from + limit);
+			for (int i = from; i < to; i++) {
+				scores.add(new Score(ids[i], values[i], playerId));
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.playersselectionapplication.index.PlayerNameIndex;
+import com.playersselectionapplication.index.PlayerTeamIndex;
+import com.playersselectionapplication.model.Player;
+
+/**
+ * Answers name and team searches from in-memory indexes built from the
+ * delegate at construction and kept current by the writes made through this
+ * DAO.
+ */
+public class IndexedPlayerDAO extends ForwardingPlayerDAO {
+	private final PlayerNameIndex nameIndex = new PlayerNameIndex();
+	private final PlayerTeamIndex teamIndex = new PlayerTeamIndex();
+
+	public IndexedPlayerDAO(PlayerDAO delegate) throws SQLException {
+		super(delegate);
+		rebuild();
+	}
+
+	public void rebuild() throws SQLException {
+		List<Player> players = delegate.getAllPlayers();
+		nameIndex.rebuild(players);
+		teamIndex.rebuild(players);
+	}
+
+	@Override
+	public void addPlayer(Player player) throws SQLException {
+		delegate.addPlayer(player);
+		nameIndex.put(player);
+		teamIndex.put(player);
+	}
+
+	@Override
+	public void addPlayers(Collection<Player> players) throws SQLException {
+		delegate.addPlayers(players);
+		for (Player player : players) {
+			nameIndex.put(player);
+			teamIndex.put(player);
+		}
+	}
+
+	@Override
+	public void updatePlayer(Player player) throws SQLException {
+		delegate.updatePlayer(player);
+
+		// updatePlayer does not write the average, so keep the indexed one.
+		Player indexed = nameIndex.get(player.getId());
+		int average = indexed != null ? indexed.getAverage() : player.getAverage();
+		nameIndex.put(new Player(player.getId(), player.getName(), player.getDomesticTeam(), average));
+		teamIndex.put(player);
+	}
+
+	@Override
+	public int deletePlayer(Player player) throws SQLException {
+		int deletedRows = delegate.deletePlayer(player);
+		nameIndex.remove(player.getId());
+		teamIndex.remove(player.getId());
+		return deletedRows;
+	}
+
+	@Override
+	public int deletePlayers(Collection<Integer> ids) throws SQLException {
+		int deletedRows = delegate.deletePlayers(ids);
+		for (Integer id : ids) {
+			nameIndex.remove(id);
+			teamIndex.remove(id);
+		}
+		return deletedRows;
+	}
+
+	@Override
+	public List<Player> searchPlayersByName(String name) throws SQLException {
+		return nameIndex.search(name);
+	}
+
+	@Override
+	public List<Player> searchPlayersByDomesticTeam(String domesticTeam) throws SQLException {
+		return resolve(teamIndex.searchPlayerIds(domesticTeam));
+	}
+
+	@Override
+	public List<Player> getPlayersByDomesticTeam(String domesticTeam) throws SQLException {
+		return resolve(teamIndex.getPlayerIds(domesticTeam));
+	}
+
+	private List<Player> resolve(List<Integer> playerIds) {
+		List<Player> players = new ArrayList<>(playerIds.size());
+		for (Integer playerId : playerIds) {
+			Player player = nameIndex.get(playerId);
+			if (player != null) {
+				players.add(player);
+			}
+		}
+		return players;
+	}
+}
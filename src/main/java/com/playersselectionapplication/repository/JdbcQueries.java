@@ -0,0 +1,57 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.playersselectionapplication.datasource.ConnectionProvider;
+
+/**
+ * Runs a parameterized query on a connection from the provider and maps its
+ * rows, closing the result set, statement and connection before returning.
+ * Use {@link JdbcStreams} instead for results too large to hold in memory.
+ */
+final class JdbcQueries {
+	@FunctionalInterface
+	interface ParameterBinder {
+		void bind(PreparedStatement statement) throws SQLException;
+	}
+
+	static final ParameterBinder NO_PARAMETERS = statement -> {
+	};
+
+	private JdbcQueries() {
+	}
+
+	static <T> List<T> query(ConnectionProvider connectionProvider, String query, ParameterBinder binder,
+			RowMapper<T> mapper) throws SQLException {
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement(query)) {
+			binder.bind(statement);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				List<T> rows = new ArrayList<>();
+				while (resultSet.next()) {
+					rows.add(mapper.mapRow(resultSet));
+				}
+				return rows;
+			}
+		}
+	}
+
+	/**
+	 * Maps the first row of the result, or returns null if there is none.
+	 */
+	static <T> T queryFirst(ConnectionProvider connectionProvider, String query, ParameterBinder binder,
+			RowMapper<T> mapper) throws SQLException {
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement(query)) {
+			binder.bind(statement);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? mapper.mapRow(resultSet) : null;
+			}
+		}
+	}
+}
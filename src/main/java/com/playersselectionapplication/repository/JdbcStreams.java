@@ -0,0 +1,85 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.playersselectionapplication.datasource.ConnectionProvider;
+
+/**
+ * Turns a query into a lazily populated {@link Stream}. The connection,
+ * statement and result set stay open until the stream is closed, so callers
+ * must use try-with-resources.
+ */
+final class JdbcStreams {
+	private static final int DEFAULT_FETCH_SIZE = 1000;
+
+	private JdbcStreams() {
+	}
+
+	static <T> Stream<T> stream(ConnectionProvider connectionProvider, String query, RowMapper<T> mapper)
+			throws SQLException {
+		Connection connection = connectionProvider.getConnection();
+		PreparedStatement statement = null;
+		ResultSet resultSet = null;
+		try {
+			statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(streamingFetchSize(connection));
+			resultSet = statement.executeQuery();
+		} catch (SQLException | RuntimeException e) {
+			closeQuietly(resultSet, statement, connection);
+			throw e;
+		}
+
+		final ResultSet rows = resultSet;
+		final PreparedStatement openStatement = statement;
+		Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+				Spliterator.ORDERED | Spliterator.NONNULL) {
+			@Override
+			public boolean tryAdvance(Consumer<? super T> action) {
+				try {
+					if (!rows.next()) {
+						return false;
+					}
+					action.accept(mapper.mapRow(rows));
+					return true;
+				} catch (SQLException e) {
+					throw new RuntimeException("Failed to read the next row", e);
+				}
+			}
+		};
+		return StreamSupport.stream(spliterator, false)
+				.onClose(() -> closeQuietly(rows, openStatement, connection));
+	}
+
+	/**
+	 * MySQL Connector/J only streams rows one at a time when the fetch size is
+	 * {@code Integer.MIN_VALUE}; other drivers take a positive hint.
+	 */
+	private static int streamingFetchSize(Connection connection) throws SQLException {
+		String driverName = connection.getMetaData().getDriverName();
+		if (driverName != null && driverName.toLowerCase().contains("mysql")) {
+			return Integer.MIN_VALUE;
+		}
+		return DEFAULT_FETCH_SIZE;
+	}
+
+	private static void closeQuietly(AutoCloseable... resources) {
+		for (AutoCloseable resource : resources) {
+			if (resource == null) {
+				continue;
+			}
+			try {
+				resource.close();
+			} catch (Exception e) {
+				// nothing more can be done while closing
+			}
+		}
+	}
+}
@@ -0,0 +1,555 @@
+package com.playersselectionapplication.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.datasource.DataSourceConfig;
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.model.Score;
+
+/**
+ * {@link ScoreDAO} that keeps scores outside the Java heap. Each score is a
+ * 12-byte slot (scoreId, playerId, score) in direct {@link ByteBuffer}
+ * segments. A player's scores occupy a chain of 16-slot blocks in id order,
+ * indexed by a small per-player array of block numbers, so the last three
+ * scores are found in constant time. Score ids map to their player through an
+ * off-heap int table whose entries are written under the owning player's
+ * chain lock; the table itself is only locked to grow. Blocks freed by
+ * deletes are reused.
+ *
+ * The last-three average, forms and {@link #visitScoresByPlayerId} read the
+ * slots directly without creating {@link Score} objects; the list-returning
+ * {@link ScoreDAO} methods copy into new objects as the interface requires.
+ * Locking follows {@link InMemoryScoreStore}: writes for one player are
+ * serialized on that player's chain, with ids drawn under the same lock. The
+ * form rating is the one value kept on heap per player.
+ */
+public class OffHeapScoreStore implements ScoreStore {
+	private static final int SLOT_BYTES = 3 * Integer.BYTES;
+	private static final int BLOCK_SLOTS = 16;
+	private static final int SEGMENT_SHIFT = 16;
+	private static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT;
+	private static final int BLOCKS_PER_SEGMENT = SEGMENT_SLOTS / BLOCK_SLOTS;
+	private static final int OWNER_SEGMENT_SHIFT = 16;
+	private static final int OWNER_SEGMENT_IDS = 1 << OWNER_SEGMENT_SHIFT;
+
+	/**
+	 * Receives the fields of one stored score.
+	 */
+	@FunctionalInterface
+	public interface ScoreVisitor {
+		void visit(int scoreId, int playerId, int score);
+	}
+
+	private final double formAlpha;
+	private final AtomicInteger nextId = new AtomicInteger();
+	private final ConcurrentHashMap<Integer, PlayerChain> chains = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, String> checkpoints = new ConcurrentHashMap<>();
+
+	private final Object arenaLock = new Object();
+	private volatile ByteBuffer[] segments = new ByteBuffer[0];
+	private int allocatedBlocks;
+	private int[] freeBlocks = new int[64];
+	private int freeBlockCount;
+
+	private final Object ownerGrowLock = new Object();
+	/** Player id + 1 by score id, OWNER_SEGMENT_IDS ids per buffer; 0 means no such score. */
+	private volatile ByteBuffer[] ownerSegments = new ByteBuffer[0];
+
+	public OffHeapScoreStore() {
+		this(DataSourceConfig.DEFAULT_FORM_ALPHA);
+	}
+
+	/**
+	 * @param formAlpha weight of each new score in the form rating, in (0, 1]
+	 */
+	public OffHeapScoreStore(double formAlpha) {
+		this.formAlpha = FormRatings.checkAlpha(formAlpha);
+	}
+
+	@Override
+	public void addScore(Score score) throws SQLException {
+		while (true) {
+			PlayerChain chain = chains.computeIfAbsent(score.getPlayerId(), PlayerChain::new);
+			synchronized (chain) {
+				if (chain.released) {
+					continue; // the player's scores were deleted concurrently
+				}
+				int id = nextId.incrementAndGet();
+				chain.append(id, score.getScore());
+				setOwner(id, score.getPlayerId());
+				score.setId(id);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void addScores(Collection<Score> scores) throws SQLException {
+		for (Score score : scores) {
+			addScore(score);
+		}
+	}
+
+	/**
+	 * Adds the scores, then stores the checkpoint. Nothing here survives a
+	 * restart, so there is no transaction to share.
+	 */
+	@Override
+	public void addScores(Collection<Score> scores, String checkpointKey, String checkpoint) throws SQLException {
+		addScores(scores);
+		checkpoints.put(checkpointKey, checkpoint);
+	}
+
+	@Override
+	public String getCheckpoint(String checkpointKey) {
+		return checkpoints.get(checkpointKey);
+	}
+
+	@Override
+	public void deleteCheckpoint(String checkpointKey) {
+		checkpoints.remove(checkpointKey);
+	}
+
+	@Override
+	public void updateScore(Score score) throws SQLException {
+		PlayerChain chain = chainFor(score.getId());
+		if (chain == null || !chain.update(score.getId(), score.getScore())) {
+			throw new SQLException("Updating score failed, no rows affected.");
+		}
+	}
+
+	@Override
+	public void deleteScore(Score score) throws SQLException {
+		PlayerChain chain = chainFor(score.getId());
+		if (chain != null) {
+			synchronized (chain) {
+				if (chain.remove(score.getId())) {
+					setOwner(score.getId(), -1);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void loadScores(int[] ids, int[] playerIds, int[] values, int count) {
+		int maxId = 0;
+		for (int i = 0; i < count; i++) {
+			if (ids[i] <= maxId) {
+				throw new IllegalArgumentException("Score ids must be positive and ascending, found " + ids[i]);
+			}
+			maxId = ids[i];
+		}
+		for (int i = 0; i < count; i++) {
+			loadScore(ids[i], playerIds[i], values[i]);
+		}
+		nextId.accumulateAndGet(maxId, Math::max);
+	}
+
+	private void loadScore(int id, int playerId, int value) {
+		while (true) {
+			PlayerChain chain = chains.computeIfAbsent(playerId, PlayerChain::new);
+			synchronized (chain) {
+				if (chain.released) {
+					continue;
+				}
+				if (chain.size > 0 && readId(chain.slotAt(chain.size - 1)) >= id) {
+					throw new IllegalArgumentException("Score " + id + " is older than a stored score of player "
+							+ playerId);
+				}
+				chain.append(id, value);
+				setOwner(id, playerId);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Also frees the player's blocks for reuse.
+	 */
+	@Override
+	public int deleteScoresByPlayerId(int playerId) {
+		PlayerChain chain = chains.remove(playerId);
+		if (chain == null) {
+			return 0;
+		}
+		synchronized (chain) {
+			int removed = chain.size;
+			for (int i = 0; i < removed; i++) {
+				setOwner(readId(chain.slotAt(i)), -1);
+			}
+			chain.release();
+			return removed;
+		}
+	}
+
+	@Override
+	public Score getScoreById(int id) throws SQLException {
+		PlayerChain chain = chainFor(id);
+		if (chain == null) {
+			return null; // Score not found
+		}
+		synchronized (chain) {
+			int index = chain.indexOf(id);
+			return index >= 0 ? new Score(id, readScore(chain.slotAt(index)), chain.playerId) : null;
+		}
+	}
+
+	@Override
+	public List<Score> getAllScores() throws SQLException {
+		List<Score> scores = new ArrayList<>();
+		for (PlayerChain chain : chains.values()) {
+			chain.visit(0, Integer.MAX_VALUE,
+					(scoreId, playerId, score) -> scores.add(new Score(scoreId, score, playerId)));
+		}
+		scores.sort(Comparator.comparingInt(Score::getId));
+		return scores;
+	}
+
+	@Override
+	public Stream<Score> streamAllScores() throws SQLException {
+		return getAllScores().stream();
+	}
+
+	@Override
+	public List<Score> getScoresByPlayerId(int playerId) throws SQLException {
+		List<Score> scores = new ArrayList<>();
+		visitScoresByPlayerId(playerId, (scoreId, owner, score) -> scores.add(new Score(scoreId, score, owner)));
+		return scores;
+	}
+
+	@Override
+	public List<Score> getScoresByPlayerIdAfter(int playerId, int lastScoreId, int limit) throws SQLException {
+		List<Score> scores = new ArrayList<>();
+		PlayerChain chain = chains.get(playerId);
+		if (chain != null) {
+			synchronized (chain) {
+				int index = chain.indexOf(lastScoreId);
+				chain.visit(index >= 0 ? index + 1 : -index - 1, limit,
+						(scoreId, owner, score) -> scores.add(new Score(scoreId, score, owner)));
+			}
+		}
+		return scores;
+	}
+
+	/**
+	 * Passes each of the player's scores to the visitor in id order, reading
+	 * the slots in place. The player's writes wait until the visit completes.
+	 */
+	public void visitScoresByPlayerId(int playerId, ScoreVisitor visitor) {
+		PlayerChain chain = chains.get(playerId);
+		if (chain != null) {
+			chain.visit(0, Integer.MAX_VALUE, visitor);
+		}
+	}
+
+	@Override
+	public double getAverageOfLastThreeScores(int playerId) throws SQLException {
+		PlayerChain chain = chains.get(playerId);
+		return chain != null ? chain.lastThreeAverage() : 0.0;
+	}
+
+	@Override
+	public Map<Integer, Double> getAverageOfLastThreeScores(Collection<Integer> playerIds) throws SQLException {
+		Map<Integer, Double> averages = new HashMap<>();
+		for (Integer playerId : playerIds) {
+			if (playerId == null) {
+				throw new IllegalArgumentException("Player ids must not be null");
+			}
+			averages.put(playerId, getAverageOfLastThreeScores(playerId));
+		}
+		return averages;
+	}
+
+	@Override
+	public double getFormRating(int playerId) throws SQLException {
+		PlayerChain chain = chains.get(playerId);
+		return chain != null ? chain.formRating() : 0.0;
+	}
+
+	@Override
+	public void rebuildFormRatings() throws SQLException {
+		for (PlayerChain chain : chains.values()) {
+			chain.rebuildFormRating();
+		}
+	}
+
+	@Override
+	public PlayerForm getPlayerForm(int playerId) throws SQLException {
+		PlayerChain chain = chains.get(playerId);
+		return chain != null ? chain.form() : null;
+	}
+
+	@Override
+	public List<PlayerForm> getAllPlayerForms() throws SQLException {
+		List<PlayerForm> forms = new ArrayList<>();
+		for (PlayerChain chain : chains.values()) {
+			PlayerForm form = chain.form();
+			if (form != null) {
+				forms.add(form);
+			}
+		}
+		return forms;
+	}
+
+	/**
+	 * Number of scores recorded for the player, without copying them.
+	 */
+	public int getScoreCount(int playerId) {
+		PlayerChain chain = chains.get(playerId);
+		if (chain == null) {
+			return 0;
+		}
+		synchronized (chain) {
+			return chain.size;
+		}
+	}
+
+	/**
+	 * Direct memory reserved for score slots and the id table, in bytes.
+	 */
+	public long getOffHeapBytes() {
+		return (long) segments.length * SEGMENT_SLOTS * SLOT_BYTES
+				+ (long) ownerSegments.length * OWNER_SEGMENT_IDS * Integer.BYTES;
+	}
+
+	private int allocateBlock() {
+		synchronized (arenaLock) {
+			if (freeBlockCount > 0) {
+				return freeBlocks[--freeBlockCount];
+			}
+			int block = allocatedBlocks;
+			if (block == Integer.MAX_VALUE / BLOCK_SLOTS) {
+				throw new IllegalStateException("Off-heap score store is full");
+			}
+			if (block / BLOCKS_PER_SEGMENT == segments.length) {
+				ByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+				grown[segments.length] = ByteBuffer.allocateDirect(SEGMENT_SLOTS * SLOT_BYTES)
+						.order(ByteOrder.nativeOrder());
+				segments = grown;
+			}
+			allocatedBlocks++;
+			return block;
+		}
+	}
+
+	private void freeBlock(int block) {
+		synchronized (arenaLock) {
+			if (freeBlockCount == freeBlocks.length) {
+				freeBlocks = Arrays.copyOf(freeBlocks, freeBlockCount * 2);
+			}
+			freeBlocks[freeBlockCount++] = block;
+		}
+	}
+
+	private ByteBuffer segmentOf(int slot) {
+		return segments[slot >>> SEGMENT_SHIFT];
+	}
+
+	private static int offsetOf(int slot) {
+		return (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+	}
+
+	private int readId(int slot) {
+		return segmentOf(slot).getInt(offsetOf(slot));
+	}
+
+	private int readScore(int slot) {
+		return segmentOf(slot).getInt(offsetOf(slot) + 2 * Integer.BYTES);
+	}
+
+	private void writeSlot(int slot, int id, int playerId, int score) {
+		ByteBuffer segment = segmentOf(slot);
+		int offset = offsetOf(slot);
+		segment.putInt(offset, id);
+		segment.putInt(offset + Integer.BYTES, playerId);
+		segment.putInt(offset + 2 * Integer.BYTES, score);
+	}
+
+	private void copySlot(int from, int to) {
+		ByteBuffer source = segmentOf(from);
+		int offset = offsetOf(from);
+		writeSlot(to, source.getInt(offset), source.getInt(offset + Integer.BYTES),
+				source.getInt(offset + 2 * Integer.BYTES));
+	}
+
+	/**
+	 * The chain the owner table names for the score id. The entry is read
+	 * without a lock, so callers confirm the id under the chain's lock.
+	 */
+	private PlayerChain chainFor(int scoreId) {
+		ByteBuffer[] table = ownerSegments;
+		int segment = scoreId >>> OWNER_SEGMENT_SHIFT;
+		if (scoreId <= 0 || segment >= table.length) {
+			return null;
+		}
+		int owner = table[segment].getInt((scoreId & (OWNER_SEGMENT_IDS - 1)) * Integer.BYTES);
+		return owner == 0 ? null : chains.get(owner - 1);
+	}
+
+	/**
+	 * Records the owner of a score id; {@code playerId} of -1 clears it.
+	 * Called under the lock of the chain that holds or held the id.
+	 */
+	private void setOwner(int scoreId, int playerId) {
+		int segment = scoreId >>> OWNER_SEGMENT_SHIFT;
+		ByteBuffer[] table = ownerSegments;
+		if (segment >= table.length) {
+			table = growOwnerTable(segment);
+		}
+		table[segment].putInt((scoreId & (OWNER_SEGMENT_IDS - 1)) * Integer.BYTES, playerId + 1);
+	}
+
+	private ByteBuffer[] growOwnerTable(int segment) {
+		synchronized (ownerGrowLock) {
+			ByteBuffer[] table = ownerSegments;
+			if (segment >= table.length) {
+				ByteBuffer[] grown = Arrays.copyOf(table, segment + 1);
+				for (int i = table.length; i < grown.length; i++) {
+					grown[i] = ByteBuffer.allocateDirect(OWNER_SEGMENT_IDS * Integer.BYTES)
+							.order(ByteOrder.nativeOrder());
+				}
+				ownerSegments = grown;
+				table = grown;
+			}
+			return table;
+		}
+	}
+
+	/**
+	 * One player's scores in ascending id order, stored in a chain of blocks.
+	 * All access is synchronized on the instance.
+	 */
+	private final class PlayerChain {
+		private final int playerId;
+		private int[] blocks = new int[2];
+		private int blockCount;
+		private int size;
+		private double formRating;
+		private boolean released;
+
+		private PlayerChain(int playerId) {
+			this.playerId = playerId;
+		}
+
+		private int slotAt(int index) {
+			return blocks[index / BLOCK_SLOTS] * BLOCK_SLOTS + index % BLOCK_SLOTS;
+		}
+
+		private void append(int id, int value) {
+			if (size == blockCount * BLOCK_SLOTS) {
+				if (blockCount == blocks.length) {
+					blocks = Arrays.copyOf(blocks, blockCount * 2);
+				}
+				blocks[blockCount++] = allocateBlock();
+			}
+			writeSlot(slotAt(size), id, playerId, value);
+			formRating = FormRatings.next(formRating, size, value, formAlpha);
+			size++;
+		}
+
+		private int indexOf(int id) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int midId = readId(slotAt(mid));
+				if (midId < id) {
+					low = mid + 1;
+				} else if (midId > id) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+
+		private synchronized boolean update(int id, int value) {
+			int index = indexOf(id);
+			if (index < 0) {
+				return false;
+			}
+			writeSlot(slotAt(index), id, playerId, value);
+			rebuildFormRating();
+			return true;
+		}
+
+		private synchronized boolean remove(int id) {
+			int index = indexOf(id);
+			if (index < 0) {
+				return false;
+			}
+			for (int i = index; i < size - 1; i++) {
+				copySlot(slotAt(i + 1), slotAt(i));
+			}
+			size--;
+			if (size <= (blockCount - 1) * BLOCK_SLOTS) {
+				freeBlock(blocks[--blockCount]);
+			}
+			rebuildFormRating();
+			return true;
+		}
+
+		private void release() {
+			for (int i = 0; i < blockCount; i++) {
+				freeBlock(blocks[i]);
+			}
+			blockCount = 0;
+			size = 0;
+			released = true;
+		}
+
+		private synchronized void visit(int from, int limit, ScoreVisitor visitor) {
+			int to = (int) Math.min(size, (long) from + limit);
+			for (int i = from; i < to; i++) {
+				int slot = slotAt(i);
+				visitor.visit(readId(slot), playerId, readScore(slot));
+			}
+		}
+
+		private synchronized double lastThreeAverage() {
+			int count = Math.min(3, size);
+			if (count == 0) {
+				return 0.0;
+			}
+			int sum = 0;
+			for (int i = size - count; i < size; i++) {
+				sum += readScore(slotAt(i));
+			}
+			return (double) sum / count;
+		}
+
+		private synchronized double formRating() {
+			return formRating;
+		}
+
+		private synchronized void rebuildFormRating() {
+			double rating = 0.0;
+			for (int i = 0; i < size; i++) {
+				rating = FormRatings.next(rating, i, readScore(slotAt(i)), formAlpha);
+			}
+			formRating = rating;
+		}
+
+		private synchronized PlayerForm form() {
+			if (size == 0) {
+				return null;
+			}
+			return new PlayerForm(playerId, readScore(slotAt(size - 1)),
+					size > 1 ? readScore(slotAt(size - 2)) : null, size > 2 ? readScore(slotAt(size - 3)) : null,
+					size, formRating);
+		}
+	}
+}
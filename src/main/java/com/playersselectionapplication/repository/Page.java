@@ -0,0 +1,85 @@
+package com.playersselectionapplication.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One page of a keyset-paginated query. The continuation token is opaque to
+ * callers; it encodes the id of the last row returned and is null on the
+ * last page.
+ */
+public final class Page<T> {
+	private static final String TOKEN_PREFIX = "k1:";
+
+	private final List<T> items;
+	private final String nextToken;
+
+	private Page(List<T> items, String nextToken) {
+		this.items = items;
+		this.nextToken = nextToken;
+	}
+
+	/**
+	 * Builds a page from rows fetched with a limit of {@code limit + 1}: the
+	 * extra row, if present, only signals that another page follows.
+	 */
+	static <T> Page<T> of(List<T> rows, int limit, ToIntFunction<T> idFunction) {
+		if (rows.size() <= limit) {
+			return new Page<>(Collections.unmodifiableList(rows), null);
+		}
+		List<T> items = new ArrayList<>(rows.subList(0, limit));
+		return new Page<>(Collections.unmodifiableList(items),
+				encodeToken(idFunction.applyAsInt(items.get(limit - 1))));
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public String getNextToken() {
+		return nextToken;
+	}
+
+	public boolean hasNext() {
+		return nextToken != null;
+	}
+
+	static String encodeToken(int lastId) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((TOKEN_PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Returns the last id encoded in the token, or 0 for a null or empty token,
+	 * which starts from the first page.
+	 */
+	static int decodeToken(String token) {
+		if (token == null || token.isEmpty()) {
+			return 0;
+		}
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+			if (decoded.startsWith(TOKEN_PREFIX)) {
+				return Integer.parseInt(decoded.substring(TOKEN_PREFIX.length()));
+			}
+		} catch (IllegalArgumentException e) {
+			// reported below
+		}
+		throw new IllegalArgumentException("Invalid continuation token: " + token);
+	}
+
+	/**
+	 * Rows to fetch for a page of {@code limit} items: one extra to detect
+	 * whether another page follows.
+	 */
+	static int fetchSize(int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Page limit must be positive");
+		}
+		return limit == Integer.MAX_VALUE ? limit : limit + 1;
+	}
+}
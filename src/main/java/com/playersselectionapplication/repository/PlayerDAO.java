@@ -1,22 +1,62 @@
 package com.playersselectionapplication.repository;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.playersselectionapplication.model.Player;
 
 public interface PlayerDAO {
 	void addPlayer(Player player) throws SQLException;
 
+	/**
+	 * Adds the players in one transaction and sets their generated ids.
+	 */
+	void addPlayers(Collection<Player> players) throws SQLException;
+
 	void updatePlayer(Player player) throws SQLException;
 
 	int deletePlayer(Player player) throws SQLException;
 
+	/**
+	 * Deletes the players with the given ids together with their scores, in
+	 * one transaction. Returns the number of players deleted.
+	 */
+	int deletePlayers(Collection<Integer> ids) throws SQLException;
+
 	Player getPlayerById(int id) throws SQLException;
 
 	List<Player> getAllPlayers() throws SQLException;
 
+	/**
+	 * Up to {@code limit} players with an id greater than {@code lastId}, in id
+	 * order. Pass 0 for the first page.
+	 */
+	List<Player> getPlayersAfter(int lastId, int limit) throws SQLException;
+
+	/**
+	 * One page of players in id order, continuing after the position encoded in
+	 * {@code continuationToken}. A null token starts at the first player.
+	 */
+	default Page<Player> getPlayersPage(String continuationToken, int limit) throws SQLException {
+		List<Player> players = getPlayersAfter(Page.decodeToken(continuationToken), Page.fetchSize(limit));
+		return Page.of(players, limit, Player::getId);
+	}
+
+	/**
+	 * Streams every player without loading the table into memory. The stream
+	 * holds a database connection and must be closed.
+	 */
+	Stream<Player> streamAllPlayers() throws SQLException;
+
 	List<Player> searchPlayersByName(String name) throws SQLException;
 
 	List<Player> searchPlayersByDomesticTeam(String domesticTeam) throws SQLException;
+
+	/**
+	 * Players whose domestic team equals {@code domesticTeam}, ignoring case,
+	 * ordered by id.
+	 */
+	List<Player> getPlayersByDomesticTeam(String domesticTeam) throws SQLException;
 }
@@ -1,43 +1,48 @@
 package com.playersselectionapplication.repository;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Properties;
+import java.util.stream.Stream;
 
+import com.playersselectionapplication.datasource.ConnectionProvider;
+import com.playersselectionapplication.datasource.ConnectionProviders;
+import com.playersselectionapplication.datasource.DataSourceConfig;
 import com.playersselectionapplication.model.Player;
 
 public class PlayerDAOImpl implements PlayerDAO {
-	private final String url;
-	private final String username;
-	private final String password;
+	private final ConnectionProvider connectionProvider;
+	private final boolean cascadeDeletes;
 
 	public PlayerDAOImpl() {
-		Properties properties = new Properties();
-		try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("application.properties")) {
-			if (inputStream == null) {
-				throw new RuntimeException("application.properties file not found");
-			}
-			properties.load(inputStream);
-			url = properties.getProperty("db.url");
-			username = properties.getProperty("db.username");
-			password = properties.getProperty("db.password");
-		} catch (IOException e) {
-			throw new RuntimeException("Failed to load application.properties file", e);
-		}
+		this(ConnectionProviders.getDefault(), DataSourceConfig.load().isCascadeDeletes());
+	}
+
+	public PlayerDAOImpl(ConnectionProvider connectionProvider) {
+		this(connectionProvider, DataSourceConfig.load().isCascadeDeletes());
+	}
+
+	/**
+	 * @param cascadeDeletes whether the schema deletes a player's scores and
+	 *                       form through ON DELETE CASCADE; when false they are
+	 *                       deleted explicitly in the same transaction
+	 */
+	public PlayerDAOImpl(ConnectionProvider connectionProvider, boolean cascadeDeletes) {
+		this.connectionProvider = connectionProvider;
+		this.cascadeDeletes = cascadeDeletes;
 	}
 
 	@Override
 	public void addPlayer(Player player) throws SQLException {
 		String query = "INSERT INTO Player (name, domesticTeam, average) VALUES (?, ?, ?)";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
+		try (Connection connection = connectionProvider.getConnection();
 				PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
 
 			statement.setString(1, player.getName());
@@ -60,10 +65,51 @@ public class PlayerDAOImpl implements PlayerDAO {
 		}
 	}
 
+	/**
+	 * Inserts the players as one JDBC batch, which the driver rewrites into
+	 * multi-row inserts, and reads back the generated ids in order.
+	 */
+	@Override
+	public void addPlayers(Collection<Player> players) throws SQLException {
+		if (players.isEmpty()) {
+			return;
+		}
+
+		String query = "INSERT INTO Player (name, domesticTeam, average) VALUES (?, ?, ?)";
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+			connection.setAutoCommit(false);
+			try {
+				for (Player player : players) {
+					statement.setString(1, player.getName());
+					statement.setString(2, player.getDomesticTeam());
+					statement.setInt(3, player.getAverage());
+					statement.addBatch();
+				}
+				statement.executeBatch();
+
+				try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+					for (Player player : players) {
+						if (!generatedKeys.next()) {
+							throw new SQLException("Adding players failed, no ID obtained.");
+						}
+						player.setId(generatedKeys.getInt(1));
+					}
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+
 	@Override
 	public void updatePlayer(Player player) throws SQLException {
 		String query = "UPDATE Player SET name = ?, domesticTeam = ? WHERE id = ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
+		try (Connection connection = connectionProvider.getConnection();
 				PreparedStatement statement = connection.prepareStatement(query)) {
 
 			statement.setString(1, player.getName());
@@ -80,112 +126,107 @@ public class PlayerDAOImpl implements PlayerDAO {
 
 	@Override
 	public int deletePlayer(Player player) throws SQLException {
-		String deleteScoresQuery = "DELETE FROM Score WHERE playerId = ?";
-		String deletePlayerQuery = "DELETE FROM Player WHERE id = ?";
-
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement deleteScoresStatement = connection.prepareStatement(deleteScoresQuery);
-				PreparedStatement deletePlayerStatement = connection.prepareStatement(deletePlayerQuery)) {
-			deleteScoresStatement.setInt(1, player.getId());
-			deleteScoresStatement.executeUpdate();
-			deletePlayerStatement.setInt(1, player.getId());
-			int updatedRows = deletePlayerStatement.executeUpdate();
-			return updatedRows;
-		}
+		return deletePlayers(Collections.singletonList(player.getId()));
 	}
 
+	/**
+	 * Deletes the players and, through ON DELETE CASCADE or explicitly, their
+	 * scores and form rows, all in one transaction. With cascading foreign keys
+	 * and at most {@link SqlFragments#MAX_IN_LIST_SIZE} ids this is a single
+	 * statement.
+	 */
 	@Override
-	public Player getPlayerById(int id) throws SQLException {
-		String query = "SELECT * FROM Player WHERE id = ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query)) {
+	public int deletePlayers(Collection<Integer> ids) throws SQLException {
+		List<Integer> playerIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		if (playerIds.isEmpty()) {
+			return 0;
+		}
 
-			statement.setInt(1, id);
+		try (Connection connection = connectionProvider.getConnection()) {
+			if (cascadeDeletes && playerIds.size() <= SqlFragments.MAX_IN_LIST_SIZE) {
+				return deleteByIds(connection, "DELETE FROM Player WHERE id IN (", playerIds);
+			}
 
-			try (ResultSet resultSet = statement.executeQuery()) {
-				if (resultSet.next()) {
-					Player player = new Player();
-					player.setId(resultSet.getInt("id"));
-					player.setName(resultSet.getString("name"));
-					player.setDomesticTeam(resultSet.getString("domesticTeam"));
-					player.setAverage(resultSet.getInt("average"));
-					return player;
+			connection.setAutoCommit(false);
+			try {
+				int deletedRows = 0;
+				for (int from = 0; from < playerIds.size(); from += SqlFragments.MAX_IN_LIST_SIZE) {
+					List<Integer> chunk = playerIds.subList(from,
+							Math.min(from + SqlFragments.MAX_IN_LIST_SIZE, playerIds.size()));
+					if (!cascadeDeletes) {
+						deleteByIds(connection, "DELETE FROM PlayerForm WHERE playerId IN (", chunk);
+						deleteByIds(connection, "DELETE FROM Score WHERE playerId IN (", chunk);
+					}
+					deletedRows += deleteByIds(connection, "DELETE FROM Player WHERE id IN (", chunk);
 				}
+				connection.commit();
+				return deletedRows;
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
 			}
 		}
-
-		return null; // Player not found
 	}
 
-	@Override
-	public List<Player> getAllPlayers() throws SQLException {
-		String query = "SELECT * FROM Player";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query);
-				ResultSet resultSet = statement.executeQuery()) {
-
-			List<Player> players = new ArrayList<>();
-
-			while (resultSet.next()) {
-				Player player = new Player();
-				player.setId(resultSet.getInt("id"));
-				player.setName(resultSet.getString("name"));
-				player.setDomesticTeam(resultSet.getString("domesticTeam"));
-				player.setAverage(resultSet.getInt("average"));
-				players.add(player);
+	private static int deleteByIds(Connection connection, String queryPrefix, List<Integer> ids) throws SQLException {
+		String query = queryPrefix + SqlFragments.placeholders(ids.size()) + ")";
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			for (int i = 0; i < ids.size(); i++) {
+				statement.setInt(i + 1, ids.get(i));
 			}
-
-			return players;
+			return statement.executeUpdate();
 		}
 	}
 
 	@Override
-	public List<Player> searchPlayersByName(String name) throws SQLException {
-		String query = "SELECT * FROM Player WHERE name LIKE ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query)) {
+	public Player getPlayerById(int id) throws SQLException {
+		String query = "SELECT " + PlayerRowMapper.COLUMNS + " FROM Player WHERE id = ?";
+		return JdbcQueries.queryFirst(connectionProvider, query, statement -> statement.setInt(1, id),
+				PlayerRowMapper.INSTANCE);
+	}
 
-			statement.setString(1, "%" + name + "%");
+	@Override
+	public List<Player> getAllPlayers() throws SQLException {
+		String query = "SELECT " + PlayerRowMapper.COLUMNS + " FROM Player";
+		return JdbcQueries.query(connectionProvider, query, JdbcQueries.NO_PARAMETERS, PlayerRowMapper.INSTANCE);
+	}
 
-			try (ResultSet resultSet = statement.executeQuery()) {
-				List<Player> players = new ArrayList<>();
+	@Override
+	public List<Player> getPlayersAfter(int lastId, int limit) throws SQLException {
+		String query = "SELECT " + PlayerRowMapper.COLUMNS + " FROM Player WHERE id > ? ORDER BY id LIMIT ?";
+		return JdbcQueries.query(connectionProvider, query, statement -> {
+			statement.setInt(1, lastId);
+			statement.setInt(2, limit);
+		}, PlayerRowMapper.INSTANCE);
+	}
 
-				while (resultSet.next()) {
-					Player player = new Player();
-					player.setId(resultSet.getInt("id"));
-					player.setName(resultSet.getString("name"));
-					player.setDomesticTeam(resultSet.getString("domesticTeam"));
-					player.setAverage(resultSet.getInt("average"));
-					players.add(player);
-				}
+	@Override
+	public Stream<Player> streamAllPlayers() throws SQLException {
+		return JdbcStreams.stream(connectionProvider,
+				"SELECT " + PlayerRowMapper.COLUMNS + " FROM Player ORDER BY id", PlayerRowMapper.INSTANCE);
+	}
 
-				return players;
-			}
-		}
+	@Override
+	public List<Player> searchPlayersByName(String name) throws SQLException {
+		String query = "SELECT " + PlayerRowMapper.COLUMNS + " FROM Player WHERE name LIKE ?";
+		return JdbcQueries.query(connectionProvider, query, statement -> statement.setString(1, "%" + name + "%"),
+				PlayerRowMapper.INSTANCE);
 	}
 
 	@Override
 	public List<Player> searchPlayersByDomesticTeam(String domesticTeam) throws SQLException {
-		String query = "SELECT * FROM Player WHERE domesticTeam LIKE ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query)) {
-
-			statement.setString(1, "%" + domesticTeam + "%");
-
-			try (ResultSet resultSet = statement.executeQuery()) {
-				List<Player> players = new ArrayList<>();
-
-				while (resultSet.next()) {
-					Player player = new Player();
-					player.setId(resultSet.getInt("id"));
-					player.setName(resultSet.getString("name"));
-					player.setDomesticTeam(resultSet.getString("domesticTeam"));
-					player.setAverage(resultSet.getInt("average"));
-					players.add(player);
-				}
+		String query = "SELECT " + PlayerRowMapper.COLUMNS + " FROM Player WHERE domesticTeam LIKE ?";
+		return JdbcQueries.query(connectionProvider, query,
+				statement -> statement.setString(1, "%" + domesticTeam + "%"), PlayerRowMapper.INSTANCE);
+	}
 
-				return players;
-			}
-		}
+	@Override
+	public List<Player> getPlayersByDomesticTeam(String domesticTeam) throws SQLException {
+		// The default MySQL collation compares case-insensitively, so this stays an index lookup.
+		String query = "SELECT " + PlayerRowMapper.COLUMNS + " FROM Player WHERE domesticTeam = ? ORDER BY id";
+		return JdbcQueries.query(connectionProvider, query, statement -> statement.setString(1, domesticTeam),
+				PlayerRowMapper.INSTANCE);
 	}
 }
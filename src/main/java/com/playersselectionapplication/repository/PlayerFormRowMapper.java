@@ -0,0 +1,31 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.playersselectionapplication.model.PlayerForm;
+
+/**
+ * Maps a row selected with {@link #COLUMNS} to a {@link PlayerForm}, reading
+ * columns by position rather than resolving names on every row.
+ */
+public final class PlayerFormRowMapper implements RowMapper<PlayerForm> {
+	/** The select list this mapper expects, in order. */
+	public static final String COLUMNS = "playerId, recentScore1, recentScore2, recentScore3, scoreCount, formRating";
+
+	public static final PlayerFormRowMapper INSTANCE = new PlayerFormRowMapper();
+
+	private PlayerFormRowMapper() {
+	}
+
+	@Override
+	public PlayerForm mapRow(ResultSet resultSet) throws SQLException {
+		return new PlayerForm(resultSet.getInt(1), getNullableInt(resultSet, 2), getNullableInt(resultSet, 3),
+				getNullableInt(resultSet, 4), resultSet.getInt(5), resultSet.getDouble(6));
+	}
+
+	private static Integer getNullableInt(ResultSet resultSet, int column) throws SQLException {
+		int value = resultSet.getInt(column);
+		return resultSet.wasNull() ? null : value;
+	}
+}
@@ -0,0 +1,25 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.playersselectionapplication.model.Player;
+
+/**
+ * Maps a row selected with {@link #COLUMNS} to a {@link Player}, reading
+ * columns by position rather than resolving names on every row.
+ */
+public final class PlayerRowMapper implements RowMapper<Player> {
+	/** The select list this mapper expects, in order. */
+	public static final String COLUMNS = "id, name, domesticTeam, average";
+
+	public static final PlayerRowMapper INSTANCE = new PlayerRowMapper();
+
+	private PlayerRowMapper() {
+	}
+
+	@Override
+	public Player mapRow(ResultSet resultSet) throws SQLException {
+		return new Player(resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3), resultSet.getInt(4));
+	}
+}
@@ -0,0 +1,12 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+	T mapRow(ResultSet resultSet) throws SQLException;
+}
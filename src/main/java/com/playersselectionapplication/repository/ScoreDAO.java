@@ -1,13 +1,41 @@
 package com.playersselectionapplication.repository;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import com.playersselectionapplication.model.PlayerForm;
 import com.playersselectionapplication.model.Score;
 
 public interface ScoreDAO {
 	void addScore(Score score) throws SQLException;
 
+	void addScores(Collection<Score> scores) throws SQLException;
+
+	/**
+	 * Largest number of scores {@link #addScores} commits in one transaction;
+	 * longer collections may be committed in several.
+	 */
+	default int getTransactionBatchSize() {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Adds the scores and stores {@code checkpoint} under {@code checkpointKey}
+	 * in one transaction, so an import resumed from the checkpoint neither
+	 * repeats nor skips scores.
+	 */
+	void addScores(Collection<Score> scores, String checkpointKey, String checkpoint) throws SQLException;
+
+	/**
+	 * Returns the checkpoint stored under the key, or null if there is none.
+	 */
+	String getCheckpoint(String checkpointKey) throws SQLException;
+
+	void deleteCheckpoint(String checkpointKey) throws SQLException;
+
 	void updateScore(Score score) throws SQLException;
 
 	void deleteScore(Score score) throws SQLException;
@@ -16,7 +44,62 @@ public interface ScoreDAO {
 
 	List<Score> getAllScores() throws SQLException;
 
+	/**
+	 * Streams every score without loading the table into memory. The stream
+	 * holds a database connection and must be closed.
+	 */
+	Stream<Score> streamAllScores() throws SQLException;
+
 	List<Score> getScoresByPlayerId(int playerId) throws SQLException;
 
+	/**
+	 * Up to {@code limit} scores of the player with an id greater than
+	 * {@code lastScoreId}, in id order. Pass 0 for the first page.
+	 */
+	List<Score> getScoresByPlayerIdAfter(int playerId, int lastScoreId, int limit) throws SQLException;
+
+	/**
+	 * One page of the player's scores in id order, continuing after the
+	 * position encoded in {@code continuationToken}. A null token starts at the
+	 * player's first score.
+	 */
+	default Page<Score> getScoresPage(int playerId, String continuationToken, int limit) throws SQLException {
+		List<Score> scores = getScoresByPlayerIdAfter(playerId, Page.decodeToken(continuationToken),
+				Page.fetchSize(limit));
+		return Page.of(scores, limit, Score::getId);
+	}
+
 	double getAverageOfLastThreeScores(int playerId) throws SQLException;
+
+	/**
+	 * Last-three averages for many players in one query. Every requested id is
+	 * present in the result; players without scores map to 0.0.
+	 *
+	 * @throws IllegalArgumentException if an id is null
+	 */
+	Map<Integer, Double> getAverageOfLastThreeScores(Collection<Integer> playerIds) throws SQLException;
+
+	/**
+	 * Exponentially weighted form rating of the player, maintained on every
+	 * score write; 0.0 for players without scores.
+	 */
+	double getFormRating(int playerId) throws SQLException;
+
+	/**
+	 * Recomputes every player's form from the full score history, for example
+	 * after changing the rating's decay factor.
+	 */
+	void rebuildFormRatings() throws SQLException;
+
+	/**
+	 * Returns the materialized recent form of a player, or null if no score has
+	 * been recorded for them.
+	 */
+	PlayerForm getPlayerForm(int playerId) throws SQLException;
+
+	/**
+	 * Returns the materialized form of every player that has at least one
+	 * score, in a single query.
+	 */
+	List<PlayerForm> getAllPlayerForms() throws SQLException;
 }
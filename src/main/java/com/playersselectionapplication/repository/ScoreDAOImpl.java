@@ -1,60 +1,248 @@
 package com.playersselectionapplication.repository;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Properties;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import com.playersselectionapplication.datasource.ConnectionProvider;
+import com.playersselectionapplication.datasource.ConnectionProviders;
+import com.playersselectionapplication.datasource.DataSourceConfig;
+import com.playersselectionapplication.model.PlayerForm;
 import com.playersselectionapplication.model.Score;
 
 public class ScoreDAOImpl implements ScoreDAO {
-	private final String url;
-	private final String username;
-	private final String password;
+	private static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * Shifts the player's recent scores down one slot, puts the new score
+	 * first and folds it into the form rating in O(1). The assignments are
+	 * ordered so that each reads the value before it is overwritten; the
+	 * rating is assigned before the count so a row emptied by deletes starts
+	 * over from the new score.
+	 */
+	private static final String PUSH_FORM_QUERY = "INSERT INTO PlayerForm "
+			+ "(playerId, recentScore1, scoreCount, formRating) VALUES (?, ?, 1, ?) ON DUPLICATE KEY UPDATE "
+			+ "recentScore3 = recentScore2, recentScore2 = recentScore1, recentScore1 = VALUES(recentScore1), "
+			+ "formRating = CASE WHEN scoreCount = 0 THEN VALUES(formRating) "
+			+ "ELSE ? * VALUES(formRating) + (1E0 - ?) * formRating END, scoreCount = scoreCount + 1";
+
+	/**
+	 * Recomputes every form row from the Score table. Numbering each player's
+	 * scores newest first, the oldest weighs (1 - alpha)^(n - 1) and every
+	 * other alpha * (1 - alpha)^(rowNumber - 1), which equals folding them in
+	 * one at a time.
+	 */
+	private static final String REBUILD_FORM_QUERY = "INSERT INTO PlayerForm "
+			+ "(playerId, recentScore1, recentScore2, recentScore3, scoreCount, formRating) "
+			+ "SELECT playerId, MAX(CASE WHEN rowNumber = 1 THEN score END), "
+			+ "MAX(CASE WHEN rowNumber = 2 THEN score END), MAX(CASE WHEN rowNumber = 3 THEN score END), "
+			+ "COUNT(*), SUM(score * POWER(1E0 - ?, rowNumber - 1) "
+			+ "* CASE WHEN rowNumber = scoreCount THEN 1E0 ELSE ? END) "
+			+ "FROM (SELECT playerId, score, "
+			+ "ROW_NUMBER() OVER (PARTITION BY playerId ORDER BY id DESC) AS rowNumber, "
+			+ "COUNT(*) OVER (PARTITION BY playerId) AS scoreCount FROM Score) ranked GROUP BY playerId "
+			+ "ON DUPLICATE KEY UPDATE recentScore1 = VALUES(recentScore1), recentScore2 = VALUES(recentScore2), "
+			+ "recentScore3 = VALUES(recentScore3), scoreCount = VALUES(scoreCount), formRating = VALUES(formRating)";
+
+	private final ConnectionProvider connectionProvider;
+	private final int batchSize;
+	private final double formAlpha;
 
 	public ScoreDAOImpl() {
-		Properties properties = new Properties();
-		try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("application.properties")) {
-			if (inputStream == null) {
-				throw new RuntimeException("application.properties file not found");
-			}
-			properties.load(inputStream);
-			url = properties.getProperty("db.url");
-			username = properties.getProperty("db.username");
-			password = properties.getProperty("db.password");
-		} catch (IOException e) {
-			throw new RuntimeException("Failed to load application.properties file", e);
+		this(ConnectionProviders.getDefault(), DataSourceConfig.load());
+	}
+
+	private ScoreDAOImpl(ConnectionProvider connectionProvider, DataSourceConfig config) {
+		this(connectionProvider, config.getBatchSize(), config.getFormAlpha());
+	}
+
+	public ScoreDAOImpl(ConnectionProvider connectionProvider) {
+		this(connectionProvider, DEFAULT_BATCH_SIZE);
+	}
+
+	public ScoreDAOImpl(ConnectionProvider connectionProvider, int batchSize) {
+		this(connectionProvider, batchSize, DataSourceConfig.DEFAULT_FORM_ALPHA);
+	}
+
+	/**
+	 * @param formAlpha weight of each new score in the form rating, in (0, 1];
+	 *                  larger values follow recent form more closely
+	 */
+	public ScoreDAOImpl(ConnectionProvider connectionProvider, int batchSize, double formAlpha) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
 		}
+		this.connectionProvider = connectionProvider;
+		this.batchSize = batchSize;
+		this.formAlpha = FormRatings.checkAlpha(formAlpha);
 	}
 
 	@Override
 	public void addScore(Score score) throws SQLException {
 		String query = "INSERT INTO Score (playerId, score) VALUES (?, ?)";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+				PreparedStatement formStatement = connection.prepareStatement(PUSH_FORM_QUERY)) {
+			connection.setAutoCommit(false);
+			try {
+				statement.setInt(1, score.getPlayerId());
+				statement.setInt(2, score.getScore());
+
+				int affectedRows = statement.executeUpdate();
+
+				if (affectedRows == 0) {
+					throw new SQLException("Adding score failed, no rows affected.");
+				}
+
+				try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+					if (generatedKeys.next()) {
+						score.setId(generatedKeys.getInt(1));
+					} else {
+						throw new SQLException("Adding score failed, no ID obtained.");
+					}
+				}
+
+				bindPushForm(formStatement, score);
+				formStatement.executeUpdate();
+
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
 
-			statement.setInt(1, score.getPlayerId());
-			statement.setInt(2, score.getScore());
+	/**
+	 * Inserts the scores in chunks of {@code batchSize}, each chunk sent as one
+	 * JDBC batch and committed as one transaction together with the matching
+	 * PlayerForm updates. With {@code rewriteBatchedStatements=true} on the
+	 * MySQL URL the driver sends each chunk as a multi-row INSERT. Generated ids
+	 * are written back to the scores in iteration order.
+	 */
+	@Override
+	public void addScores(Collection<Score> scores) throws SQLException {
+		if (scores.isEmpty()) {
+			return;
+		}
+
+		try (Connection connection = connectionProvider.getConnection()) {
+			connection.setAutoCommit(false);
+			try {
+				insertScores(connection, scores, true);
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
 
-			int affectedRows = statement.executeUpdate();
+	/**
+	 * Inserts the scores like {@link #addScores(Collection)} but commits them in
+	 * a single transaction together with the checkpoint row.
+	 */
+	@Override
+	public void addScores(Collection<Score> scores, String checkpointKey, String checkpoint) throws SQLException {
+		String checkpointQuery = "INSERT INTO ImportCheckpoint (importKey, checkpoint) VALUES (?, ?) "
+				+ "ON DUPLICATE KEY UPDATE checkpoint = VALUES(checkpoint)";
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement(checkpointQuery)) {
+			connection.setAutoCommit(false);
+			try {
+				insertScores(connection, scores, false);
+				statement.setString(1, checkpointKey);
+				statement.setString(2, checkpoint);
+				statement.executeUpdate();
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
 
-			if (affectedRows == 0) {
-				throw new SQLException("Adding score failed, no rows affected.");
+	private void insertScores(Connection connection, Collection<Score> scores, boolean commitChunks)
+			throws SQLException {
+		String query = "INSERT INTO Score (playerId, score) VALUES (?, ?)";
+		try (PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+				PreparedStatement formStatement = connection.prepareStatement(PUSH_FORM_QUERY)) {
+			Iterator<Score> iterator = scores.iterator();
+			List<Score> chunk = new ArrayList<>(Math.min(batchSize, scores.size()));
+
+			while (iterator.hasNext()) {
+				Score score = iterator.next();
+				statement.setInt(1, score.getPlayerId());
+				statement.setInt(2, score.getScore());
+				statement.addBatch();
+				bindPushForm(formStatement, score);
+				formStatement.addBatch();
+				chunk.add(score);
+
+				if (chunk.size() == batchSize || !iterator.hasNext()) {
+					statement.executeBatch();
+					assignGeneratedIds(statement, chunk);
+					formStatement.executeBatch();
+					if (commitChunks) {
+						connection.commit();
+					}
+					chunk.clear();
+				}
 			}
+		}
+	}
+
+	@Override
+	public String getCheckpoint(String checkpointKey) throws SQLException {
+		return JdbcQueries.queryFirst(connectionProvider, "SELECT checkpoint FROM ImportCheckpoint WHERE importKey = ?",
+				statement -> statement.setString(1, checkpointKey), resultSet -> resultSet.getString(1));
+	}
+
+	@Override
+	public void deleteCheckpoint(String checkpointKey) throws SQLException {
+		String query = "DELETE FROM ImportCheckpoint WHERE importKey = ?";
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, checkpointKey);
+			statement.executeUpdate();
+		}
+	}
+
+	@Override
+	public int getTransactionBatchSize() {
+		return batchSize;
+	}
 
-			try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-				if (generatedKeys.next()) {
-					score.setId(generatedKeys.getInt(1));
-				} else {
-					throw new SQLException("Adding score failed, no ID obtained.");
+	private void bindPushForm(PreparedStatement statement, Score score) throws SQLException {
+		statement.setInt(1, score.getPlayerId());
+		statement.setInt(2, score.getScore());
+		statement.setDouble(3, score.getScore());
+		statement.setDouble(4, formAlpha);
+		statement.setDouble(5, formAlpha);
+	}
+
+	private void assignGeneratedIds(PreparedStatement statement, List<Score> chunk) throws SQLException {
+		try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+			for (Score score : chunk) {
+				if (!generatedKeys.next()) {
+					throw new SQLException("Adding scores failed, no ID obtained.");
 				}
+				score.setId(generatedKeys.getInt(1));
 			}
 		}
 	}
@@ -62,16 +250,26 @@ public class ScoreDAOImpl implements ScoreDAO {
 	@Override
 	public void updateScore(Score score) throws SQLException {
 		String query = "UPDATE Score SET score = ? WHERE id = ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
+		try (Connection connection = connectionProvider.getConnection();
 				PreparedStatement statement = connection.prepareStatement(query)) {
+			connection.setAutoCommit(false);
+			try {
+				statement.setInt(1, score.getScore());
+				statement.setInt(2, score.getId());
 
-			statement.setInt(1, score.getScore());
-			statement.setInt(2, score.getId());
+				int affectedRows = statement.executeUpdate();
 
-			int affectedRows = statement.executeUpdate();
+				if (affectedRows == 0) {
+					throw new SQLException("Updating score failed, no rows affected.");
+				}
 
-			if (affectedRows == 0) {
-				throw new SQLException("Updating score failed, no rows affected.");
+				refreshPlayerForm(connection, findPlayerId(connection, score.getId()));
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
 			}
 		}
 	}
@@ -79,109 +277,244 @@ public class ScoreDAOImpl implements ScoreDAO {
 	@Override
 	public void deleteScore(Score score) throws SQLException {
 		String query = "DELETE FROM Score WHERE id = ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
+		try (Connection connection = connectionProvider.getConnection();
 				PreparedStatement statement = connection.prepareStatement(query)) {
+			connection.setAutoCommit(false);
+			try {
+				Integer playerId = findPlayerId(connection, score.getId());
+
+				statement.setInt(1, score.getId());
 
-			statement.setInt(1, score.getId());
+				int affectedRows = statement.executeUpdate();
 
-			int affectedRows = statement.executeUpdate();
+//				if (affectedRows == 0) {
+//					throw new SQLException("Deleting score failed, no rows affected.");
+//				}
 
-//			if (affectedRows == 0) {
-//				throw new SQLException("Deleting score failed, no rows affected.");
-//			}
+				if (affectedRows > 0 && playerId != null) {
+					refreshPlayerForm(connection, playerId);
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
 		}
 	}
 
-	@Override
-	public Score getScoreById(int id) throws SQLException {
-		String query = "SELECT * FROM Score WHERE id = ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query)) {
+	private Integer findPlayerId(Connection connection, int scoreId) throws SQLException {
+		String query = "SELECT playerId FROM Score WHERE id = ? FOR UPDATE";
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setInt(1, scoreId);
 
-			statement.setInt(1, id);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? resultSet.getInt(1) : null;
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the recent scores, count and form rating of a player after an
+	 * update or delete, which may have touched any score in the rating. The
+	 * form row is locked before the history is read, so a concurrent
+	 * {@link #addScore} pushes onto the recomputed row after this commits
+	 * instead of being overwritten by it.
+	 */
+	private void refreshPlayerForm(Connection connection, Integer playerId) throws SQLException {
+		if (playerId == null) {
+			return;
+		}
+
+		try (PreparedStatement statement = connection
+				.prepareStatement("SELECT playerId FROM PlayerForm WHERE playerId = ? FOR UPDATE")) {
+			statement.setInt(1, playerId);
+			statement.executeQuery().close();
+		}
+
+		Integer[] recentScores = new Integer[3];
+		double formRating = 0.0;
+		int scoreCount = 0;
+		String historyQuery = "SELECT score FROM Score WHERE playerId = ? ORDER BY id";
+		try (PreparedStatement statement = connection.prepareStatement(historyQuery)) {
+			statement.setInt(1, playerId);
 
 			try (ResultSet resultSet = statement.executeQuery()) {
-				if (resultSet.next()) {
-					Score score = new Score();
-					score.setId(resultSet.getInt("id"));
-					score.setPlayerId(resultSet.getInt("playerId"));
-					score.setScore(resultSet.getInt("score"));
-					return score;
+				for (; resultSet.next(); scoreCount++) {
+					int score = resultSet.getInt(1);
+					formRating = FormRatings.next(formRating, scoreCount, score, formAlpha);
+					recentScores[2] = recentScores[1];
+					recentScores[1] = recentScores[0];
+					recentScores[0] = score;
 				}
 			}
 		}
 
-		return null; // Score not found
+		String upsertQuery = "INSERT INTO PlayerForm "
+				+ "(playerId, recentScore1, recentScore2, recentScore3, scoreCount, formRating) "
+				+ "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE recentScore1 = VALUES(recentScore1), "
+				+ "recentScore2 = VALUES(recentScore2), recentScore3 = VALUES(recentScore3), "
+				+ "scoreCount = VALUES(scoreCount), formRating = VALUES(formRating)";
+		try (PreparedStatement statement = connection.prepareStatement(upsertQuery)) {
+			statement.setInt(1, playerId);
+			for (int i = 0; i < recentScores.length; i++) {
+				statement.setObject(i + 2, recentScores[i], Types.INTEGER);
+			}
+			statement.setInt(5, scoreCount);
+			statement.setDouble(6, formRating);
+			statement.executeUpdate();
+		}
 	}
 
 	@Override
-	public List<Score> getAllScores() throws SQLException {
-		String query = "SELECT * FROM Score";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query);
-				ResultSet resultSet = statement.executeQuery()) {
-
-			List<Score> scores = new ArrayList<>();
+	public Score getScoreById(int id) throws SQLException {
+		String query = "SELECT " + ScoreRowMapper.COLUMNS + " FROM Score WHERE id = ?";
+		return JdbcQueries.queryFirst(connectionProvider, query, statement -> statement.setInt(1, id),
+				ScoreRowMapper.INSTANCE);
+	}
 
-			while (resultSet.next()) {
-				Score score = new Score();
-				score.setId(resultSet.getInt("id"));
-				score.setPlayerId(resultSet.getInt("playerId"));
-				score.setScore(resultSet.getInt("score"));
-				scores.add(score);
-			}
+	@Override
+	public List<Score> getAllScores() throws SQLException {
+		String query = "SELECT " + ScoreRowMapper.COLUMNS + " FROM Score";
+		return JdbcQueries.query(connectionProvider, query, JdbcQueries.NO_PARAMETERS, ScoreRowMapper.INSTANCE);
+	}
 
-			return scores;
-		}
+	@Override
+	public Stream<Score> streamAllScores() throws SQLException {
+		return JdbcStreams.stream(connectionProvider,
+				"SELECT " + ScoreRowMapper.COLUMNS + " FROM Score ORDER BY id", ScoreRowMapper.INSTANCE);
 	}
 
 	@Override
 	public List<Score> getScoresByPlayerId(int playerId) throws SQLException {
-		String query = "SELECT * FROM Score WHERE playerId = ?";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
-				PreparedStatement statement = connection.prepareStatement(query)) {
+		String query = "SELECT " + ScoreRowMapper.COLUMNS + " FROM Score WHERE playerId = ? ORDER BY id";
+		return JdbcQueries.query(connectionProvider, query, statement -> statement.setInt(1, playerId),
+				ScoreRowMapper.INSTANCE);
+	}
 
+	@Override
+	public List<Score> getScoresByPlayerIdAfter(int playerId, int lastScoreId, int limit) throws SQLException {
+		String query = "SELECT " + ScoreRowMapper.COLUMNS
+				+ " FROM Score WHERE playerId = ? AND id > ? ORDER BY id LIMIT ?";
+		return JdbcQueries.query(connectionProvider, query, statement -> {
 			statement.setInt(1, playerId);
+			statement.setInt(2, lastScoreId);
+			statement.setInt(3, limit);
+		}, ScoreRowMapper.INSTANCE);
+	}
 
-			try (ResultSet resultSet = statement.executeQuery()) {
-				List<Score> scores = new ArrayList<>();
-
-				while (resultSet.next()) {
-					Score score = new Score();
-					score.setId(resultSet.getInt("id"));
-					score.setPlayerId(resultSet.getInt("playerId"));
-					score.setScore(resultSet.getInt("score"));
-					scores.add(score);
-				}
+	@Override
+	public double getAverageOfLastThreeScores(int playerId) throws SQLException {
+		PlayerForm form = getPlayerForm(playerId);
+		return form != null ? form.getLastThreeAverage() : 0.0;
+	}
+
+	@Override
+	public Map<Integer, Double> getAverageOfLastThreeScores(Collection<Integer> playerIds) throws SQLException {
+		Map<Integer, Double> averages = new HashMap<>();
+		for (Integer playerId : playerIds) {
+			if (playerId == null) {
+				throw new IllegalArgumentException("Player ids must not be null");
+			}
+			averages.put(playerId, 0.0);
+		}
+		if (averages.isEmpty()) {
+			return averages;
+		}
+
+		// One statement for any number of ids; a plain Statement keeps the
+		// one-off query text out of the connection's prepared statement cache.
+		String query = "SELECT " + PlayerFormRowMapper.COLUMNS + " FROM PlayerForm WHERE playerId IN ("
+				+ SqlFragments.literals(averages.keySet()) + ")";
+		try (Connection connection = connectionProvider.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(query)) {
 
-				return scores;
+			while (resultSet.next()) {
+				PlayerForm form = PlayerFormRowMapper.INSTANCE.mapRow(resultSet);
+				averages.put(form.getPlayerId(), form.getLastThreeAverage());
 			}
 		}
+
+		return averages;
 	}
 
 	@Override
-	public double getAverageOfLastThreeScores(int playerId) throws SQLException {
-		String query = "SELECT score FROM Score WHERE playerId = ? ORDER BY id DESC LIMIT 3";
-		try (Connection connection = DriverManager.getConnection(url, username, password);
+	public double getFormRating(int playerId) throws SQLException {
+		String query = "SELECT formRating FROM PlayerForm WHERE playerId = ?";
+		try (Connection connection = connectionProvider.getConnection();
 				PreparedStatement statement = connection.prepareStatement(query)) {
 
 			statement.setInt(1, playerId);
 
 			try (ResultSet resultSet = statement.executeQuery()) {
-				int sum = 0;
-				int count = 0;
-
-				while (resultSet.next()) {
-					sum += resultSet.getInt("score");
-					count++;
-				}
+				return resultSet.next() ? resultSet.getDouble(1) : 0.0;
+			}
+		}
+	}
 
-				if (count > 0) {
-					return (double) sum / count;
-				} else {
-					return 0.0;
-				}
+	/**
+	 * Rebuilds every form row with one set-based statement, and resets rows of
+	 * players whose scores are all gone, in one transaction.
+	 */
+	@Override
+	public void rebuildFormRatings() throws SQLException {
+		String resetQuery = "UPDATE PlayerForm SET recentScore1 = NULL, recentScore2 = NULL, recentScore3 = NULL, "
+				+ "scoreCount = 0, formRating = 0 "
+				+ "WHERE NOT EXISTS (SELECT 1 FROM Score WHERE Score.playerId = PlayerForm.playerId)";
+		String recordAlphaQuery = "INSERT INTO FormRatingConfig (id, alpha) VALUES (1, ?) "
+				+ "ON DUPLICATE KEY UPDATE alpha = VALUES(alpha)";
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement rebuildStatement = connection.prepareStatement(REBUILD_FORM_QUERY);
+				PreparedStatement resetStatement = connection.prepareStatement(resetQuery);
+				PreparedStatement recordAlphaStatement = connection.prepareStatement(recordAlphaQuery)) {
+			connection.setAutoCommit(false);
+			try {
+				rebuildStatement.setDouble(1, formAlpha);
+				rebuildStatement.setDouble(2, formAlpha);
+				rebuildStatement.executeUpdate();
+				resetStatement.executeUpdate();
+				recordAlphaStatement.setDouble(1, formAlpha);
+				recordAlphaStatement.executeUpdate();
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
 			}
 		}
 	}
+
+	/**
+	 * Rebuilds the form ratings if they were computed with a different decay
+	 * factor than this DAO's, or if the factor was never recorded, for example
+	 * after form.alpha changed between runs.
+	 *
+	 * @return whether the ratings were rebuilt
+	 */
+	public boolean rebuildFormRatingsIfAlphaChanged() throws SQLException {
+		List<Double> stored = JdbcQueries.query(connectionProvider, "SELECT alpha FROM FormRatingConfig WHERE id = 1",
+				JdbcQueries.NO_PARAMETERS, resultSet -> resultSet.getDouble(1));
+		if (!stored.isEmpty() && Double.compare(stored.get(0), formAlpha) == 0) {
+			return false;
+		}
+		rebuildFormRatings();
+		return true;
+	}
+
+	@Override
+	public PlayerForm getPlayerForm(int playerId) throws SQLException {
+		String query = "SELECT " + PlayerFormRowMapper.COLUMNS + " FROM PlayerForm WHERE playerId = ?";
+		return JdbcQueries.queryFirst(connectionProvider, query, statement -> statement.setInt(1, playerId),
+				PlayerFormRowMapper.INSTANCE);
+	}
+
+	@Override
+	public List<PlayerForm> getAllPlayerForms() throws SQLException {
+		String query = "SELECT " + PlayerFormRowMapper.COLUMNS + " FROM PlayerForm";
+		return JdbcQueries.query(connectionProvider, query, JdbcQueries.NO_PARAMETERS, PlayerFormRowMapper.INSTANCE);
+	}
+
 }
@@ -0,0 +1,25 @@
+package com.playersselectionapplication.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.playersselectionapplication.model.Score;
+
+/**
+ * Maps a row selected with {@link #COLUMNS} to a {@link Score}, reading
+ * columns by position rather than resolving names on every row.
+ */
+public final class ScoreRowMapper implements RowMapper<Score> {
+	/** The select list this mapper expects, in order. */
+	public static final String COLUMNS = "id, score, playerId";
+
+	public static final ScoreRowMapper INSTANCE = new ScoreRowMapper();
+
+	private ScoreRowMapper() {
+	}
+
+	@Override
+	public Score mapRow(ResultSet resultSet) throws SQLException {
+		return new Score(resultSet.getInt(1), resultSet.getInt(2), resultSet.getInt(3));
+	}
+}
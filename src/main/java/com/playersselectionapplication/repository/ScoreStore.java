@@ -0,0 +1,25 @@
+package com.playersselectionapplication.repository;
+
+/**
+ * {@link ScoreDAO} kept in this process rather than in the database, such as
+ * {@link InMemoryScoreStore} and {@link OffHeapScoreStore}. Snapshots load
+ * into it and {@link InMemoryPlayerDAO} removes a deleted player's scores
+ * from it.
+ */
+public interface ScoreStore extends ScoreDAO {
+	/**
+	 * Adds scores from parallel columns keeping their ids, for loading a
+	 * snapshot. Rows must be in ascending id order and newer than any score
+	 * already stored for the same player. Ids assigned afterwards continue
+	 * after the largest loaded id.
+	 */
+	void loadScores(int[] ids, int[] playerIds, int[] values, int count);
+
+	/**
+	 * Removes every score of the player, as deleting the player does in the
+	 * database.
+	 *
+	 * @return the number of scores removed
+	 */
+	int deleteScoresByPlayerId(int playerId);
+}
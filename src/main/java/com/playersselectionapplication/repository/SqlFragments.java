@@ -0,0 +1,38 @@
+package com.playersselectionapplication.repository;
+
+import java.util.Collection;
+
+/**
+ * Helpers for building SQL with variable-length IN lists.
+ */
+final class SqlFragments {
+	/**
+	 * Largest IN list sent in one statement; keeps statements well below the
+	 * server's packet and placeholder limits.
+	 */
+	static final int MAX_IN_LIST_SIZE = 1000;
+
+	private SqlFragments() {
+	}
+
+	static String placeholders(int count) {
+		StringBuilder builder = new StringBuilder(count * 3);
+		for (int i = 0; i < count; i++) {
+			builder.append(i == 0 ? "?" : ", ?");
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Comma-separated integer literals for an IN list. Integers cannot carry
+	 * SQL, so inlining them is safe, and it lifts the placeholder limit so a
+	 * list of any length fits in one statement.
+	 */
+	static String literals(Collection<Integer> values) {
+		StringBuilder builder = new StringBuilder(values.size() * 8);
+		for (Integer value : values) {
+			builder.append(builder.length() == 0 ? "" : ",").append(value.intValue());
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package com.playersselectionapplication.service;
+
+/**
+ * Point-in-time counters of a {@link ScoreIngestionQueue}. Latencies are in
+ * milliseconds.
+ */
+public class IngestionMetrics {
+	private final int queueDepth;
+	private final long enqueued;
+	private final long rejected;
+	private final long persisted;
+	private final long failed;
+	private final long batches;
+	private final double lastFlushMillis;
+	private final double averageFlushMillis;
+	private final double maxFlushMillis;
+
+	public IngestionMetrics(int queueDepth, long enqueued, long rejected, long persisted, long failed, long batches,
+			double lastFlushMillis, double averageFlushMillis, double maxFlushMillis) {
+		this.queueDepth = queueDepth;
+		this.enqueued = enqueued;
+		this.rejected = rejected;
+		this.persisted = persisted;
+		this.failed = failed;
+		this.batches = batches;
+		this.lastFlushMillis = lastFlushMillis;
+		this.averageFlushMillis = averageFlushMillis;
+		this.maxFlushMillis = maxFlushMillis;
+	}
+
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	public long getEnqueued() {
+		return enqueued;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public long getPersisted() {
+		return persisted;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public long getBatches() {
+		return batches;
+	}
+
+	public double getLastFlushMillis() {
+		return lastFlushMillis;
+	}
+
+	public double getAverageFlushMillis() {
+		return averageFlushMillis;
+	}
+
+	public double getMaxFlushMillis() {
+		return maxFlushMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "IngestionMetrics{" + "queueDepth=" + queueDepth + ", enqueued=" + enqueued + ", rejected=" + rejected
+				+ ", persisted=" + persisted + ", failed=" + failed + ", batches=" + batches + ", lastFlushMillis="
+				+ lastFlushMillis + ", averageFlushMillis=" + averageFlushMillis + ", maxFlushMillis="
+				+ maxFlushMillis + '}';
+	}
+}
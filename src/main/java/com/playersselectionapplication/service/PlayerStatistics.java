@@ -0,0 +1,80 @@
+package com.playersselectionapplication.service;
+
+/**
+ * Season statistics of one player from the {@link StatisticsEngine}. Without
+ * balls-faced data, the fifty-plus and duck rates stand in for strike rate.
+ */
+public class PlayerStatistics {
+	private final int playerId;
+	private final String name;
+	private final String domesticTeam;
+	private final int innings;
+	private final double mean;
+	private final double median;
+	private final double standardDeviation;
+	private final double fiftyPlusRate;
+	private final double duckRate;
+	private final double trend;
+
+	public PlayerStatistics(int playerId, String name, String domesticTeam, int innings, double mean, double median,
+			double standardDeviation, double fiftyPlusRate, double duckRate, double trend) {
+		this.playerId = playerId;
+		this.name = name;
+		this.domesticTeam = domesticTeam;
+		this.innings = innings;
+		this.mean = mean;
+		this.median = median;
+		this.standardDeviation = standardDeviation;
+		this.fiftyPlusRate = fiftyPlusRate;
+		this.duckRate = duckRate;
+		this.trend = trend;
+	}
+
+	public int getPlayerId() {
+		return playerId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDomesticTeam() {
+		return domesticTeam;
+	}
+
+	public int getInnings() {
+		return innings;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getMedian() {
+		return median;
+	}
+
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+
+	public double getFiftyPlusRate() {
+		return fiftyPlusRate;
+	}
+
+	public double getDuckRate() {
+		return duckRate;
+	}
+
+	public double getTrend() {
+		return trend;
+	}
+
+	@Override
+	public String toString() {
+		return "PlayerStatistics{" + "playerId=" + playerId + ", name=" + name + ", domesticTeam=" + domesticTeam
+				+ ", innings=" + innings + ", mean=" + mean + ", median=" + median + ", standardDeviation="
+				+ standardDeviation + ", fiftyPlusRate=" + fiftyPlusRate + ", duckRate=" + duckRate + ", trend="
+				+ trend + '}';
+	}
+}
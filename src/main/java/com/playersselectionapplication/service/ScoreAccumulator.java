@@ -0,0 +1,120 @@
+package com.playersselectionapplication.service;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable running statistics over a sequence of scores. Mean and variance
+ * are kept with Welford's update and combined with Chan's parallel formula;
+ * the scores themselves are kept in arrival order for the median and the
+ * form trend. Not thread-safe: parallel reductions give each thread its own
+ * accumulator and {@link #merge} them.
+ */
+final class ScoreAccumulator {
+	/** Most recent innings the form trend is fitted over. */
+	static final int TREND_WINDOW = 10;
+
+	static final int FIFTY = 50;
+
+	private int[] scores = new int[8];
+	private int count;
+	private double mean;
+	private double m2;
+	private int fiftyPlus;
+	private int ducks;
+
+	void add(int score) {
+		if (count == scores.length) {
+			scores = Arrays.copyOf(scores, count * 2);
+		}
+		scores[count++] = score;
+		double delta = score - mean;
+		mean += delta / count;
+		m2 += delta * (score - mean);
+		if (score >= FIFTY) {
+			fiftyPlus++;
+		} else if (score == 0) {
+			ducks++;
+		}
+	}
+
+	/**
+	 * Folds {@code other} into this accumulator; its scores are treated as
+	 * coming after this one's.
+	 */
+	ScoreAccumulator merge(ScoreAccumulator other) {
+		if (other.count == 0) {
+			return this;
+		}
+		int total = count + other.count;
+		double delta = other.mean - mean;
+		m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+		mean += delta * other.count / total;
+		if (total > scores.length) {
+			scores = Arrays.copyOf(scores, total);
+		}
+		System.arraycopy(other.scores, 0, scores, count, other.count);
+		count = total;
+		fiftyPlus += other.fiftyPlus;
+		ducks += other.ducks;
+		return this;
+	}
+
+	int getCount() {
+		return count;
+	}
+
+	double getMean() {
+		return mean;
+	}
+
+	/**
+	 * Population standard deviation of the scores.
+	 */
+	double getStandardDeviation() {
+		return count == 0 ? 0.0 : Math.sqrt(m2 / count);
+	}
+
+	double getMedian() {
+		if (count == 0) {
+			return 0.0;
+		}
+		int[] sorted = Arrays.copyOf(scores, count);
+		Arrays.sort(sorted);
+		int middle = count / 2;
+		return count % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+	}
+
+	double getFiftyPlusRate() {
+		return count == 0 ? 0.0 : (double) fiftyPlus / count;
+	}
+
+	double getDuckRate() {
+		return count == 0 ? 0.0 : (double) ducks / count;
+	}
+
+	/**
+	 * Least-squares slope of score against innings number over the last
+	 * {@link #TREND_WINDOW} innings, in runs per innings; positive when form
+	 * is improving. Zero with fewer than two innings.
+	 */
+	double getTrend() {
+		int n = Math.min(TREND_WINDOW, count);
+		if (n < 2) {
+			return 0.0;
+		}
+		double meanX = (n - 1) / 2.0;
+		double meanY = 0.0;
+		for (int i = count - n; i < count; i++) {
+			meanY += scores[i];
+		}
+		meanY /= n;
+		double covariance = 0.0;
+		double variance = 0.0;
+		for (int i = 0; i < n; i++) {
+			double dx = i - meanX;
+			covariance += dx * (scores[count - n + i] - meanY);
+			variance += dx * dx;
+		}
+		return covariance / variance;
+	}
+}
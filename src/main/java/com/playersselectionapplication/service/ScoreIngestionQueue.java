@@ -0,0 +1,232 @@
+package com.playersselectionapplication.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.ScoreDAO;
+
+/**
+ * Write-behind buffer for live score feeds. Callers enqueue scores into a
+ * bounded lock-free queue and get a future that completes, with the generated
+ * id set, once the score is committed. A single flusher thread drains the
+ * queue into {@link ScoreDAO#addScores} batches as soon as
+ * {@code maxBatchSize} scores are waiting or the oldest has waited
+ * {@code lingerMillis}, so a burst costs one commit per batch rather than one
+ * per score. {@code maxBatchSize} may not exceed the DAO's
+ * {@link ScoreDAO#getTransactionBatchSize() transaction batch size}, so a
+ * failed batch is rolled back whole; its scores are then retried one at a
+ * time and only those that fail again fail their futures.
+ */
+public class ScoreIngestionQueue implements AutoCloseable {
+	private final ScoreDAO scoreDAO;
+	private final int capacity;
+	private final int maxBatchSize;
+	private final long lingerNanos;
+
+	private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger depth = new AtomicInteger();
+	// Callers between checking running and offering; the flusher waits for them on close.
+	private final AtomicInteger enqueuing = new AtomicInteger();
+	private final Thread flusher;
+	private volatile boolean running = true;
+
+	private final AtomicLong enqueued = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong persisted = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong totalFlushNanos = new AtomicLong();
+	private volatile long lastFlushNanos;
+	private volatile long maxFlushNanos;
+
+	public ScoreIngestionQueue(ScoreDAO scoreDAO, int capacity, int maxBatchSize, long lingerMillis) {
+		if (capacity <= 0 || maxBatchSize <= 0 || lingerMillis < 0) {
+			throw new IllegalArgumentException("Capacity and batch size must be positive, linger not negative");
+		}
+		if (maxBatchSize > scoreDAO.getTransactionBatchSize()) {
+			throw new IllegalArgumentException("Batch size " + maxBatchSize + " exceeds the DAO transaction batch size "
+					+ scoreDAO.getTransactionBatchSize());
+		}
+		this.scoreDAO = scoreDAO;
+		this.capacity = capacity;
+		this.maxBatchSize = maxBatchSize;
+		this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+		this.flusher = new Thread(this::runFlusher, "score-ingestion-flusher");
+		this.flusher.setDaemon(true);
+		this.flusher.start();
+	}
+
+	/**
+	 * Queues the score for writing. The future fails with
+	 * {@link RejectedExecutionException} if the queue is full or closed, or
+	 * with the database error if its batch could not be committed.
+	 */
+	public CompletableFuture<Score> enqueue(Score score) {
+		CompletableFuture<Score> result = new CompletableFuture<>();
+		enqueuing.incrementAndGet();
+		try {
+			if (!running) {
+				return reject(result, "Score ingestion queue is closed");
+			}
+			if (!reserveSlot()) {
+				return reject(result, "Score ingestion queue is full (" + capacity + ")");
+			}
+			queue.offer(new Pending(score, result));
+			enqueued.incrementAndGet();
+		} finally {
+			enqueuing.decrementAndGet();
+		}
+
+		if (depth.get() >= maxBatchSize) {
+			LockSupport.unpark(flusher);
+		}
+		return result;
+	}
+
+	public IngestionMetrics getMetrics() {
+		long batchCount = batches.get();
+		return new IngestionMetrics(depth.get(), enqueued.get(), rejected.get(), persisted.get(), failed.get(),
+				batchCount, toMillis(lastFlushNanos),
+				batchCount == 0 ? 0.0 : toMillis(totalFlushNanos.get()) / batchCount, toMillis(maxFlushNanos));
+	}
+
+	/**
+	 * Stops accepting scores, writes everything already queued and waits for
+	 * the flusher to finish. If interrupted while waiting, scores the flusher
+	 * has not taken yet are failed instead.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(flusher);
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		Pending pending;
+		while ((pending = queue.poll()) != null) {
+			depth.decrementAndGet();
+			failed.incrementAndGet();
+			pending.result.completeExceptionally(new RejectedExecutionException("Score ingestion queue is closed"));
+		}
+	}
+
+	private CompletableFuture<Score> reject(CompletableFuture<Score> result, String message) {
+		rejected.incrementAndGet();
+		result.completeExceptionally(new RejectedExecutionException(message));
+		return result;
+	}
+
+	private boolean reserveSlot() {
+		while (true) {
+			int current = depth.get();
+			if (current >= capacity) {
+				return false;
+			}
+			if (depth.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private void runFlusher() {
+		while (running || enqueuing.get() > 0 || !queue.isEmpty()) {
+			Pending oldest = queue.peek();
+			if (oldest == null) {
+				LockSupport.parkNanos(this, Math.max(lingerNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+				continue;
+			}
+
+			long waited = System.nanoTime() - oldest.enqueuedAt;
+			if (running && depth.get() < maxBatchSize && waited < lingerNanos) {
+				LockSupport.parkNanos(this, lingerNanos - waited);
+				continue;
+			}
+
+			flush();
+		}
+	}
+
+	private void flush() {
+		List<Pending> batch = new ArrayList<>(maxBatchSize);
+		Pending pending;
+		while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+			batch.add(pending);
+		}
+		depth.addAndGet(-batch.size());
+
+		List<Score> scores = new ArrayList<>(batch.size());
+		for (Pending item : batch) {
+			scores.add(item.score);
+		}
+
+		long start = System.nanoTime();
+		try {
+			scoreDAO.addScores(scores);
+			recordFlush(System.nanoTime() - start);
+			persisted.addAndGet(batch.size());
+			for (Pending item : batch) {
+				item.result.complete(item.score);
+			}
+		} catch (Throwable e) {
+			recordFlush(System.nanoTime() - start);
+			if (batch.size() == 1) {
+				fail(batch.get(0), e);
+			} else {
+				// One bad score, such as an unknown player, should not fail the rest of the batch
+				for (Pending item : batch) {
+					writeOne(item);
+				}
+			}
+		}
+	}
+
+	private void writeOne(Pending item) {
+		try {
+			scoreDAO.addScore(item.score);
+			persisted.incrementAndGet();
+			item.result.complete(item.score);
+		} catch (Throwable e) {
+			fail(item, e);
+		}
+	}
+
+	private void fail(Pending item, Throwable error) {
+		failed.incrementAndGet();
+		item.result.completeExceptionally(error);
+	}
+
+	private void recordFlush(long elapsedNanos) {
+		batches.incrementAndGet();
+		totalFlushNanos.addAndGet(elapsedNanos);
+		lastFlushNanos = elapsedNanos;
+		if (elapsedNanos > maxFlushNanos) {
+			maxFlushNanos = elapsedNanos;
+		}
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static class Pending {
+		private final Score score;
+		private final CompletableFuture<Score> result;
+		private final long enqueuedAt = System.nanoTime();
+
+		private Pending(Score score, CompletableFuture<Score> result) {
+			this.score = score;
+			this.result = result;
+		}
+	}
+}
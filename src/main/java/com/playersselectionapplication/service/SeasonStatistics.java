@@ -0,0 +1,26 @@
+package com.playersselectionapplication.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a {@link StatisticsEngine} run: players ordered by id and teams
+ * ordered by name.
+ */
+public class SeasonStatistics {
+	private final List<PlayerStatistics> players;
+	private final List<TeamStatistics> teams;
+
+	public SeasonStatistics(List<PlayerStatistics> players, List<TeamStatistics> teams) {
+		this.players = Collections.unmodifiableList(players);
+		this.teams = Collections.unmodifiableList(teams);
+	}
+
+	public List<PlayerStatistics> getPlayers() {
+		return players;
+	}
+
+	public List<TeamStatistics> getTeams() {
+		return teams;
+	}
+}
@@ -0,0 +1,43 @@
+package com.playersselectionapplication.service;
+
+import com.playersselectionapplication.model.Player;
+
+/**
+ * A player chosen by the {@link SelectionEngine} with the figures it was
+ * ranked on.
+ */
+public class SelectedPlayer {
+	private final Player player;
+	private final double formAverage;
+	private final double formRating;
+	private final int innings;
+
+	public SelectedPlayer(Player player, double formAverage, double formRating, int innings) {
+		this.player = player;
+		this.formAverage = formAverage;
+		this.formRating = formRating;
+		this.innings = innings;
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	public double getFormAverage() {
+		return formAverage;
+	}
+
+	public double getFormRating() {
+		return formRating;
+	}
+
+	public int getInnings() {
+		return innings;
+	}
+
+	@Override
+	public String toString() {
+		return "SelectedPlayer{" + "player=" + player + ", formAverage=" + formAverage + ", formRating=" + formRating
+				+ ", innings=" + innings + '}';
+	}
+}
@@ -0,0 +1,61 @@
+package com.playersselectionapplication.service;
+
+/**
+ * Constraints for {@link SelectionEngine#selectSquad(SelectionCriteria)}.
+ */
+public class SelectionCriteria {
+	/**
+	 * Figure candidates are ranked on.
+	 */
+	public enum Ranking {
+		/** Plain average of the last three scores. */
+		LAST_THREE_AVERAGE,
+		/** Exponentially weighted rating over all scores. */
+		FORM_RATING
+	}
+
+	private final int squadSize;
+	private final int maxPerDomesticTeam;
+	private final int minInnings;
+	private final Ranking ranking;
+
+	/**
+	 * @param squadSize          number of players to select
+	 * @param maxPerDomesticTeam most players taken from one domestic team, or 0
+	 *                           for no limit
+	 * @param minInnings         fewest recorded scores a player needs to be
+	 *                           considered
+	 */
+	public SelectionCriteria(int squadSize, int maxPerDomesticTeam, int minInnings) {
+		this(squadSize, maxPerDomesticTeam, minInnings, Ranking.LAST_THREE_AVERAGE);
+	}
+
+	public SelectionCriteria(int squadSize, int maxPerDomesticTeam, int minInnings, Ranking ranking) {
+		if (squadSize <= 0) {
+			throw new IllegalArgumentException("Squad size must be positive");
+		}
+		if (maxPerDomesticTeam < 0 || minInnings < 0) {
+			throw new IllegalArgumentException("Constraints must not be negative");
+		}
+		this.squadSize = squadSize;
+		this.maxPerDomesticTeam = maxPerDomesticTeam;
+		this.minInnings = minInnings;
+		this.ranking = ranking == null ? Ranking.LAST_THREE_AVERAGE : ranking;
+	}
+
+	public int getSquadSize() {
+		return squadSize;
+	}
+
+	public int getMaxPerDomesticTeam() {
+		return maxPerDomesticTeam;
+	}
+
+	public int getMinInnings() {
+		return minInnings;
+	}
+
+	public Ranking getRanking() {
+		return ranking;
+	}
+}
@@ -0,0 +1,113 @@
+package com.playersselectionapplication.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.repository.PlayerDAO;
+import com.playersselectionapplication.repository.ScoreDAO;
+
+/**
+ * Picks the best players by the average of their last three scores or by
+ * their form rating, as the criteria ask.
+ *
+ * The forms of all players are read in one query into a map by player id,
+ * and the players are then streamed once and joined against it. Each domestic
+ * team keeps a min-heap of at most {@code min(cap, squadSize)} candidates, so
+ * the team cap is enforced while streaming; the survivors are then reduced to
+ * the squad with one more bounded heap. Memory is therefore dominated by the
+ * form map, one entry per player with scores; the players themselves are not
+ * held beyond the heaps.
+ */
+public class SelectionEngine {
+	/**
+	 * Best first: higher form average, then more innings, then lower id.
+	 */
+	private static final Comparator<SelectedPlayer> BY_LAST_THREE_AVERAGE = Comparator
+			.comparingDouble(SelectedPlayer::getFormAverage).reversed()
+			.thenComparing(Comparator.comparingInt(SelectedPlayer::getInnings).reversed())
+			.thenComparingInt(selected -> selected.getPlayer().getId());
+
+	/**
+	 * Best first: higher form rating, then the same tie-breaks as above.
+	 */
+	private static final Comparator<SelectedPlayer> BY_FORM_RATING = Comparator
+			.comparingDouble(SelectedPlayer::getFormRating).reversed().thenComparing(BY_LAST_THREE_AVERAGE);
+
+	private final PlayerDAO playerDAO;
+	private final ScoreDAO scoreDAO;
+
+	public SelectionEngine(PlayerDAO playerDAO, ScoreDAO scoreDAO) {
+		this.playerDAO = playerDAO;
+		this.scoreDAO = scoreDAO;
+	}
+
+	public List<SelectedPlayer> selectSquad(SelectionCriteria criteria) throws SQLException {
+		Map<Integer, PlayerForm> forms = new HashMap<>();
+		for (PlayerForm form : scoreDAO.getAllPlayerForms()) {
+			forms.put(form.getPlayerId(), form);
+		}
+
+		Comparator<SelectedPlayer> ranking = criteria.getRanking() == SelectionCriteria.Ranking.FORM_RATING
+				? BY_FORM_RATING
+				: BY_LAST_THREE_AVERAGE;
+		int squadSize = criteria.getSquadSize();
+		int perTeamLimit = criteria.getMaxPerDomesticTeam() == 0 ? squadSize
+				: Math.min(criteria.getMaxPerDomesticTeam(), squadSize);
+		Map<String, PriorityQueue<SelectedPlayer>> teamHeaps = new HashMap<>();
+
+		try (Stream<Player> players = playerDAO.streamAllPlayers()) {
+			Iterator<Player> iterator = players.iterator();
+			while (iterator.hasNext()) {
+				Player player = iterator.next();
+				PlayerForm form = forms.get(player.getId());
+				int innings = form != null ? form.getScoreCount() : 0;
+				if (innings < criteria.getMinInnings()) {
+					continue;
+				}
+
+				double average = form != null ? form.getLastThreeAverage() : 0.0;
+				double rating = form != null ? form.getFormRating() : 0.0;
+				String team = player.getDomesticTeam() == null ? ""
+						: player.getDomesticTeam().toLowerCase(Locale.ROOT);
+				PriorityQueue<SelectedPlayer> heap = teamHeaps.computeIfAbsent(team,
+						key -> new PriorityQueue<>(ranking.reversed()));
+				offer(heap, new SelectedPlayer(player, average, rating, innings), perTeamLimit, ranking);
+			}
+		}
+
+		PriorityQueue<SelectedPlayer> squad = new PriorityQueue<>(ranking.reversed());
+		for (PriorityQueue<SelectedPlayer> heap : teamHeaps.values()) {
+			for (SelectedPlayer candidate : heap) {
+				offer(squad, candidate, squadSize, ranking);
+			}
+		}
+
+		List<SelectedPlayer> selected = new ArrayList<>(squad);
+		selected.sort(ranking);
+		return selected;
+	}
+
+	/**
+	 * Adds the candidate to a worst-first heap, dropping the worst entry once
+	 * the heap holds more than {@code limit}.
+	 */
+	private static void offer(PriorityQueue<SelectedPlayer> heap, SelectedPlayer candidate, int limit,
+			Comparator<SelectedPlayer> ranking) {
+		if (heap.size() < limit) {
+			heap.add(candidate);
+		} else if (ranking.compare(candidate, heap.peek()) < 0) {
+			heap.poll();
+			heap.add(candidate);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.playersselectionapplication.service;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.PlayerDAO;
+import com.playersselectionapplication.repository.ScoreDAO;
+
+/**
+ * Computes season statistics over the whole Score table.
+ *
+ * Scores are streamed once in id order into two int columns, since a JDBC
+ * result set can only be read by one thread. The columns are then cut into
+ * chunks that are partitioned by player into {@link ScoreAccumulator}s in
+ * parallel on the fork-join common pool, and the chunk maps are merged in
+ * chunk order so each player's scores stay in id order. The per-player
+ * figures (median, trend) are computed in parallel too, and players are
+ * rolled up into their domestic teams by a parallel reduction that merges
+ * one accumulator per team and worker. Teams are grouped ignoring case.
+ */
+public class StatisticsEngine {
+	private static final int DEFAULT_CHUNK_ROWS = 1 << 16;
+
+	private final PlayerDAO playerDAO;
+	private final ScoreDAO scoreDAO;
+	private final int chunkRows;
+
+	public StatisticsEngine(PlayerDAO playerDAO, ScoreDAO scoreDAO) {
+		this(playerDAO, scoreDAO, DEFAULT_CHUNK_ROWS);
+	}
+
+	StatisticsEngine(PlayerDAO playerDAO, ScoreDAO scoreDAO, int chunkRows) {
+		this.playerDAO = playerDAO;
+		this.scoreDAO = scoreDAO;
+		this.chunkRows = chunkRows;
+	}
+
+	public SeasonStatistics compute() throws SQLException {
+		int[] playerIds = new int[1024];
+		int[] values = new int[1024];
+		int count = 0;
+		try (Stream<Score> scores = scoreDAO.streamAllScores()) {
+			Iterator<Score> iterator = scores.iterator();
+			while (iterator.hasNext()) {
+				Score score = iterator.next();
+				if (count == playerIds.length) {
+					playerIds = Arrays.copyOf(playerIds, count * 2);
+					values = Arrays.copyOf(values, count * 2);
+				}
+				playerIds[count] = score.getPlayerId();
+				values[count++] = score.getScore();
+			}
+		}
+		Map<Integer, ScoreAccumulator> scoresByPlayer = accumulate(playerIds, values, count);
+
+		Map<Integer, Player> players = new HashMap<>();
+		try (Stream<Player> stream = playerDAO.streamAllPlayers()) {
+			stream.filter(player -> scoresByPlayer.containsKey(player.getId()))
+					.forEach(player -> players.put(player.getId(), player));
+		}
+
+		List<PlayerStatistics> playerStatistics = scoresByPlayer.entrySet().parallelStream()
+				.map(entry -> toPlayerStatistics(entry.getKey(), players.get(entry.getKey()), entry.getValue()))
+				.sorted(Comparator.comparingInt(PlayerStatistics::getPlayerId))
+				.collect(Collectors.toList());
+
+		Collector<PlayerStatistics, TeamAccumulator, TeamAccumulator> rollup = Collector.of(TeamAccumulator::new,
+				(team, statistics) -> team.add(statistics, scoresByPlayer.get(statistics.getPlayerId())),
+				TeamAccumulator::merge);
+		Map<String, TeamAccumulator> teams = playerStatistics.parallelStream()
+				.filter(statistics -> statistics.getDomesticTeam() != null)
+				.collect(Collectors.groupingBy(statistics -> statistics.getDomesticTeam().toLowerCase(Locale.ROOT),
+						rollup));
+
+		List<TeamStatistics> teamStatistics = teams.values().stream()
+				.map(TeamAccumulator::toTeamStatistics)
+				.sorted(Comparator.comparing(TeamStatistics::getDomesticTeam, String.CASE_INSENSITIVE_ORDER))
+				.collect(Collectors.toList());
+
+		return new SeasonStatistics(playerStatistics, teamStatistics);
+	}
+
+	/**
+	 * Partitions the score columns by player, one chunk per task. The ordered
+	 * reduction merges a chunk only into the chunks before it.
+	 */
+	private Map<Integer, ScoreAccumulator> accumulate(int[] playerIds, int[] values, int count) {
+		int chunks = (int) ((count + (long) chunkRows - 1) / chunkRows);
+		return IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+			Map<Integer, ScoreAccumulator> byPlayer = new HashMap<>();
+			int end = (int) Math.min(count, (long) (chunk + 1) * chunkRows);
+			for (int i = chunk * chunkRows; i < end; i++) {
+				byPlayer.computeIfAbsent(playerIds[i], id -> new ScoreAccumulator()).add(values[i]);
+			}
+			return byPlayer;
+		}).reduce((earlier, later) -> {
+			later.forEach((playerId, scores) -> earlier.merge(playerId, scores, ScoreAccumulator::merge));
+			return earlier;
+		}).orElseGet(HashMap::new);
+	}
+
+	private static PlayerStatistics toPlayerStatistics(int playerId, Player player, ScoreAccumulator scores) {
+		return new PlayerStatistics(playerId, player != null ? player.getName() : null,
+				player != null ? player.getDomesticTeam() : null, scores.getCount(), scores.getMean(),
+				scores.getMedian(), scores.getStandardDeviation(), scores.getFiftyPlusRate(), scores.getDuckRate(),
+				scores.getTrend());
+	}
+
+	/**
+	 * Mergeable rollup of the players of one team. The display name is the
+	 * alphabetically first spelling seen, so the result does not depend on
+	 * how the work was split.
+	 */
+	private static final class TeamAccumulator {
+		private final ScoreAccumulator scores = new ScoreAccumulator();
+		private String domesticTeam;
+		private int players;
+		private double trendSum;
+
+		private void add(PlayerStatistics statistics, ScoreAccumulator playerScores) {
+			scores.merge(playerScores);
+			name(statistics.getDomesticTeam());
+			players++;
+			trendSum += statistics.getTrend();
+		}
+
+		private TeamAccumulator merge(TeamAccumulator other) {
+			scores.merge(other.scores);
+			name(other.domesticTeam);
+			players += other.players;
+			trendSum += other.trendSum;
+			return this;
+		}
+
+		private void name(String candidate) {
+			if (candidate != null && (domesticTeam == null || candidate.compareTo(domesticTeam) < 0)) {
+				domesticTeam = candidate;
+			}
+		}
+
+		private TeamStatistics toTeamStatistics() {
+			return new TeamStatistics(domesticTeam, players, scores.getCount(), scores.getMean(), scores.getMedian(),
+					scores.getStandardDeviation(), scores.getFiftyPlusRate(), scores.getDuckRate(),
+					players == 0 ? 0.0 : trendSum / players);
+		}
+	}
+}
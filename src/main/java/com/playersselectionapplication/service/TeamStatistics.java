@@ -0,0 +1,73 @@
+package com.playersselectionapplication.service;
+
+/**
+ * Statistics of every score by a domestic team's players. The trend is the
+ * mean of the players' form trends.
+ */
+public class TeamStatistics {
+	private final String domesticTeam;
+	private final int players;
+	private final int innings;
+	private final double mean;
+	private final double median;
+	private final double standardDeviation;
+	private final double fiftyPlusRate;
+	private final double duckRate;
+	private final double trend;
+
+	public TeamStatistics(String domesticTeam, int players, int innings, double mean, double median,
+			double standardDeviation, double fiftyPlusRate, double duckRate, double trend) {
+		this.domesticTeam = domesticTeam;
+		this.players = players;
+		this.innings = innings;
+		this.mean = mean;
+		this.median = median;
+		this.standardDeviation = standardDeviation;
+		this.fiftyPlusRate = fiftyPlusRate;
+		this.duckRate = duckRate;
+		this.trend = trend;
+	}
+
+	public String getDomesticTeam() {
+		return domesticTeam;
+	}
+
+	public int getPlayers() {
+		return players;
+	}
+
+	public int getInnings() {
+		return innings;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getMedian() {
+		return median;
+	}
+
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+
+	public double getFiftyPlusRate() {
+		return fiftyPlusRate;
+	}
+
+	public double getDuckRate() {
+		return duckRate;
+	}
+
+	public double getTrend() {
+		return trend;
+	}
+
+	@Override
+	public String toString() {
+		return "TeamStatistics{" + "domesticTeam=" + domesticTeam + ", players=" + players + ", innings=" + innings
+				+ ", mean=" + mean + ", median=" + median + ", standardDeviation=" + standardDeviation
+				+ ", fiftyPlusRate=" + fiftyPlusRate + ", duckRate=" + duckRate + ", trend=" + trend + '}';
+	}
+}
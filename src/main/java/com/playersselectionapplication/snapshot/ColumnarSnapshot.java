@@ -0,0 +1,367 @@
+package com.playersselectionapplication.snapshot;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.InMemoryPlayerDAO;
+import com.playersselectionapplication.repository.PlayerDAO;
+import com.playersselectionapplication.repository.ScoreDAO;
+import com.playersselectionapplication.repository.ScoreStore;
+
+/**
+ * Binary columnar snapshot of all players and scores, for warm starts without
+ * the database. The file is little-endian, written through one reusable
+ * buffer and memory-mapped on load:
+ *
+ * <pre>
+ * header    magic "PSSNAP", int version, int playerCount, int scoreCount,
+ *           int teamCount, int nameBytes
+ * teams     per team: int byte length, UTF-8 bytes; padded to 4 bytes
+ * players   int[] id, int[] team code (-1 for none), int[] average,
+ *           int[playerCount + 1] name offsets, UTF-8 name bytes,
+ *           byte[] flags (bit 0: null name); padded
+ * scores    int[] id, int[] playerId, int[] score, in ascending id order
+ * </pre>
+ */
+public final class ColumnarSnapshot {
+	private static final byte[] MAGIC = "PSSNAP".getBytes(StandardCharsets.US_ASCII);
+	private static final int VERSION = 2;
+	private static final int WRITE_BUFFER_BYTES = 1 << 16;
+	private static final byte[] PADDING = new byte[Integer.BYTES];
+	private static final byte NULL_NAME = 1;
+	private static final int HEADER_BYTES = MAGIC.length + 2 + 5 * Integer.BYTES;
+
+	private ColumnarSnapshot() {
+	}
+
+	/**
+	 * Writes every player and score to {@code file}, replacing it atomically.
+	 * Both tables are streamed; only the int columns are held in memory.
+	 */
+	public static SnapshotInfo export(PlayerDAO playerDAO, ScoreDAO scoreDAO, Path file)
+			throws SQLException, IOException {
+		long start = System.nanoTime();
+
+		Map<String, Integer> teamCodes = new HashMap<>();
+		List<byte[]> teams = new ArrayList<>();
+		IntColumn playerIds = new IntColumn();
+		IntColumn teamColumn = new IntColumn();
+		IntColumn averages = new IntColumn();
+		IntColumn nameOffsets = new IntColumn();
+		ByteColumn names = new ByteColumn();
+		ByteColumn flags = new ByteColumn();
+		nameOffsets.add(0);
+		try (Stream<Player> players = playerDAO.streamAllPlayers()) {
+			players.forEachOrdered(player -> {
+				playerIds.add(player.getId());
+				String team = player.getDomesticTeam();
+				teamColumn.add(team == null ? -1 : teamCodes.computeIfAbsent(team, key -> {
+					teams.add(key.getBytes(StandardCharsets.UTF_8));
+					return teams.size() - 1;
+				}));
+				averages.add(player.getAverage());
+				if (player.getName() != null) {
+					names.add(player.getName().getBytes(StandardCharsets.UTF_8));
+				}
+				nameOffsets.add(names.size);
+				flags.add(player.getName() == null ? NULL_NAME : 0);
+			});
+		}
+
+		IntColumn scoreIds = new IntColumn();
+		IntColumn scorePlayerIds = new IntColumn();
+		IntColumn values = new IntColumn();
+		try (Stream<Score> scores = scoreDAO.streamAllScores()) {
+			scores.forEachOrdered(score -> {
+				scoreIds.add(score.getId());
+				scorePlayerIds.add(score.getPlayerId());
+				values.add(score.getScore());
+			});
+		}
+
+		long teamBytes = 0;
+		for (byte[] team : teams) {
+			teamBytes += Integer.BYTES + team.length;
+		}
+		long size = HEADER_BYTES + align(teamBytes) + (long) Integer.BYTES * (4L * playerIds.size + 1)
+				+ align((long) names.size + flags.size) + (long) Integer.BYTES * 3 * scoreIds.size;
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("Snapshot of " + size + " bytes exceeds the 2 GB mapping limit of load");
+		}
+
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				ChannelWriter writer = new ChannelWriter(channel);
+				writer.put(MAGIC, 0, MAGIC.length);
+				writer.put(PADDING, 0, 2);
+				writer.putInt(VERSION);
+				writer.putInt(playerIds.size);
+				writer.putInt(scoreIds.size);
+				writer.putInt(teams.size());
+				writer.putInt(names.size);
+				for (byte[] team : teams) {
+					writer.putInt(team.length);
+					writer.put(team, 0, team.length);
+				}
+				writer.pad();
+				writer.putInts(playerIds);
+				writer.putInts(teamColumn);
+				writer.putInts(averages);
+				writer.putInts(nameOffsets);
+				writer.put(names.bytes, 0, names.size);
+				writer.put(flags.bytes, 0, flags.size);
+				writer.pad();
+				writer.putInts(scoreIds);
+				writer.putInts(scorePlayerIds);
+				writer.putInts(values);
+				writer.flush();
+				channel.force(true);
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+
+		return new SnapshotInfo(playerIds.size, scoreIds.size, teams.size(), size, elapsedMillis(start));
+	}
+
+	/**
+	 * Loads a snapshot into empty in-memory DAOs, keeping all ids.
+	 *
+	 * @throws IOException if the file is not a snapshot, or its counts do not
+	 *                     match its size
+	 */
+	public static SnapshotInfo load(Path file, InMemoryPlayerDAO playerDAO, ScoreStore scoreStore)
+			throws IOException {
+		long start = System.nanoTime();
+		long size;
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			size = channel.size();
+			if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+				throw new IOException("Not a snapshot file: " + file);
+			}
+			// The mapping stays valid after the channel is closed.
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		try {
+			byte[] magic = new byte[MAGIC.length];
+			buffer.get(magic).getShort();
+			int version = buffer.getInt();
+			if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+				throw new IOException("Unsupported snapshot format in " + file);
+			}
+			int playerCount = buffer.getInt();
+			int scoreCount = buffer.getInt();
+			int teamCount = buffer.getInt();
+			int nameBytes = buffer.getInt();
+			int flagBytes = playerCount;
+
+			// Check the counts against the file before allocating anything they size.
+			if (playerCount < 0 || scoreCount < 0 || teamCount < 0 || nameBytes < 0) {
+				throw corrupt(file, "negative count in header");
+			}
+			long minimumSize = HEADER_BYTES + (long) Integer.BYTES * teamCount
+					+ columnBytes(playerCount, nameBytes, flagBytes, scoreCount);
+			if (minimumSize > size) {
+				throw corrupt(file, "header counts need at least " + minimumSize + " bytes but found " + size);
+			}
+
+			String[] teams = new String[teamCount];
+			for (int i = 0; i < teamCount; i++) {
+				int length = buffer.getInt();
+				if (length < 0 || length > buffer.remaining()) {
+					throw corrupt(file, "team " + i + " has length " + length);
+				}
+				byte[] team = new byte[length];
+				buffer.get(team);
+				teams[i] = new String(team, StandardCharsets.UTF_8);
+			}
+			skipPadding(buffer);
+			long expectedSize = buffer.position() + columnBytes(playerCount, nameBytes, flagBytes, scoreCount);
+			if (expectedSize != size) {
+				throw corrupt(file, "expected " + expectedSize + " bytes but found " + size);
+			}
+
+			int[] ids = getInts(buffer, playerCount);
+			int[] teamCodes = getInts(buffer, playerCount);
+			int[] averages = getInts(buffer, playerCount);
+			int[] nameOffsets = getInts(buffer, playerCount + 1);
+			byte[] names = new byte[nameBytes];
+			buffer.get(names);
+			byte[] flags = new byte[flagBytes];
+			buffer.get(flags);
+			skipPadding(buffer);
+
+			List<Player> players = new ArrayList<>(playerCount);
+			for (int i = 0; i < playerCount; i++) {
+				String name = (flags[i] & NULL_NAME) != 0 ? null
+						: new String(names, nameOffsets[i], nameOffsets[i + 1] - nameOffsets[i],
+								StandardCharsets.UTF_8);
+				players.add(new Player(ids[i], name, teamCodes[i] < 0 ? null : teams[teamCodes[i]], averages[i]));
+			}
+			playerDAO.loadPlayers(players);
+
+			int[] scoreIds = getInts(buffer, scoreCount);
+			int[] scorePlayerIds = getInts(buffer, scoreCount);
+			int[] values = getInts(buffer, scoreCount);
+			scoreStore.loadScores(scoreIds, scorePlayerIds, values, scoreCount);
+
+			return new SnapshotInfo(playerCount, scoreCount, teamCount, size, elapsedMillis(start));
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt snapshot file: " + file, e);
+		}
+	}
+
+	/**
+	 * Size of the player and score sections, which follow the padded teams.
+	 */
+	private static long columnBytes(int playerCount, int nameBytes, int flagBytes, int scoreCount) {
+		return (long) Integer.BYTES * (4L * playerCount + 1) + align((long) nameBytes + flagBytes)
+				+ (long) Integer.BYTES * 3 * scoreCount;
+	}
+
+	private static IOException corrupt(Path file, String reason) {
+		return new IOException("Corrupt snapshot file: " + file + " (" + reason + ")");
+	}
+
+	private static int[] getInts(ByteBuffer buffer, int count) {
+		int[] values = new int[count];
+		IntBuffer view = buffer.asIntBuffer();
+		view.get(values);
+		skip(buffer, count * Integer.BYTES);
+		return values;
+	}
+
+	private static void skipPadding(ByteBuffer buffer) {
+		skip(buffer, (int) (align(buffer.position()) - buffer.position()));
+	}
+
+	private static void skip(ByteBuffer buffer, int bytes) {
+		// Cast keeps the Java 8 Buffer.position(int) signature.
+		((Buffer) buffer).position(buffer.position() + bytes);
+	}
+
+	private static long align(long bytes) {
+		return (bytes + Integer.BYTES - 1) / Integer.BYTES * Integer.BYTES;
+	}
+
+	private static long elapsedMillis(long startNanos) {
+		return (System.nanoTime() - startNanos) / 1_000_000L;
+	}
+
+	/**
+	 * Writes little-endian values to a channel through one reusable buffer,
+	 * counting the bytes written for padding.
+	 */
+	private static final class ChannelWriter {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		private long position;
+
+		private ChannelWriter(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		private void putInt(int value) throws IOException {
+			ensure(Integer.BYTES);
+			buffer.putInt(value);
+			position += Integer.BYTES;
+		}
+
+		private void putInts(IntColumn column) throws IOException {
+			for (int offset = 0; offset < column.size;) {
+				ensure(Integer.BYTES);
+				int count = Math.min(column.size - offset, buffer.remaining() / Integer.BYTES);
+				buffer.asIntBuffer().put(column.values, offset, count);
+				skip(buffer, count * Integer.BYTES);
+				offset += count;
+				position += (long) count * Integer.BYTES;
+			}
+		}
+
+		private void put(byte[] bytes, int offset, int length) throws IOException {
+			while (length > 0) {
+				ensure(1);
+				int count = Math.min(length, buffer.remaining());
+				buffer.put(bytes, offset, count);
+				offset += count;
+				length -= count;
+				position += count;
+			}
+		}
+
+		private void pad() throws IOException {
+			put(PADDING, 0, (int) (align(position) - position));
+		}
+
+		private void flush() throws IOException {
+			// Casts keep the Java 8 Buffer signatures.
+			((Buffer) buffer).flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			((Buffer) buffer).clear();
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+	}
+
+	private static final class IntColumn {
+		private int[] values = new int[1024];
+		private int size;
+
+		private void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size + (size >> 1));
+			}
+			values[size++] = value;
+		}
+	}
+
+	private static final class ByteColumn {
+		private byte[] bytes = new byte[4096];
+		private int size;
+
+		private void add(byte value) {
+			if (size == bytes.length) {
+				bytes = Arrays.copyOf(bytes, size + (size >> 1));
+			}
+			bytes[size++] = value;
+		}
+
+		private void add(byte[] value) {
+			if (size + value.length > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(size + value.length, size + (size >> 1)));
+			}
+			System.arraycopy(value, 0, bytes, size, value.length);
+			size += value.length;
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.playersselectionapplication.snapshot;
+
+/**
+ * Summary of a snapshot written or loaded by {@link ColumnarSnapshot}.
+ */
+public class SnapshotInfo {
+	private final int playerCount;
+	private final int scoreCount;
+	private final int teamCount;
+	private final long sizeBytes;
+	private final long elapsedMillis;
+
+	public SnapshotInfo(int playerCount, int scoreCount, int teamCount, long sizeBytes, long elapsedMillis) {
+		this.playerCount = playerCount;
+		this.scoreCount = scoreCount;
+		this.teamCount = teamCount;
+		this.sizeBytes = sizeBytes;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public int getPlayerCount() {
+		return playerCount;
+	}
+
+	public int getScoreCount() {
+		return scoreCount;
+	}
+
+	public int getTeamCount() {
+		return teamCount;
+	}
+
+	public long getSizeBytes() {
+		return sizeBytes;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "SnapshotInfo{" + "playerCount=" + playerCount + ", scoreCount=" + scoreCount + ", teamCount="
+				+ teamCount + ", sizeBytes=" + sizeBytes + ", elapsedMillis=" + elapsedMillis + '}';
+	}
+}
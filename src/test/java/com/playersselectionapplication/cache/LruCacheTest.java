@@ -0,0 +1,85 @@
+package com.playersselectionapplication.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LruCacheTest {
+
+	@Test
+	public void evictsLeastRecentlyUsedEntry() {
+		LruCache<Integer, String> cache = new LruCache<>(2, 60000L);
+		cache.put(1, "one");
+		cache.put(2, "two");
+		assertEquals("one", cache.get(1));
+		cache.put(3, "three");
+
+		assertNull(cache.get(2));
+		assertEquals("one", cache.get(1));
+		assertEquals("three", cache.get(3));
+		assertEquals(1, cache.getStats().getEvictions());
+	}
+
+	@Test
+	public void expiresEntriesAfterTimeToLive() throws InterruptedException {
+		LruCache<Integer, String> cache = new LruCache<>(10, 1L);
+		cache.put(1, "one");
+		Thread.sleep(5L);
+
+		assertNull(cache.get(1));
+		CacheStats stats = cache.getStats();
+		assertEquals(1, stats.getExpirations());
+		assertEquals(0, stats.getSize());
+	}
+
+	@Test
+	public void countsHitsAndMisses() {
+		LruCache<Integer, String> cache = new LruCache<>(10, 60000L);
+		cache.put(1, "one");
+		cache.get(1);
+		cache.get(1);
+		cache.get(2);
+
+		CacheStats stats = cache.getStats();
+		assertEquals(2, stats.getHits());
+		assertEquals(1, stats.getMisses());
+		assertEquals(2.0 / 3, stats.getHitRate(), 1e-9);
+	}
+
+	@Test
+	public void dropsLoadThatRacedAWrite() {
+		LruCache<Integer, String> cache = new LruCache<>(10, 60000L);
+		long generation = cache.generation(1);
+		cache.invalidate(1);
+
+		assertFalse(cache.putIfGeneration(1, "stale", generation));
+		assertNull(cache.get(1));
+		assertTrue(cache.putIfGeneration(1, "fresh", cache.generation(1)));
+		assertEquals("fresh", cache.get(1));
+
+		generation = cache.generation(1);
+		cache.invalidateAll();
+		assertFalse(cache.putIfGeneration(1, "stale", generation));
+	}
+
+	@Test
+	public void keepsInterleavedFillsOfDifferentKeys() {
+		LruCache<Integer, String> cache = new LruCache<>(10, 60000L);
+		long first = cache.generation(1);
+		long second = cache.generation(2);
+		cache.invalidate(3);
+
+		assertTrue(cache.putIfGeneration(1, "one", first));
+		assertTrue(cache.putIfGeneration(2, "two", second));
+		assertEquals("one", cache.get(1));
+		assertEquals("two", cache.get(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveSize() {
+		new LruCache<Integer, String>(0, 1000L);
+	}
+}
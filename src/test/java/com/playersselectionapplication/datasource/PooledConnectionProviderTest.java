@@ -0,0 +1,82 @@
+package com.playersselectionapplication.datasource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class PooledConnectionProviderTest {
+	private PooledConnectionProvider pool;
+
+	@After
+	public void closePool() {
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	@Test
+	public void fillsMinIdleInTheBackground() throws Exception {
+		pool = new PooledConnectionProvider(PooledConnectionProviderTest::fakeConnection, 4, 2, 1000L, 60000L, 1);
+		long deadline = System.currentTimeMillis() + 5000L;
+		while (pool.getStats().getIdle() < 2 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10L);
+		}
+		assertEquals(2, pool.getStats().getIdle());
+		assertEquals(2, pool.getStats().getCreated());
+	}
+
+	@Test
+	public void restoresSessionStateOnRelease() throws Exception {
+		pool = new PooledConnectionProvider(PooledConnectionProviderTest::fakeConnection, 1, 0, 1000L, 60000L, 1);
+		try (Connection connection = pool.getConnection()) {
+			connection.setReadOnly(true);
+			connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+			connection.setCatalog("other");
+			connection.setAutoCommit(false);
+		}
+		try (Connection connection = pool.getConnection()) {
+			assertFalse(connection.isReadOnly());
+			assertEquals(Connection.TRANSACTION_REPEATABLE_READ, connection.getTransactionIsolation());
+			assertEquals("main", connection.getCatalog());
+			assertTrue(connection.getAutoCommit());
+		}
+		assertEquals(1, pool.getStats().getCreated());
+	}
+
+	/** A connection that only remembers its session settings. */
+	static Connection fakeConnection() {
+		Map<String, Object> state = new HashMap<>();
+		state.put("ReadOnly", false);
+		state.put("TransactionIsolation", Connection.TRANSACTION_REPEATABLE_READ);
+		state.put("Catalog", "main");
+		state.put("AutoCommit", true);
+		state.put("Closed", false);
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					String name = method.getName();
+					if (name.startsWith("set")) {
+						state.put(name.substring(3), args[0]);
+						return null;
+					}
+					if (name.startsWith("get") || name.startsWith("is")) {
+						String key = name.substring(name.startsWith("get") ? 3 : 2);
+						if (state.containsKey(key)) {
+							return state.get(key);
+						}
+						return "isValid".equals(name) ? Boolean.TRUE : null;
+					}
+					if ("close".equals(name)) {
+						state.put("Closed", true);
+					}
+					return null;
+				});
+	}
+}
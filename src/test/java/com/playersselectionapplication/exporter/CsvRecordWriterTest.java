@@ -0,0 +1,93 @@
+package com.playersselectionapplication.exporter;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class CsvRecordWriterTest {
+	@Test
+	public void quotesFieldsAsRfc4180() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (CsvRecordWriter writer = new CsvRecordWriter(out, new String[] { "id", "name" })) {
+			writeRow(writer, 1, "plain");
+			writeRow(writer, 2, "a,b");
+			writeRow(writer, 3, "say \"hi\"");
+			writeRow(writer, 4, "two\nlines");
+			writeRow(writer, 5, "cr\r");
+			writeRow(writer, 6, "\"");
+			writeRow(writer, 7, "");
+			writeRow(writer, 8, null);
+		}
+
+		assertBytes("id,name\n1,plain\n2,\"a,b\"\n3,\"say \"\"hi\"\"\"\n4,\"two\nlines\"\n"
+				+ "5,\"cr\r\"\n6,\"\"\"\"\n7,\n8,\n", out);
+	}
+
+	@Test
+	public void writesIntegersAtTheirLimits() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int[] values = { 0, 9, 10, -1, -10, 1_000_000, Integer.MAX_VALUE, Integer.MIN_VALUE };
+		StringBuilder expected = new StringBuilder("value\n");
+		try (CsvRecordWriter writer = new CsvRecordWriter(out, new String[] { "value" })) {
+			for (int value : values) {
+				writer.writeInt(value);
+				writer.endRecord();
+				expected.append(value).append('\n');
+			}
+		}
+
+		assertBytes(expected.toString(), out);
+	}
+
+	@Test
+	public void encodesUtf8LikeStringGetBytes() throws Exception {
+		String[] names = { "\u00e9", "\u0110o\u00e0n", "\u20ac", "\ud83c\udfcf", "\ud83c", "x\udfcfy", "\ud83cx",
+				"end\ud83c" };
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		StringBuilder expected = new StringBuilder("name\n");
+		try (CsvRecordWriter writer = new CsvRecordWriter(out, new String[] { "name" })) {
+			for (String name : names) {
+				writer.writeString(name);
+				writer.endRecord();
+				expected.append(name).append('\n');
+			}
+		}
+
+		assertBytes(expected.toString(), out);
+	}
+
+	@Test
+	public void flushesFieldsLongerThanTheBuffer() throws Exception {
+		StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 50_000; i++) {
+			value.append(i % 3 == 0 ? "\u20ac" : i % 3 == 1 ? "\ud83c\udfcf" : "\"");
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (CsvRecordWriter writer = new CsvRecordWriter(out, new String[] { "id", "name" })) {
+			for (int i = 0; i < 3; i++) {
+				writeRow(writer, Integer.MIN_VALUE + i, value.toString());
+			}
+		}
+
+		StringBuilder expected = new StringBuilder("id,name\n");
+		String quoted = '"' + value.toString().replace("\"", "\"\"") + '"';
+		for (int i = 0; i < 3; i++) {
+			expected.append(Integer.MIN_VALUE + i).append(',').append(quoted).append('\n');
+		}
+		assertBytes(expected.toString(), out);
+	}
+
+	private static void writeRow(CsvRecordWriter writer, int id, String name) throws IOException {
+		writer.writeInt(id);
+		writer.writeString(name);
+		writer.endRecord();
+	}
+
+	private static void assertBytes(String expected, ByteArrayOutputStream out) {
+		assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+	}
+}
@@ -0,0 +1,228 @@
+package com.playersselectionapplication.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.repository.DaoExecutor;
+import com.playersselectionapplication.repository.InMemoryPlayerDAO;
+import com.playersselectionapplication.repository.InMemoryScoreStore;
+import com.playersselectionapplication.repository.PlayerDAO;
+
+public class ApiServerTest {
+	private final InMemoryScoreStore scores = new InMemoryScoreStore();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private DaoExecutor daoExecutor;
+	private ApiServer server;
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		if (server != null) {
+			server.close();
+		}
+		if (daoExecutor != null) {
+			daoExecutor.close();
+		}
+	}
+
+	@Test
+	public void createsAndReadsPlayersAndScores() throws Exception {
+		start(new InMemoryPlayerDAO(scores), new DaoExecutor(2, 4, 5000L));
+
+		Reply created = send("POST", "/players", "{\"name\": \"Virat\", \"domesticTeam\": \"Delhi\", \"average\": 99}");
+		assertEquals(201, created.status);
+		assertTrue(created.body, created.body.contains("\"average\":0"));
+		assertEquals(200, send("GET", "/players/1", null).status);
+		assertEquals(201, send("POST", "/scores", "{\"playerId\": 1, \"score\": 82}").status);
+		assertTrue(send("GET", "/players/1/scores", null).body.contains("\"score\":82"));
+		assertEquals(200, send("PUT", "/players/1", "{\"name\": \"Kohli\", \"domesticTeam\": \"Delhi\"}").status);
+		assertEquals(204, send("DELETE", "/scores/1", null).status);
+		assertEquals(404, send("GET", "/players/2", null).status);
+		assertEquals(404, send("POST", "/scores", "{\"playerId\": 2, \"score\": 1}").status);
+		assertEquals(404, send("GET", "/teams", null).status);
+	}
+
+	@Test
+	public void rejectsInvalidRequestsWith400() throws Exception {
+		start(new InMemoryPlayerDAO(scores), new DaoExecutor(2, 4, 5000L));
+		send("POST", "/players", "{\"name\": \"Virat\", \"domesticTeam\": \"Delhi\"}");
+
+		assertEquals(400, send("POST", "/players", "{\"name\": \"Abcdefghijk\", \"domesticTeam\": \"Delhi\"}").status);
+		assertEquals(400, send("POST", "/players", "{\"name\": \"Virat\"}").status);
+		assertEquals(400, send("PUT", "/players/1", "{\"name\": \"Abcdefghijk\", \"domesticTeam\": \"Delhi\"}").status);
+		assertEquals(400, send("POST", "/scores", "{\"playerId\": 1, \"score\": -1}").status);
+		assertEquals(400, send("POST", "/scores", "{\"playerId\": 1, ").status);
+		assertEquals(400, send("GET", "/players/abc", null).status);
+		assertEquals(400, send("GET", "/players?limit=0", null).status);
+		assertEquals(0, scores.getAllScores().size());
+	}
+
+	@Test
+	public void answersWrongMethodsWith405AndAllow() throws Exception {
+		start(new InMemoryPlayerDAO(scores), new DaoExecutor(2, 4, 5000L));
+
+		Reply players = send("DELETE", "/players", null);
+		assertEquals(405, players.status);
+		assertEquals("GET, POST", players.allow);
+		Reply player = send("POST", "/players/1", null);
+		assertEquals(405, player.status);
+		assertEquals("GET, PUT, DELETE", player.allow);
+		assertEquals("POST", send("GET", "/scores", null).allow);
+		assertEquals("GET", send("POST", "/health", null).allow);
+	}
+
+	@Test
+	public void rejectsCallsBeyondTheInFlightLimitWith503() throws Exception {
+		start(blockingPlayerDAO(), new DaoExecutor(1, 1, 5000L));
+		ExecutorService client = Executors.newSingleThreadExecutor();
+		try {
+			Future<Reply> blocked = client.submit(() -> send("GET", "/players/1", null));
+			while (daoExecutor.getInFlight() == 0) {
+				Thread.sleep(5);
+			}
+
+			Reply rejected = send("GET", "/players/2", null);
+			assertEquals(503, rejected.status);
+			assertEquals("1", rejected.retryAfter);
+
+			release.countDown();
+			assertEquals(404, blocked.get(5, TimeUnit.SECONDS).status);
+		} finally {
+			client.shutdownNow();
+		}
+	}
+
+	@Test
+	public void answersCallsOverTheTimeoutWith504() throws Exception {
+		start(blockingPlayerDAO(), new DaoExecutor(1, 1, 100L));
+
+		assertEquals(504, send("GET", "/players/1", null).status);
+	}
+
+	@Test
+	public void hidesUnexpectedErrorsBehindAGeneric500() throws Exception {
+		start(new InMemoryPlayerDAO(scores) {
+			@Override
+			public Player getPlayerById(int id) {
+				throw new IllegalStateException("secret detail");
+			}
+		}, new DaoExecutor(1, 1, 5000L));
+
+		Reply reply = send("GET", "/players/1", null);
+		assertEquals(500, reply.status);
+		assertEquals("{\"error\":\"Internal error\"}", reply.body);
+		assertFalse(reply.body.contains("secret"));
+	}
+
+	@Test
+	public void hidesDatabaseErrorsAndMapsConstraintViolationsTo409() throws Exception {
+		start(new InMemoryPlayerDAO(scores) {
+			@Override
+			public Player getPlayerById(int id) throws SQLException {
+				throw new SQLException("Table 'secret.Player' doesn't exist", "42S02");
+			}
+
+			@Override
+			public void addPlayer(Player player) throws SQLException {
+				throw new SQLException("Duplicate entry for key 'secret'", "23000");
+			}
+		}, new DaoExecutor(1, 1, 5000L));
+
+		Reply failed = send("GET", "/players/1", null);
+		assertEquals(500, failed.status);
+		assertEquals("{\"error\":\"Internal error\"}", failed.body);
+		Reply conflict = send("POST", "/players", "{\"name\": \"Virat\", \"domesticTeam\": \"Delhi\"}");
+		assertEquals(409, conflict.status);
+		assertFalse(conflict.body.contains("secret"));
+	}
+
+	private PlayerDAO blockingPlayerDAO() {
+		return new InMemoryPlayerDAO(scores) {
+			@Override
+			public Player getPlayerById(int id) throws SQLException {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getPlayerById(id);
+			}
+		};
+	}
+
+	private void start(PlayerDAO playerDAO, DaoExecutor executor) throws IOException {
+		daoExecutor = executor;
+		server = new ApiServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), playerDAO, scores,
+				executor, null);
+		server.start();
+	}
+
+	private Reply send(String method, String path, String body) throws IOException {
+		URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), path);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			connection.setRequestMethod(method);
+			if (body != null) {
+				connection.setDoOutput(true);
+				try (OutputStream outputStream = connection.getOutputStream()) {
+					outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+				}
+			}
+			int status = connection.getResponseCode();
+			InputStream inputStream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+			return new Reply(status, read(inputStream), connection.getHeaderField("Allow"),
+					connection.getHeaderField("Retry-After"));
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	private static String read(InputStream inputStream) throws IOException {
+		if (inputStream == null) {
+			return "";
+		}
+		try (InputStream in = inputStream) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+				bytes.write(buffer, 0, read);
+			}
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static final class Reply {
+		private final int status;
+		private final String body;
+		private final String allow;
+		private final String retryAfter;
+
+		private Reply(int status, String body, String allow, String retryAfter) {
+			this.status = status;
+			this.body = body;
+			this.allow = allow;
+			this.retryAfter = retryAfter;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.playersselectionapplication.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class CsvRowParserTest {
+	@Test
+	public void mapsColumnsByHeader() {
+		CsvRowParser parser = CsvRowParser.fromHeader(" Score ,domesticteam,NAME");
+		ImportRow row = parser.parse("82,Delhi,Virat");
+
+		assertEquals("Virat", row.getName());
+		assertEquals("Delhi", row.getDomesticTeam());
+		assertEquals(82, row.getScore());
+	}
+
+	@Test
+	public void unquotesFieldsWithCommasAndDoubledQuotes() {
+		CsvRowParser parser = CsvRowParser.fromHeader("name,domesticTeam,score");
+		ImportRow row = parser.parse("\"O\"\"Neil\",\"Delhi, North\", 7 ");
+
+		assertEquals("O\"Neil", row.getName());
+		assertEquals("Delhi, North", row.getDomesticTeam());
+		assertEquals(7, row.getScore());
+	}
+
+	@Test
+	public void rejectsMissingColumnInHeader() {
+		expectFailure(() -> CsvRowParser.fromHeader("name,score"), "CSV header has no domesticTeam column");
+	}
+
+	@Test
+	public void rejectsMalformedRows() {
+		CsvRowParser parser = CsvRowParser.fromHeader("name,domesticTeam,score");
+
+		expectFailure(() -> parser.parse("\"Virat,Delhi,82"), "Unterminated quoted field");
+		expectFailure(() -> parser.parse("Virat,Delhi,8.5"), "Score is not a whole number: 8.5");
+		expectFailure(() -> parser.parse("Virat,Delhi"), "Missing score");
+		expectFailure(() -> parser.parse("Virat,Delhi,-1"), "Score must not be negative: -1");
+		expectFailure(() -> parser.parse("Virat," + repeat('x', 256) + ",82"),
+				"Domestic team longer than 255 characters");
+	}
+
+	private static String repeat(char c, int count) {
+		StringBuilder text = new StringBuilder(count);
+		for (int i = 0; i < count; i++) {
+			text.append(c);
+		}
+		return text.toString();
+	}
+
+	private static void expectFailure(Runnable action, String message) {
+		try {
+			action.run();
+			fail("Expected " + message);
+		} catch (IllegalArgumentException e) {
+			assertEquals(message, e.getMessage());
+		}
+	}
+}
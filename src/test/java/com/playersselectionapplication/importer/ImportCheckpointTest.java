@@ -0,0 +1,97 @@
+package com.playersselectionapplication.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImportCheckpointTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void roundTripsThroughItsEncoding() throws Exception {
+		Path file = write(lines(1000));
+		ImportCheckpoint checkpoint = ImportCheckpoint.of(file, 6000, 501, 500, 12);
+
+		ImportCheckpoint decoded = ImportCheckpoint.decode(checkpoint.encode());
+		assertEquals(6000, decoded.getOffset());
+		assertEquals(501, decoded.getLineNumber());
+		assertEquals(500, decoded.getRows());
+		assertEquals(12, decoded.getPlayersCreated());
+		assertEquals(checkpoint.encode(), decoded.encode());
+		decoded.verify(file);
+	}
+
+	@Test
+	public void acceptsAppendedRows() throws Exception {
+		String contents = lines(1000);
+		Path file = write(contents);
+		ImportCheckpoint checkpoint = ImportCheckpoint.of(file, contents.length(), 1001, 1000, 3);
+
+		write(file, contents + "extra,Delhi,1\n");
+		checkpoint.verify(file);
+	}
+
+	@Test
+	public void rejectsAFileChangedBeforeTheOffset() throws Exception {
+		String contents = lines(1000);
+		Path file = write(contents);
+		ImportCheckpoint checkpoint = ImportCheckpoint.of(file, contents.length() - 10, 999, 998, 0);
+
+		write(file, contents.replace("name0,", "nameX,"));
+		expectChanged(checkpoint, file);
+		write(file, contents.substring(0, 2000) + "x" + contents.substring(2001));
+		expectChanged(checkpoint, file);
+		int tail = contents.length() - 1000;
+		write(file, contents.substring(0, tail) + "x" + contents.substring(tail + 1));
+		expectChanged(checkpoint, file);
+		write(file, contents.substring(0, 100));
+		expectChanged(checkpoint, file);
+	}
+
+	@Test
+	public void rejectsCorruptEncodings() {
+		for (String value : new String[] { "", "1,2,3", "1,2,3,4,5,6,7", "1,2,x,4,5,6", "1,2,3,4,zz,6" }) {
+			try {
+				ImportCheckpoint.decode(value);
+				fail("Decoded " + value);
+			} catch (IOException e) {
+				assertTrue(e.getMessage().startsWith("Corrupt import checkpoint"));
+			}
+		}
+	}
+
+	private void expectChanged(ImportCheckpoint checkpoint, Path file) {
+		try {
+			checkpoint.verify(file);
+			fail("Verified a changed file");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("--restart"));
+		}
+	}
+
+	private static String lines(int count) {
+		StringBuilder lines = new StringBuilder("name,domesticTeam,score\n");
+		for (int i = 0; i < count; i++) {
+			lines.append("name").append(i % 10).append(",Delhi,").append(i % 100).append('\n');
+		}
+		return lines.toString();
+	}
+
+	private Path write(String contents) throws IOException {
+		return write(folder.newFile().toPath(), contents);
+	}
+
+	private static Path write(Path file, String contents) throws IOException {
+		return Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+	}
+}
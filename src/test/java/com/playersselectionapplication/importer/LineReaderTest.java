@@ -0,0 +1,75 @@
+package com.playersselectionapplication.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LineReaderTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void dropsByteOrderMarkAndCarriageReturns() throws Exception {
+		Path file = write(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF },
+				"name\r\n\u0110o\u00e0n\r\n\r\nlast".getBytes(StandardCharsets.UTF_8));
+
+		try (LineReader reader = new LineReader(file)) {
+			assertEquals("name", reader.readLine());
+			assertEquals("\u0110o\u00e0n", reader.readLine());
+			assertEquals("", reader.readLine());
+			assertEquals("last", reader.readLine());
+			assertNull(reader.readLine());
+			assertEquals(Files.size(file), reader.position());
+		}
+	}
+
+	@Test
+	public void seeksBackToAReportedPosition() throws Exception {
+		Path file = write("a\nbb\nccc\n".getBytes(StandardCharsets.UTF_8));
+
+		try (LineReader reader = new LineReader(file)) {
+			reader.readLine();
+			long afterFirst = reader.position();
+			assertEquals(2, afterFirst);
+			reader.readLine();
+			reader.readLine();
+
+			reader.seek(afterFirst);
+			assertEquals("bb", reader.readLine());
+			assertEquals(5, reader.position());
+			assertEquals("ccc", reader.readLine());
+			assertNull(reader.readLine());
+		}
+	}
+
+	@Test
+	public void readsLinesLongerThanTheBuffer() throws Exception {
+		StringBuilder longLine = new StringBuilder();
+		for (int i = 0; i < 200_000; i++) {
+			longLine.append((char) ('a' + i % 26));
+		}
+		Path file = write((longLine + "\nshort").getBytes(StandardCharsets.UTF_8));
+
+		try (LineReader reader = new LineReader(file)) {
+			assertEquals(longLine.toString(), reader.readLine());
+			assertEquals(200_001, reader.position());
+			assertEquals("short", reader.readLine());
+		}
+	}
+
+	private Path write(byte[]... parts) throws Exception {
+		Path file = folder.newFile().toPath();
+		for (byte[] part : parts) {
+			Files.write(file, part, StandardOpenOption.APPEND);
+		}
+		return file;
+	}
+}
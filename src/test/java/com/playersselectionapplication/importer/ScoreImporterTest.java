@@ -0,0 +1,150 @@
+package com.playersselectionapplication.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.playersselectionapplication.repository.InMemoryPlayerDAO;
+import com.playersselectionapplication.repository.InMemoryScoreStore;
+
+public class ScoreImporterTest {
+	private static final String HEADER = "name,domesticTeam,score\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private InMemoryScoreStore scores;
+	private InMemoryPlayerDAO players;
+	private ScoreImporter importer;
+
+	@Before
+	public void setUp() {
+		scores = new InMemoryScoreStore();
+		players = new InMemoryPlayerDAO(scores);
+		importer = new ScoreImporter(players, scores, 2);
+	}
+
+	@Test
+	public void importsRowsAndMatchesPlayersByNameAndTeam() throws Exception {
+		Path file = write(HEADER + "Virat,Delhi,82\nRohit,Mumbai,40\nvirat,DELHI,7\n\nVirat,Mumbai,1\n");
+
+		ImportProgress result = importer.importFile(file, ImportFormat.CSV, false, progress -> {
+		});
+
+		assertEquals(4, result.getRows());
+		assertEquals(3, result.getPlayersCreated());
+		assertEquals(3, players.getAllPlayers().size());
+		assertEquals(4, scores.getAllScores().size());
+		assertNull(scores.getCheckpoint(ScoreImporter.checkpointKey(file)));
+	}
+
+	@Test
+	public void resumesAfterTheLastCommittedBatch() throws Exception {
+		Path file = write(HEADER + "A,T,1\nB,T,2\nC,T,3\nD,T,4\nE,T,x\n");
+		try {
+			importer.importFile(file, ImportFormat.CSV, false, progress -> {
+			});
+			fail("Imported a malformed row");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().endsWith("line 6: Score is not a whole number: x"));
+		}
+		assertEquals(4, scores.getAllScores().size());
+		assertNotNull(scores.getCheckpoint(ScoreImporter.checkpointKey(file)));
+
+		write(file, HEADER + "A,T,1\nB,T,2\nC,T,3\nD,T,4\nE,T,5\nF,T,6\n");
+		ImportProgress result = importer.importFile(file, ImportFormat.CSV, false, progress -> {
+		});
+
+		assertEquals(6, result.getRows());
+		assertEquals(6, result.getPlayersCreated());
+		assertEquals(6, scores.getAllScores().size());
+		assertNull(scores.getCheckpoint(ScoreImporter.checkpointKey(file)));
+	}
+
+	@Test
+	public void refusesToResumeAChangedFileUnlessRestarted() throws Exception {
+		Path file = write(HEADER + "A,T,1\nB,T,2\nC,T,x\n");
+		try {
+			importer.importFile(file, ImportFormat.CSV, false, progress -> {
+			});
+			fail("Imported a malformed row");
+		} catch (IOException expected) {
+		}
+
+		write(file, HEADER + "Z,T,9\nB,T,2\nC,T,3\n");
+		try {
+			importer.importFile(file, ImportFormat.CSV, false, progress -> {
+			});
+			fail("Resumed a changed file");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("--restart"));
+		}
+		assertEquals(2, scores.getAllScores().size());
+
+		ImportProgress result = importer.importFile(file, ImportFormat.CSV, true, progress -> {
+		});
+		assertEquals(3, result.getRows());
+		assertEquals(5, scores.getAllScores().size());
+	}
+
+	@Test
+	public void rejectsCompressedFiles() throws Exception {
+		Path file = folder.newFile("scores.csv").toPath();
+		try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+			outputStream.write(HEADER.getBytes(StandardCharsets.UTF_8));
+		}
+
+		try {
+			importer.importFile(file, ImportFormat.CSV, false, progress -> {
+			});
+			fail("Imported a gzip file");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("decompress it first"));
+		}
+		try {
+			ImportFormat.forFile(file.resolveSibling("scores.csv.gz"));
+			fail("Accepted a .gz name");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("decompress it first"));
+		}
+	}
+
+	@Test
+	public void keysLongPathsWithinTheColumnLength() {
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < 240; i++) {
+			name.append('a');
+		}
+		Path file = folder.getRoot().toPath().resolve(name + ".csv");
+		Path other = folder.getRoot().toPath().resolve("b" + name + ".csv");
+
+		String key = ScoreImporter.checkpointKey(file);
+		assertEquals(255, key.length());
+		assertTrue(key.endsWith(name + ".csv"));
+		assertTrue(!key.equals(ScoreImporter.checkpointKey(other)));
+		assertEquals(folder.getRoot().toPath().resolve("x.csv").toAbsolutePath().toString(),
+				ScoreImporter.checkpointKey(folder.getRoot().toPath().resolve("sub/../x.csv")));
+	}
+
+	private Path write(String contents) throws IOException {
+		return write(folder.newFile("scores.csv").toPath(), contents);
+	}
+
+	private static Path write(Path file, String contents) throws IOException {
+		return Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+	}
+}
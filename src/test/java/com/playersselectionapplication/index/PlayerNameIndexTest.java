@@ -0,0 +1,111 @@
+package com.playersselectionapplication.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Player;
+
+public class PlayerNameIndexTest {
+
+	@Test
+	public void ranksExactThenPrefixThenPosition() {
+		PlayerNameIndex index = new PlayerNameIndex();
+		index.rebuild(Arrays.asList(player(1, "Sharmaji"), player(2, "Rohit"), player(3, "Sharma"),
+				player(4, "ASharma"), player(5, "Sharmas")));
+
+		assertEquals(Arrays.asList(3, 5, 1, 4), ids(index.search("sharma")));
+	}
+
+	@Test
+	public void shortQueriesScanAllNames() {
+		PlayerNameIndex index = new PlayerNameIndex();
+		index.rebuild(Arrays.asList(player(1, "Virat"), player(2, "Rahul"), player(3, "Dhoni")));
+
+		assertEquals(Arrays.asList(2, 1), ids(index.search("RA")));
+		assertEquals(3, index.search("").size());
+	}
+
+	@Test
+	public void updateReplacesOldTrigrams() {
+		PlayerNameIndex index = new PlayerNameIndex();
+		index.put(player(1, "Kohli"));
+		index.put(player(1, "Pant"));
+
+		assertTrue(index.search("kohli").isEmpty());
+		assertEquals(Arrays.asList(1), ids(index.search("pan")));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void removeDropsPlayer() {
+		PlayerNameIndex index = new PlayerNameIndex();
+		index.put(player(1, "Bumrah"));
+		index.remove(1);
+
+		assertNull(index.get(1));
+		assertTrue(index.search("bum").isEmpty());
+	}
+
+	@Test
+	public void matchesLinearScanOnRandomNames() {
+		Random random = new Random(42);
+		List<Player> players = new ArrayList<>();
+		for (int id = 1; id <= 500; id++) {
+			players.add(player(id, randomName(random)));
+		}
+		PlayerNameIndex index = new PlayerNameIndex();
+		index.rebuild(players);
+
+		for (int i = 0; i < 200; i++) {
+			String query = randomName(random).substring(0, 1 + random.nextInt(4));
+			Set<Integer> expected = new TreeSet<>();
+			for (Player player : players) {
+				if (player.getName().toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT))) {
+					expected.add(player.getId());
+				}
+			}
+			assertEquals(query, expected, new TreeSet<>(ids(index.search(query))));
+		}
+	}
+
+	@Test
+	public void returnsCopies() {
+		PlayerNameIndex index = new PlayerNameIndex();
+		index.put(player(1, "Jadeja"));
+		index.get(1).setName("Changed");
+		index.search("jad").get(0).setName("Changed");
+
+		assertEquals("Jadeja", index.get(1).getName());
+	}
+
+	private static String randomName(Random random) {
+		char[] name = new char[4 + random.nextInt(6)];
+		for (int i = 0; i < name.length; i++) {
+			name[i] = "abcdeAB".charAt(random.nextInt(7));
+		}
+		return new String(name);
+	}
+
+	private static Player player(int id, String name) {
+		return new Player(id, name, "Team", 0);
+	}
+
+	private static List<Integer> ids(List<Player> players) {
+		List<Integer> ids = new ArrayList<>();
+		for (Player player : players) {
+			ids.add(player.getId());
+		}
+		return ids;
+	}
+}
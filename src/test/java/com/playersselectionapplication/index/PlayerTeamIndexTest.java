@@ -0,0 +1,55 @@
+package com.playersselectionapplication.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Player;
+
+public class PlayerTeamIndexTest {
+
+	@Test
+	public void findsExactTeamIgnoringCaseInIdOrder() {
+		PlayerTeamIndex index = new PlayerTeamIndex();
+		index.rebuild(Arrays.asList(player(3, "Mumbai"), player(1, "mumbai"), player(2, "Delhi")));
+
+		assertEquals(Arrays.asList(1, 3), index.getPlayerIds("MUMBAI"));
+		assertTrue(index.getPlayerIds("Mum").isEmpty());
+	}
+
+	@Test
+	public void searchesTeamSubstrings() {
+		PlayerTeamIndex index = new PlayerTeamIndex();
+		index.rebuild(Arrays.asList(player(1, "Mumbai Indians"), player(2, "Delhi"), player(3, "Mumbai")));
+
+		assertEquals(Arrays.asList(1, 3), index.searchPlayerIds("mumbai"));
+		assertEquals(Arrays.asList(1), index.searchPlayerIds("ind"));
+	}
+
+	@Test
+	public void putMovesPlayerBetweenTeams() {
+		PlayerTeamIndex index = new PlayerTeamIndex();
+		index.put(player(1, "Mumbai"));
+		index.put(player(1, "Delhi"));
+
+		assertTrue(index.getPlayerIds("Mumbai").isEmpty());
+		assertEquals(Arrays.asList(1), index.getPlayerIds("Delhi"));
+	}
+
+	@Test
+	public void removeDropsPlayerFromTeam() {
+		PlayerTeamIndex index = new PlayerTeamIndex();
+		index.put(player(1, "Mumbai"));
+		index.put(player(2, "Mumbai"));
+		index.remove(1);
+
+		assertEquals(Arrays.asList(2), index.getPlayerIds("mumbai"));
+	}
+
+	private static Player player(int id, String domesticTeam) {
+		return new Player(id, "P" + id, domesticTeam, 0);
+	}
+}
@@ -0,0 +1,94 @@
+package com.playersselectionapplication.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void bucketsKeepAboutThreePercentPrecision() {
+		Random random = new Random(7);
+		for (int i = 0; i < 100000; i++) {
+			long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+			long highest = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+
+			assertTrue(value + " above its bucket", highest >= value);
+			assertTrue(value + " imprecise", highest - value <= value / 32);
+		}
+	}
+
+	@Test
+	public void indexesGrowWithTheValue() {
+		int previous = -1;
+		for (long value = 0; value < 1 << 20; value++) {
+			int index = LatencyHistogram.indexOf(value);
+			assertTrue(index == previous || index == previous + 1);
+			previous = index;
+		}
+		assertEquals(LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(Long.MAX_VALUE)), Long.MAX_VALUE);
+	}
+
+	@Test
+	public void reportsPercentilesOfRecordedValues() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 10000; value++) {
+			histogram.record(value * 1000);
+		}
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+		assertEquals(10000, snapshot.getCount());
+		assertEquals(5000500.0, snapshot.getMeanNanos(), 0.0);
+		assertEquals(10000000, snapshot.getMaxNanos());
+		assertWithin(5000000, snapshot.getValueAtPercentile(50));
+		assertWithin(9900000, snapshot.getValueAtPercentile(99));
+		assertEquals(10000000, snapshot.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void emptyHistogramReportsZero() {
+		LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+		assertEquals(0, snapshot.getCount());
+		assertEquals(0.0, snapshot.getMeanNanos(), 0.0);
+		assertEquals(0, snapshot.getValueAtPercentile(99));
+	}
+
+	@Test
+	public void negativeDurationsCountAsZero() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-5);
+
+		assertEquals(0, histogram.snapshot().getValueAtPercentile(100));
+	}
+
+	@Test
+	public void countsConcurrentRecordingsOnce() throws InterruptedException {
+		LatencyHistogram histogram = new LatencyHistogram();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 50000; i++) {
+					histogram.record(i);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(200000, histogram.snapshot().getCount());
+		assertEquals(49999, histogram.snapshot().getMaxNanos());
+	}
+
+	private static void assertWithin(long expected, long actual) {
+		assertTrue(actual + " not within 3% of " + expected, Math.abs(actual - expected) <= expected * 3 / 100);
+	}
+}
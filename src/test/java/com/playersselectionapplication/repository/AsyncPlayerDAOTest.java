@@ -0,0 +1,45 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Player;
+
+public class AsyncPlayerDAOTest {
+
+	@Test
+	public void fansOutLongIdListsWithinTheInFlightLimit() throws Exception {
+		InMemoryPlayerDAO store = new InMemoryPlayerDAO();
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			Player player = new Player("P" + i, "Team");
+			store.addPlayer(player);
+			ids.add(0, player.getId());
+		}
+		ids.add(25, -1);
+
+		try (DaoExecutor executor = new DaoExecutor(2, 2, 5000L)) {
+			List<Player> players = new AsyncPlayerDAO(store, executor).getPlayersByIds(ids).get(5, TimeUnit.SECONDS);
+
+			assertEquals(50, players.size());
+			ids.remove(25);
+			for (int i = 0; i < players.size(); i++) {
+				assertEquals((int) ids.get(i), players.get(i).getId());
+			}
+		}
+	}
+
+	@Test
+	public void emptyIdListCompletesWithNoPlayers() throws Exception {
+		try (DaoExecutor executor = new DaoExecutor(2, 2, 5000L)) {
+			AsyncPlayerDAO dao = new AsyncPlayerDAO(new InMemoryPlayerDAO(), executor);
+
+			assertEquals(0, dao.getPlayersByIds(new ArrayList<Integer>()).get(5, TimeUnit.SECONDS).size());
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Score;
+
+public class AsyncScoreDAOTest {
+
+	@Test
+	public void runsCallsOnTheExecutor() throws Exception {
+		InMemoryScoreStore store = new InMemoryScoreStore();
+		try (DaoExecutor executor = new DaoExecutor(1, 1, 5000L)) {
+			AsyncScoreDAO dao = new AsyncScoreDAO(store, executor);
+			Score score = dao.addScore(new Score(1, 40)).get(5, TimeUnit.SECONDS);
+
+			assertEquals(40, dao.getScoreById(score.getId()).get(5, TimeUnit.SECONDS).getScore());
+			assertEquals(1, dao.getScoresByPlayerId(1).get(5, TimeUnit.SECONDS).size());
+		}
+	}
+
+	@Test
+	public void completesExceptionallyWithTheDaoError() throws Exception {
+		try (DaoExecutor executor = new DaoExecutor(1, 1, 5000L)) {
+			AsyncScoreDAO dao = new AsyncScoreDAO(new InMemoryScoreStore() {
+				@Override
+				public Score getScoreById(int id) throws SQLException {
+					throw new SQLException("down");
+				}
+			}, executor);
+
+			try {
+				dao.getScoreById(1).get(5, TimeUnit.SECONDS);
+				fail("Expected the SQLException");
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof SQLException);
+			}
+		}
+	}
+}
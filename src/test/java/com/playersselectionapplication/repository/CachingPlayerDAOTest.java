@@ -0,0 +1,101 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Player;
+
+public class CachingPlayerDAOTest {
+
+	@Test
+	public void servesRepeatedReadsFromCache() throws SQLException {
+		InMemoryPlayerDAO store = new InMemoryPlayerDAO();
+		Player player = new Player("Rohit", "Mumbai");
+		store.addPlayer(player);
+		CachingPlayerDAO dao = new CachingPlayerDAO(store, 10, 60000L);
+
+		dao.getPlayerById(player.getId());
+		dao.getPlayerById(player.getId()).setName("Changed");
+
+		assertEquals("Rohit", dao.getPlayerById(player.getId()).getName());
+		assertEquals(2, dao.getCacheStats().getHits());
+		assertEquals(1, dao.getCacheStats().getMisses());
+	}
+
+	@Test
+	public void loadOverlappingAnUpdateIsNotCached() throws Exception {
+		CountDownLatch loaded = new CountDownLatch(1);
+		CountDownLatch updated = new CountDownLatch(1);
+		InMemoryPlayerDAO store = new InMemoryPlayerDAO();
+		Player player = new Player("Rohit", "Mumbai");
+		store.addPlayer(player);
+		CachingPlayerDAO dao = new CachingPlayerDAO(new ForwardingPlayerDAO(store) {
+			@Override
+			public Player getPlayerById(int id) throws SQLException {
+				Player stale = super.getPlayerById(id);
+				loaded.countDown();
+				try {
+					updated.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return stale;
+			}
+		}, 10, 60000L);
+
+		CompletableFuture<Player> read = CompletableFuture.supplyAsync(() -> {
+			try {
+				return dao.getPlayerById(player.getId());
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertTrue(loaded.await(5, TimeUnit.SECONDS));
+		dao.updatePlayer(new Player(player.getId(), "Virat", "Delhi", 0));
+		updated.countDown();
+
+		assertEquals("Rohit", read.get(5, TimeUnit.SECONDS).getName());
+		assertEquals(0, dao.getCacheStats().getSize());
+	}
+
+	@Test
+	public void cachesConcurrentLoadsOfDifferentPlayers() throws Exception {
+		CountDownLatch loading = new CountDownLatch(2);
+		InMemoryPlayerDAO store = new InMemoryPlayerDAO();
+		Player first = new Player("Rohit", "Mumbai");
+		Player second = new Player("Virat", "Delhi");
+		store.addPlayer(first);
+		store.addPlayer(second);
+		CachingPlayerDAO dao = new CachingPlayerDAO(new ForwardingPlayerDAO(store) {
+			@Override
+			public Player getPlayerById(int id) throws SQLException {
+				loading.countDown();
+				try {
+					loading.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getPlayerById(id);
+			}
+		}, 10, 60000L);
+
+		CompletableFuture<Player> read = CompletableFuture.supplyAsync(() -> {
+			try {
+				return dao.getPlayerById(first.getId());
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertEquals("Virat", dao.getPlayerById(second.getId()).getName());
+		assertEquals("Rohit", read.get(5, TimeUnit.SECONDS).getName());
+
+		assertEquals(2, dao.getCacheStats().getSize());
+	}
+}
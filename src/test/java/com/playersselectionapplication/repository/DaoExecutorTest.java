@@ -0,0 +1,108 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+public class DaoExecutorTest {
+
+	@Test
+	public void rejectsCallsBeyondMaxInFlight() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		try (DaoExecutor executor = new DaoExecutor(1, 2, 5000L)) {
+			CompletableFuture<Integer> first = executor.submit(() -> await(release));
+			CompletableFuture<Integer> second = executor.submit(() -> await(release));
+			CompletableFuture<Integer> third = executor.submit(() -> 3);
+
+			assertFailsWith(RejectedExecutionException.class, third);
+			release.countDown();
+			assertEquals(1, (int) first.get(5, TimeUnit.SECONDS));
+			assertEquals(1, (int) second.get(5, TimeUnit.SECONDS));
+			assertEquals(4, (int) executor.submit(() -> 4).get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void timedOutCallKeepsItsSlotUntilTheTaskReturns() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(1);
+		try (DaoExecutor executor = new DaoExecutor(1, 1, 50L)) {
+			CountDownLatch release = new CountDownLatch(1);
+			CompletableFuture<Integer> slow = executor.submit(() -> {
+				started.countDown();
+				try {
+					return await(release);
+				} finally {
+					finished.countDown();
+				}
+			});
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+
+			assertFailsWith(TimeoutException.class, slow);
+			assertEquals(1, executor.getInFlight());
+			assertFailsWith(RejectedExecutionException.class, executor.submit(() -> 2));
+
+			release.countDown();
+			assertTrue(finished.await(5, TimeUnit.SECONDS));
+			waitForInFlight(executor, 0);
+			assertEquals(3, (int) executor.submit(() -> 3).get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void callThatNeverStartedReleasesItsSlotOnTimeout() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		try (DaoExecutor executor = new DaoExecutor(1, 2, 100L)) {
+			CompletableFuture<Integer> blocking = executor.submit(() -> await(release));
+			CompletableFuture<Integer> queued = executor.submit(() -> 2);
+
+			assertFailsWith(TimeoutException.class, blocking);
+			assertFailsWith(TimeoutException.class, queued);
+			waitForInFlight(executor, 1);
+			release.countDown();
+			waitForInFlight(executor, 0);
+		}
+	}
+
+	/** Waits for the latch even if interrupted, like a driver stuck on a socket read. */
+	private static int await(CountDownLatch latch) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (latch.getCount() > 0 && System.nanoTime() < deadline) {
+			try {
+				latch.await(10, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				// Keep waiting
+			}
+		}
+		return 1;
+	}
+
+	private static void waitForInFlight(DaoExecutor executor, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (executor.getInFlight() != expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(expected, executor.getInFlight());
+	}
+
+	private static void assertFailsWith(Class<? extends Throwable> type, CompletableFuture<?> future)
+			throws InterruptedException {
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			fail("Expected " + type.getSimpleName());
+		} catch (ExecutionException e) {
+			assertTrue("Got " + e.getCause(), type.isInstance(e.getCause()));
+		} catch (TimeoutException e) {
+			fail("Future did not complete");
+		}
+	}
+}
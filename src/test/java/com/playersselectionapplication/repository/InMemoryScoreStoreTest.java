@@ -0,0 +1,175 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.model.Score;
+
+public class InMemoryScoreStoreTest {
+
+	@Test
+	public void keepsEachPlayersScoresInIdOrder() throws SQLException {
+		InMemoryScoreStore store = new InMemoryScoreStore(0.5);
+		add(store, 1, 10);
+		add(store, 2, 99);
+		add(store, 1, 20);
+		add(store, 1, 30);
+		add(store, 1, 40);
+
+		assertEquals(Arrays.asList(10, 20, 30, 40), values(store.getScoresByPlayerId(1)));
+		assertEquals(30.0, store.getAverageOfLastThreeScores(1), 1e-9);
+		assertEquals(0.0, store.getAverageOfLastThreeScores(3), 1e-9);
+		assertEquals(5, store.getAllScores().size());
+	}
+
+	@Test
+	public void maintainsFormOnUpdateAndDelete() throws SQLException {
+		InMemoryScoreStore store = new InMemoryScoreStore(0.5);
+		Score first = add(store, 1, 10);
+		Score second = add(store, 1, 20);
+		assertEquals(15.0, store.getFormRating(1), 1e-9);
+
+		first.setScore(30);
+		store.updateScore(first);
+		assertEquals(25.0, store.getFormRating(1), 1e-9);
+
+		store.deleteScore(second);
+		PlayerForm form = store.getPlayerForm(1);
+		assertEquals(1, form.getScoreCount());
+		assertEquals(Integer.valueOf(30), form.getRecentScore1());
+		assertEquals(30.0, form.getFormRating(), 1e-9);
+		assertNull(store.getScoreById(second.getId()));
+	}
+
+	@Test
+	public void pagesAfterAScoreId() throws SQLException {
+		InMemoryScoreStore store = new InMemoryScoreStore();
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(add(store, 1, i).getId());
+		}
+
+		List<Score> page = store.getScoresByPlayerIdAfter(1, ids.get(1), 2);
+		assertEquals(Arrays.asList(ids.get(2), ids.get(3)), scoreIds(page));
+		assertEquals(Arrays.asList(ids.get(0)), scoreIds(store.getScoresByPlayerIdAfter(1, 0, 1)));
+	}
+
+	@Test
+	public void loadedIdsAreKeptAndNewIdsContinueAfterThem() throws SQLException {
+		InMemoryScoreStore store = new InMemoryScoreStore();
+		store.loadScores(new int[] { 5, 9 }, new int[] { 1, 2 }, new int[] { 50, 90 }, 2);
+
+		assertEquals(50, store.getScoreById(5).getScore());
+		assertEquals(10, add(store, 1, 60).getId());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullPlayerIds() throws SQLException {
+		new InMemoryScoreStore().getAverageOfLastThreeScores(Arrays.asList(1, null));
+	}
+
+	@Test
+	public void streamsScoresOfAllPlayersInIdOrder() throws SQLException {
+		InMemoryScoreStore store = new InMemoryScoreStore();
+		add(store, 1, 10);
+		add(store, 2, 20);
+		add(store, 1, 30);
+		add(store, 3, 40);
+		add(store, 2, 50);
+		Score removed = add(store, 1, 60);
+
+		try (Stream<Score> scores = store.streamAllScores()) {
+			Iterator<Score> iterator = scores.iterator();
+			assertEquals(10, iterator.next().getScore());
+			// Read lazily, so a score deleted before the stream reaches it is skipped
+			store.deleteScore(removed);
+			List<Integer> rest = new ArrayList<>();
+			List<Integer> ids = new ArrayList<>();
+			iterator.forEachRemaining(score -> {
+				rest.add(score.getScore());
+				ids.add(score.getId());
+			});
+			assertEquals(Arrays.asList(20, 30, 40, 50), rest);
+			assertEquals(Arrays.asList(2, 3, 4, 5), ids);
+		}
+	}
+
+	@Test
+	public void concurrentAddsAreNeitherLostNorResurrectedByDeletes() throws Exception {
+		InMemoryScoreStore store = new InMemoryScoreStore();
+		int writers = 4;
+		int scoresPerWriter = 20000;
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicLong removed = new AtomicLong();
+		ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+		try {
+			Future<?> deleter = executor.submit(() -> {
+				while (writing.get()) {
+					removed.addAndGet(store.deleteScoresByPlayerId(1));
+				}
+			});
+			List<Future<?>> adders = new ArrayList<>();
+			for (int w = 0; w < writers; w++) {
+				adders.add(executor.submit(() -> {
+					for (int i = 0; i < scoresPerWriter; i++) {
+						store.addScore(new Score(1, i));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> adder : adders) {
+				adder.get(30, TimeUnit.SECONDS);
+			}
+			writing.set(false);
+			deleter.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		List<Score> remaining = store.getScoresByPlayerId(1);
+		assertEquals((long) writers * scoresPerWriter, removed.get() + remaining.size());
+		assertEquals(remaining.size(), store.getScoreCount(1));
+		for (Score score : remaining) {
+			assertEquals(score.getScore(), store.getScoreById(score.getId()).getScore());
+		}
+		assertEquals(remaining.size(), store.getAllScores().size());
+	}
+
+	private static Score add(InMemoryScoreStore store, int playerId, int value) throws SQLException {
+		Score score = new Score(playerId, value);
+		store.addScore(score);
+		return score;
+	}
+
+	private static List<Integer> values(List<Score> scores) {
+		List<Integer> values = new ArrayList<>();
+		for (Score score : scores) {
+			values.add(score.getScore());
+		}
+		return values;
+	}
+
+	private static List<Integer> scoreIds(List<Score> scores) {
+		List<Integer> ids = new ArrayList<>();
+		for (Score score : scores) {
+			ids.add(score.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,74 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class JdbcQueriesTest {
+	private final List<String> closed = new ArrayList<>();
+	private final List<Object> bound = new ArrayList<>();
+
+	@Test
+	public void mapsEveryRowAndClosesResources() throws Exception {
+		List<Integer> rows = JdbcQueries.query(() -> connection(3, 4, 5), "SELECT",
+				statement -> statement.setInt(1, 9), resultSet -> resultSet.getInt(1));
+
+		assertEquals(Arrays.asList(3, 4, 5), rows);
+		assertEquals(Arrays.<Object>asList(9), bound);
+		assertEquals(Arrays.asList("ResultSet", "PreparedStatement", "Connection"), closed);
+	}
+
+	@Test
+	public void queryFirstReturnsNullWithoutRows() throws Exception {
+		assertNull(JdbcQueries.queryFirst(() -> connection(), "SELECT", JdbcQueries.NO_PARAMETERS,
+				resultSet -> resultSet.getInt(1)));
+		assertEquals(7, (int) JdbcQueries.queryFirst(() -> connection(7, 8), "SELECT", JdbcQueries.NO_PARAMETERS,
+				resultSet -> resultSet.getInt(1)));
+		assertTrue(closed.contains("Connection"));
+	}
+
+	private Connection connection(int... values) {
+		ResultSet resultSet = fake(ResultSet.class, new Object() {
+			int row = -1;
+
+			Object handle(String name, Object[] args) {
+				if ("next".equals(name)) {
+					return ++row < values.length;
+				}
+				return "getInt".equals(name) ? values[row] : null;
+			}
+		}::handle);
+		PreparedStatement statement = fake(PreparedStatement.class, (name, args) -> {
+			if ("setInt".equals(name)) {
+				bound.add(args[1]);
+			}
+			return "executeQuery".equals(name) ? resultSet : null;
+		});
+		return fake(Connection.class, (name, args) -> "prepareStatement".equals(name) ? statement : null);
+	}
+
+	private interface Handler {
+		Object handle(String name, Object[] args);
+	}
+
+	private <T> T fake(Class<T> type, Handler handler) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if ("close".equals(method.getName())) {
+						closed.add(type.getSimpleName());
+						return null;
+					}
+					return handler.handle(method.getName(), args);
+				}));
+	}
+}
@@ -0,0 +1,165 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.model.Score;
+
+public class OffHeapScoreStoreTest {
+
+	@Test
+	public void matchesTheHeapStoreAcrossBlockBoundaries() throws SQLException {
+		OffHeapScoreStore offHeap = new OffHeapScoreStore(0.3);
+		InMemoryScoreStore heap = new InMemoryScoreStore(0.3);
+		Random random = new Random(11);
+		List<Score> written = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			int playerId = random.nextInt(5);
+			int value = random.nextInt(150);
+			Score score = new Score(playerId, value);
+			offHeap.addScore(score);
+			heap.addScore(new Score(playerId, value));
+			written.add(score);
+		}
+		for (int i = 0; i < 100; i++) {
+			Score score = written.get(random.nextInt(written.size()));
+			if (random.nextBoolean()) {
+				score.setScore(random.nextInt(150));
+				offHeap.updateScore(score);
+				heap.updateScore(new Score(score.getId(), score.getScore(), score.getPlayerId()));
+			} else {
+				offHeap.deleteScore(score);
+				heap.deleteScore(score);
+				written.remove(score);
+			}
+		}
+
+		assertEquals(values(heap.getAllScores()), values(offHeap.getAllScores()));
+		for (int playerId = 0; playerId < 5; playerId++) {
+			assertEquals(values(heap.getScoresByPlayerId(playerId)), values(offHeap.getScoresByPlayerId(playerId)));
+			assertEquals(heap.getAverageOfLastThreeScores(playerId), offHeap.getAverageOfLastThreeScores(playerId),
+					1e-9);
+			assertEquals(heap.getFormRating(playerId), offHeap.getFormRating(playerId), 1e-9);
+			assertEquals(heap.getScoresByPlayerId(playerId).size(), offHeap.getScoreCount(playerId));
+		}
+	}
+
+	@Test
+	public void pagesAfterAScoreId() throws SQLException {
+		OffHeapScoreStore store = new OffHeapScoreStore();
+		for (int i = 1; i <= 40; i++) {
+			store.addScore(new Score(1, i));
+		}
+
+		List<Score> page = store.getScoresByPlayerIdAfter(1, 17, 5);
+		assertEquals(Arrays.asList(18, 19, 20, 21, 22), values(page));
+		assertEquals(0, store.getScoresByPlayerIdAfter(1, 40, 5).size());
+	}
+
+	@Test
+	public void deletingAPlayerFreesBlocksForReuse() throws SQLException {
+		OffHeapScoreStore store = new OffHeapScoreStore();
+		List<Score> scores = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			Score score = new Score(1, i);
+			store.addScore(score);
+			scores.add(score);
+		}
+		long reserved = store.getOffHeapBytes();
+
+		assertEquals(40, store.deleteScoresByPlayerId(1));
+		assertEquals(0, store.deleteScoresByPlayerId(1));
+		assertNull(store.getScoreById(scores.get(0).getId()));
+		assertNull(store.getPlayerForm(1));
+		for (int i = 0; i < 40; i++) {
+			store.addScore(new Score(2, i));
+		}
+		assertEquals(reserved, store.getOffHeapBytes());
+	}
+
+	@Test
+	public void loadsColumnsAndContinuesIds() throws SQLException {
+		OffHeapScoreStore store = new OffHeapScoreStore(0.5);
+		store.loadScores(new int[] { 3, 8, 9 }, new int[] { 1, 2, 1 }, new int[] { 10, 70, 30 }, 3);
+		Score added = new Score(1, 50);
+		store.addScore(added);
+
+		assertEquals(10, added.getId());
+		assertEquals(70, store.getScoreById(8).getScore());
+		PlayerForm form = store.getPlayerForm(1);
+		assertEquals(3, form.getScoreCount());
+		assertEquals(Integer.valueOf(50), form.getRecentScore1());
+		assertEquals(30.0, store.getAverageOfLastThreeScores(1), 1e-9);
+	}
+
+	@Test
+	public void concurrentWritersOfDifferentPlayersKeepEveryOwner() throws Exception {
+		OffHeapScoreStore store = new OffHeapScoreStore();
+		int writers = 4;
+		int scoresPerWriter = 40000; // spans several owner table segments
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		try {
+			List<Future<?>> adders = new ArrayList<>();
+			for (int w = 0; w < writers; w++) {
+				int playerId = w;
+				adders.add(executor.submit(() -> {
+					for (int i = 0; i < scoresPerWriter; i++) {
+						store.addScore(new Score(playerId, i));
+						if (i % 3 == 0) {
+							List<Score> last = store.getScoresByPlayerIdAfter(playerId, 0, 1);
+							store.deleteScore(last.get(0));
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> adder : adders) {
+				adder.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (int playerId = 0; playerId < writers; playerId++) {
+			List<Score> scores = store.getScoresByPlayerId(playerId);
+			assertEquals(scoresPerWriter - (scoresPerWriter + 2) / 3, scores.size());
+			for (Score score : scores) {
+				Score stored = store.getScoreById(score.getId());
+				assertEquals(playerId, stored.getPlayerId());
+				assertEquals(score.getScore(), stored.getScore());
+			}
+		}
+		assertEquals(writers * (scoresPerWriter - (scoresPerWriter + 2) / 3), store.getAllScores().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsScoresLoadedOutOfOrder() {
+		new OffHeapScoreStore().loadScores(new int[] { 5, 4 }, new int[] { 1, 1 }, new int[] { 1, 2 }, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullPlayerIds() throws SQLException {
+		new OffHeapScoreStore().getAverageOfLastThreeScores(Arrays.asList(1, null));
+	}
+
+	private static List<Integer> values(List<Score> scores) {
+		List<Integer> values = new ArrayList<>();
+		for (Score score : scores) {
+			values.add(score.getScore());
+		}
+		return values;
+	}
+}
@@ -0,0 +1,75 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PageTest {
+
+	@Test
+	public void tokensRoundTripTheLastId() {
+		for (int id : new int[] { 1, 42, Integer.MAX_VALUE }) {
+			assertEquals(id, Page.decodeToken(Page.encodeToken(id)));
+		}
+	}
+
+	@Test
+	public void missingTokenStartsAtTheFirstPage() {
+		assertEquals(0, Page.decodeToken(null));
+		assertEquals(0, Page.decodeToken(""));
+	}
+
+	@Test
+	public void rejectsForgedOrCorruptTokens() {
+		String wrongPrefix = Base64.getUrlEncoder().encodeToString("x1:5".getBytes(StandardCharsets.US_ASCII));
+		String notANumber = Base64.getUrlEncoder().encodeToString("k1:five".getBytes(StandardCharsets.US_ASCII));
+		for (String token : Arrays.asList("not base64!", "42", wrongPrefix, notANumber)) {
+			try {
+				Page.decodeToken(token);
+				fail("Accepted " + token);
+			} catch (IllegalArgumentException e) {
+				assertTrue(e.getMessage().startsWith("Invalid continuation token"));
+			}
+		}
+	}
+
+	@Test
+	public void extraRowSignalsAnotherPage() {
+		Page<Integer> page = Page.of(new ArrayList<>(Arrays.asList(10, 20, 30)), 2, Integer::intValue);
+
+		assertEquals(Arrays.asList(10, 20), page.getItems());
+		assertTrue(page.hasNext());
+		assertEquals(20, Page.decodeToken(page.getNextToken()));
+	}
+
+	@Test
+	public void lastPageHasNoToken() {
+		List<Integer> rows = Arrays.asList(10, 20);
+		Page<Integer> page = Page.of(rows, 2, Integer::intValue);
+
+		assertEquals(rows, page.getItems());
+		assertFalse(page.hasNext());
+		assertNull(page.getNextToken());
+	}
+
+	@Test
+	public void fetchesOneRowMoreThanTheLimit() {
+		assertEquals(101, Page.fetchSize(100));
+		assertEquals(Integer.MAX_VALUE, Page.fetchSize(Integer.MAX_VALUE));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveLimits() {
+		Page.fetchSize(0);
+	}
+}
@@ -0,0 +1,136 @@
+package com.playersselectionapplication.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.playersselectionapplication.datasource.ConnectionProvider;
+import com.playersselectionapplication.datasource.DriverManagerConnectionProvider;
+import com.playersselectionapplication.datasource.SchemaMigrator;
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.model.Score;
+
+public class ScoreDAOImplTest {
+	private static final AtomicInteger DATABASES = new AtomicInteger();
+	private static final double ALPHA = 0.5;
+
+	private ConnectionProvider connectionProvider;
+	private ScoreDAOImpl scoreDAO;
+	private Score first;
+
+	@Before
+	public void setUp() throws SQLException {
+		connectionProvider = new DriverManagerConnectionProvider("jdbc:h2:mem:scores" + DATABASES.incrementAndGet()
+				+ ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+		new SchemaMigrator(connectionProvider, true, ALPHA).migrate();
+		try (Connection connection = connectionProvider.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.executeUpdate("INSERT INTO Player (id, name, domesticTeam) VALUES (1, 'Virat', 'Delhi')");
+		}
+		scoreDAO = new ScoreDAOImpl(connectionProvider, 100, ALPHA);
+		first = new Score(1, 10);
+		scoreDAO.addScore(first);
+		scoreDAO.addScore(new Score(1, 20));
+		scoreDAO.addScore(new Score(1, 30));
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+		try (Connection connection = connectionProvider.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("SHUTDOWN");
+		}
+	}
+
+	@Test
+	public void updateKeepsAScorePushedConcurrently() throws Exception {
+		first.setScore(50);
+		interleaveWithAdd(() -> scoreDAO.updateScore(first));
+
+		assertFormMatchesHistory(50, 20, 30, 40);
+	}
+
+	@Test
+	public void deleteKeepsAScorePushedConcurrently() throws Exception {
+		interleaveWithAdd(() -> scoreDAO.deleteScore(first));
+
+		assertFormMatchesHistory(20, 30, 40);
+	}
+
+	/**
+	 * Runs the write while another transaction has added a score of 40 and
+	 * pushed it onto the form row without committing, and commits that
+	 * transaction once the write is waiting for it.
+	 */
+	private void interleaveWithAdd(SqlAction write) throws Exception {
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread writer = new Thread(() -> {
+			try {
+				write.run();
+			} catch (Throwable e) {
+				error.set(e);
+			}
+		});
+		try (Connection adding = connectionProvider.getConnection()) {
+			adding.setAutoCommit(false);
+			try (PreparedStatement insert = adding
+					.prepareStatement("INSERT INTO Score (playerId, score) VALUES (1, 40)");
+					PreparedStatement push = adding.prepareStatement("UPDATE PlayerForm SET "
+							+ "recentScore3 = recentScore2, recentScore2 = recentScore1, recentScore1 = 40, "
+							+ "formRating = ? * 40 + (1E0 - ?) * formRating, scoreCount = scoreCount + 1 "
+							+ "WHERE playerId = 1")) {
+				insert.executeUpdate();
+				push.setDouble(1, ALPHA);
+				push.setDouble(2, ALPHA);
+				push.executeUpdate();
+			}
+
+			writer.start();
+			awaitBlocked(writer);
+			adding.commit();
+		}
+		writer.join(TimeUnit.SECONDS.toMillis(10));
+		assertNull(error.get());
+	}
+
+	private void assertFormMatchesHistory(int... history) throws SQLException {
+		double rating = 0.0;
+		for (int i = 0; i < history.length; i++) {
+			rating = FormRatings.next(rating, i, history[i], ALPHA);
+		}
+		int length = history.length;
+		PlayerForm form = scoreDAO.getPlayerForm(1);
+		assertEquals(Integer.valueOf(history[length - 1]), form.getRecentScore1());
+		assertEquals(Integer.valueOf(history[length - 2]), form.getRecentScore2());
+		assertEquals(Integer.valueOf(history[length - 3]), form.getRecentScore3());
+		assertEquals(length, form.getScoreCount());
+		assertEquals(rating, form.getFormRating(), 1e-9);
+	}
+
+	private static void awaitBlocked(Thread thread) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+			if (System.nanoTime() > deadline) {
+				fail("The write never waited for the concurrent add");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	@FunctionalInterface
+	private interface SqlAction {
+		void run() throws SQLException;
+	}
+}
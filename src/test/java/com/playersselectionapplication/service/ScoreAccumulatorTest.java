@@ -0,0 +1,78 @@
+package com.playersselectionapplication.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ScoreAccumulatorTest {
+
+	@Test
+	public void mergedAccumulatorsMatchSequentialOnes() {
+		Random random = new Random(3);
+		for (int run = 0; run < 200; run++) {
+			int[] scores = new int[1 + random.nextInt(60)];
+			for (int i = 0; i < scores.length; i++) {
+				scores[i] = random.nextInt(5) == 0 ? 0 : random.nextInt(200);
+			}
+			ScoreAccumulator sequential = accumulate(scores, 0, scores.length);
+			int split = random.nextInt(scores.length + 1);
+			ScoreAccumulator merged = accumulate(scores, 0, split).merge(accumulate(scores, split, scores.length));
+
+			assertEquals(sequential.getCount(), merged.getCount());
+			assertEquals(sequential.getMean(), merged.getMean(), 1e-9);
+			assertEquals(sequential.getStandardDeviation(), merged.getStandardDeviation(), 1e-9);
+			assertEquals(sequential.getMedian(), merged.getMedian(), 0.0);
+			assertEquals(sequential.getFiftyPlusRate(), merged.getFiftyPlusRate(), 0.0);
+			assertEquals(sequential.getDuckRate(), merged.getDuckRate(), 0.0);
+			assertEquals(sequential.getTrend(), merged.getTrend(), 1e-9);
+		}
+	}
+
+	@Test
+	public void trendIsTheSlopeOfTheRecentInnings() {
+		assertEquals(10.0, accumulate(new int[] { 10, 20, 30, 40 }).getTrend(), 1e-9);
+		assertEquals(-5.0, accumulate(new int[] { 50, 45, 40 }).getTrend(), 1e-9);
+		assertEquals(0.0, accumulate(new int[] { 30, 30, 30 }).getTrend(), 1e-9);
+	}
+
+	@Test
+	public void trendOnlyLooksAtTheLastTenInnings() {
+		int[] scores = new int[15];
+		for (int i = 0; i < scores.length; i++) {
+			scores[i] = i < 5 ? 200 : 2 * i;
+		}
+
+		assertEquals(2.0, accumulate(scores).getTrend(), 1e-9);
+	}
+
+	@Test
+	public void trendNeedsTwoInnings() {
+		assertEquals(0.0, accumulate(new int[0]).getTrend(), 0.0);
+		assertEquals(0.0, accumulate(new int[] { 75 }).getTrend(), 0.0);
+	}
+
+	@Test
+	public void summarizesScores() {
+		ScoreAccumulator accumulator = accumulate(new int[] { 0, 50, 10, 100 });
+
+		assertEquals(40.0, accumulator.getMean(), 1e-9);
+		assertEquals(30.0, accumulator.getMedian(), 0.0);
+		assertEquals(Math.sqrt(1550.0), accumulator.getStandardDeviation(), 1e-9);
+		assertEquals(0.5, accumulator.getFiftyPlusRate(), 0.0);
+		assertEquals(0.25, accumulator.getDuckRate(), 0.0);
+	}
+
+	private static ScoreAccumulator accumulate(int[] scores) {
+		return accumulate(scores, 0, scores.length);
+	}
+
+	private static ScoreAccumulator accumulate(int[] scores, int from, int to) {
+		ScoreAccumulator accumulator = new ScoreAccumulator();
+		for (int i = from; i < to; i++) {
+			accumulator.add(scores[i]);
+		}
+		return accumulator;
+	}
+}
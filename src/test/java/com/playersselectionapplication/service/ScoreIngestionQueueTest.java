@@ -0,0 +1,147 @@
+package com.playersselectionapplication.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.InMemoryScoreStore;
+
+public class ScoreIngestionQueueTest {
+
+	@Test
+	public void writesQueuedScoresInBatches() throws Exception {
+		AtomicInteger batches = new AtomicInteger();
+		InMemoryScoreStore store = new InMemoryScoreStore() {
+			@Override
+			public void addScores(Collection<Score> scores) throws SQLException {
+				batches.incrementAndGet();
+				super.addScores(scores);
+			}
+		};
+		List<CompletableFuture<Score>> results = new ArrayList<>();
+		try (ScoreIngestionQueue queue = new ScoreIngestionQueue(store, 100, 10, 60000L)) {
+			for (int i = 0; i < 30; i++) {
+				results.add(queue.enqueue(new Score(1, i)));
+			}
+			for (CompletableFuture<Score> result : results) {
+				assertTrue(result.get(5, TimeUnit.SECONDS).getId() > 0);
+			}
+			assertEquals(30, queue.getMetrics().getPersisted());
+		}
+		assertEquals(3, batches.get());
+		assertEquals(30, store.getScoresByPlayerId(1).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsBatchesLargerThanOneTransaction() {
+		InMemoryScoreStore store = new InMemoryScoreStore() {
+			@Override
+			public int getTransactionBatchSize() {
+				return 5;
+			}
+		};
+		new ScoreIngestionQueue(store, 100, 10, 5L).close();
+	}
+
+	@Test
+	public void retriesAFailedBatchOneScoreAtATime() throws Exception {
+		InMemoryScoreStore store = new InMemoryScoreStore() {
+			@Override
+			public void addScores(Collection<Score> scores) throws SQLException {
+				throw new SQLException("Batch rejected");
+			}
+
+			@Override
+			public void addScore(Score score) throws SQLException {
+				if (score.getPlayerId() < 0) {
+					throw new SQLException("Unknown player");
+				}
+				super.addScore(score);
+			}
+		};
+		CompletableFuture<Score> good;
+		CompletableFuture<Score> bad;
+		try (ScoreIngestionQueue queue = new ScoreIngestionQueue(store, 10, 2, 60000L)) {
+			good = queue.enqueue(new Score(1, 50));
+			bad = queue.enqueue(new Score(-1, 20));
+
+			assertEquals(50, good.get(5, TimeUnit.SECONDS).getScore());
+			assertFailsWith(SQLException.class, bad);
+			assertEquals(1, queue.getMetrics().getPersisted());
+			assertEquals(1, queue.getMetrics().getFailed());
+		}
+	}
+
+	@Test
+	public void rejectsScoresWhenFullOrClosed() throws Exception {
+		InMemoryScoreStore store = new InMemoryScoreStore();
+		ScoreIngestionQueue queue = new ScoreIngestionQueue(store, 1, 1, 60000L);
+		CountDownLatch written = new CountDownLatch(1);
+		queue.enqueue(new Score(1, 10)).thenRun(written::countDown);
+		assertTrue(written.await(5, TimeUnit.SECONDS));
+
+		queue.close();
+		assertFailsWith(RejectedExecutionException.class, queue.enqueue(new Score(1, 20)));
+		assertEquals(1, queue.getMetrics().getRejected());
+	}
+
+	@Test
+	public void closeWritesEveryAcceptedScore() throws Exception {
+		InMemoryScoreStore store = new InMemoryScoreStore();
+		ScoreIngestionQueue queue = new ScoreIngestionQueue(store, 100000, 50, 1L);
+		List<CompletableFuture<Score>> results = new ArrayList<>();
+		List<Thread> producers = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread producer = new Thread(() -> {
+				for (int i = 0; i < 5000; i++) {
+					CompletableFuture<Score> result = queue.enqueue(new Score(1, i));
+					synchronized (results) {
+						results.add(result);
+					}
+				}
+			});
+			producers.add(producer);
+			producer.start();
+		}
+		Thread.sleep(5);
+		queue.close();
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		int accepted = 0;
+		for (CompletableFuture<Score> result : results) {
+			try {
+				result.get(5, TimeUnit.SECONDS);
+				accepted++;
+			} catch (ExecutionException e) {
+				assertTrue("Got " + e.getCause(), e.getCause() instanceof RejectedExecutionException);
+			}
+		}
+		assertEquals(accepted, store.getScoresByPlayerId(1).size());
+	}
+
+	private static void assertFailsWith(Class<? extends Throwable> type, CompletableFuture<?> future)
+			throws Exception {
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			fail("Expected " + type.getSimpleName());
+		} catch (ExecutionException e) {
+			assertTrue("Got " + e.getCause(), type.isInstance(e.getCause()));
+		}
+	}
+}
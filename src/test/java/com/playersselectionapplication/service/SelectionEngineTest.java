@@ -0,0 +1,149 @@
+package com.playersselectionapplication.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.PlayerForm;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.InMemoryPlayerDAO;
+import com.playersselectionapplication.repository.InMemoryScoreStore;
+
+public class SelectionEngineTest {
+	private InMemoryScoreStore scoreStore;
+	private InMemoryPlayerDAO playerDAO;
+	private SelectionEngine engine;
+
+	@Before
+	public void setUp() {
+		scoreStore = new InMemoryScoreStore(0.5);
+		playerDAO = new InMemoryPlayerDAO(scoreStore);
+		engine = new SelectionEngine(playerDAO, scoreStore);
+	}
+
+	@Test
+	public void ranksByLastThreeAverageWithTeamCap() throws SQLException {
+		int a = addPlayer("A", "Mumbai", 10, 90, 90, 90);
+		int b = addPlayer("B", "mumbai", 80, 80, 80);
+		int c = addPlayer("C", "Delhi", 50, 50, 50);
+		addPlayer("D", "Delhi", 40);
+
+		assertEquals(Arrays.asList(a, c), ids(engine.selectSquad(new SelectionCriteria(2, 1, 0))));
+		assertEquals(Arrays.asList(a, b), ids(engine.selectSquad(new SelectionCriteria(2, 0, 0))));
+	}
+
+	@Test
+	public void skipsPlayersWithTooFewInnings() throws SQLException {
+		addPlayer("A", "Mumbai", 100);
+		int b = addPlayer("B", "Delhi", 20, 20, 20);
+
+		assertEquals(Arrays.asList(b), ids(engine.selectSquad(new SelectionCriteria(5, 0, 2))));
+	}
+
+	@Test
+	public void ranksByFormRating() throws SQLException {
+		// Same last-three average, but the rating favours the rising player.
+		int falling = addPlayer("Falling", "Mumbai", 90, 60, 30);
+		int rising = addPlayer("Rising", "Delhi", 30, 60, 90);
+
+		List<SelectedPlayer> squad = engine.selectSquad(
+				new SelectionCriteria(2, 0, 0, SelectionCriteria.Ranking.FORM_RATING));
+
+		assertEquals(Arrays.asList(rising, falling), ids(squad));
+		assertTrue(squad.get(0).getFormRating() > squad.get(1).getFormRating());
+	}
+
+	@Test
+	public void breaksTiesByInningsThenId() throws SQLException {
+		int first = addPlayer("First", "Mumbai", 50);
+		int moreInnings = addPlayer("More", "Delhi", 50, 50);
+		int second = addPlayer("Second", "Pune", 50);
+
+		assertEquals(Arrays.asList(moreInnings, first, second),
+				ids(engine.selectSquad(new SelectionCriteria(3, 0, 0))));
+	}
+
+	@Test
+	public void matchesGreedySelectionOnRandomData() throws SQLException {
+		Random random = new Random(7);
+		for (int i = 0; i < 300; i++) {
+			int[] scores = new int[random.nextInt(6)];
+			for (int j = 0; j < scores.length; j++) {
+				scores[j] = random.nextInt(20);
+			}
+			addPlayer("P" + i, "Team" + random.nextInt(12), scores);
+		}
+
+		for (int maxPerTeam = 0; maxPerTeam <= 3; maxPerTeam++) {
+			for (SelectionCriteria.Ranking ranking : SelectionCriteria.Ranking.values()) {
+				SelectionCriteria criteria = new SelectionCriteria(15, maxPerTeam, 1, ranking);
+				assertEquals(greedySelection(criteria), ids(engine.selectSquad(criteria)));
+			}
+		}
+	}
+
+	/** Walks every eligible player best first, taking each one whose team still has room. */
+	private List<Integer> greedySelection(SelectionCriteria criteria) throws SQLException {
+		Map<Integer, PlayerForm> forms = new HashMap<>();
+		for (PlayerForm form : scoreStore.getAllPlayerForms()) {
+			forms.put(form.getPlayerId(), form);
+		}
+		List<SelectedPlayer> candidates = new ArrayList<>();
+		for (Player player : playerDAO.getAllPlayers()) {
+			PlayerForm form = forms.get(player.getId());
+			if (form != null && form.getScoreCount() >= criteria.getMinInnings()) {
+				candidates.add(new SelectedPlayer(player, form.getLastThreeAverage(), form.getFormRating(),
+						form.getScoreCount()));
+			}
+		}
+		Comparator<SelectedPlayer> byAverage = Comparator.comparingDouble(SelectedPlayer::getFormAverage).reversed()
+				.thenComparing(Comparator.comparingInt(SelectedPlayer::getInnings).reversed())
+				.thenComparingInt(selected -> selected.getPlayer().getId());
+		candidates.sort(criteria.getRanking() == SelectionCriteria.Ranking.FORM_RATING
+				? Comparator.comparingDouble(SelectedPlayer::getFormRating).reversed().thenComparing(byAverage)
+				: byAverage);
+
+		Map<String, Integer> perTeam = new HashMap<>();
+		List<Integer> selected = new ArrayList<>();
+		for (SelectedPlayer candidate : candidates) {
+			String team = candidate.getPlayer().getDomesticTeam().toLowerCase(Locale.ROOT);
+			int taken = perTeam.getOrDefault(team, 0);
+			if (selected.size() < criteria.getSquadSize()
+					&& (criteria.getMaxPerDomesticTeam() == 0 || taken < criteria.getMaxPerDomesticTeam())) {
+				perTeam.put(team, taken + 1);
+				selected.add(candidate.getPlayer().getId());
+			}
+		}
+		return selected;
+	}
+
+	private int addPlayer(String name, String domesticTeam, int... scores) throws SQLException {
+		Player player = new Player(name, domesticTeam);
+		playerDAO.addPlayer(player);
+		for (int score : scores) {
+			scoreStore.addScore(new Score(player.getId(), score));
+		}
+		return player.getId();
+	}
+
+	private static List<Integer> ids(List<SelectedPlayer> squad) {
+		List<Integer> ids = new ArrayList<>();
+		for (SelectedPlayer selected : squad) {
+			ids.add(selected.getPlayer().getId());
+		}
+		return ids;
+	}
+}
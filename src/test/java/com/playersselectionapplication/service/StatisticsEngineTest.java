@@ -0,0 +1,74 @@
+package com.playersselectionapplication.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.InMemoryPlayerDAO;
+import com.playersselectionapplication.repository.InMemoryScoreStore;
+
+public class StatisticsEngineTest {
+
+	@Test
+	public void chunkedAccumulationMatchesOneChunk() throws SQLException {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		InMemoryPlayerDAO players = new InMemoryPlayerDAO(scores);
+		String[] teams = { "Mumbai", "mumbai", "Delhi", null };
+		for (int i = 0; i < 20; i++) {
+			players.addPlayer(new Player("P" + i, teams[i % teams.length]));
+		}
+		Random random = new Random(5);
+		for (int i = 0; i < 5000; i++) {
+			scores.addScore(new Score(1 + random.nextInt(20), random.nextInt(150)));
+		}
+
+		SeasonStatistics whole = new StatisticsEngine(players, scores, Integer.MAX_VALUE).compute();
+		SeasonStatistics chunked = new StatisticsEngine(players, scores, 37).compute();
+
+		assertEquals(whole.getPlayers().size(), chunked.getPlayers().size());
+		for (int i = 0; i < whole.getPlayers().size(); i++) {
+			PlayerStatistics expected = whole.getPlayers().get(i);
+			PlayerStatistics actual = chunked.getPlayers().get(i);
+			assertEquals(expected.getPlayerId(), actual.getPlayerId());
+			assertEquals(expected.getInnings(), actual.getInnings());
+			assertEquals(expected.getMean(), actual.getMean(), 1e-9);
+			assertEquals(expected.getStandardDeviation(), actual.getStandardDeviation(), 1e-9);
+			assertEquals(expected.getMedian(), actual.getMedian(), 0.0);
+			assertEquals(expected.getTrend(), actual.getTrend(), 1e-9);
+		}
+		assertEquals(2, chunked.getTeams().size());
+		assertEquals(whole.getTeams().get(1).getMean(), chunked.getTeams().get(1).getMean(), 1e-9);
+	}
+
+	@Test
+	public void trendFollowsScoreOrder() throws SQLException {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		InMemoryPlayerDAO players = new InMemoryPlayerDAO(scores);
+		Player player = new Player("Shubman", "Gujarat");
+		players.addPlayer(player);
+		for (int score : new int[] { 10, 20, 30, 40, 50 }) {
+			scores.addScore(new Score(player.getId(), score));
+		}
+
+		List<PlayerStatistics> statistics = new StatisticsEngine(players, scores, 2).compute().getPlayers();
+
+		assertEquals(1, statistics.size());
+		assertEquals(10.0, statistics.get(0).getTrend(), 1e-9);
+		assertEquals("Gujarat", statistics.get(0).getDomesticTeam());
+	}
+
+	@Test
+	public void emptySeasonHasNoStatistics() throws SQLException {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		SeasonStatistics statistics = new StatisticsEngine(new InMemoryPlayerDAO(scores), scores).compute();
+
+		assertEquals(0, statistics.getPlayers().size());
+		assertEquals(0, statistics.getTeams().size());
+	}
+}
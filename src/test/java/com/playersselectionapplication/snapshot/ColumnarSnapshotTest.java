@@ -0,0 +1,165 @@
+package com.playersselectionapplication.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.playersselectionapplication.model.Player;
+import com.playersselectionapplication.model.Score;
+import com.playersselectionapplication.repository.InMemoryPlayerDAO;
+import com.playersselectionapplication.repository.InMemoryScoreStore;
+
+public class ColumnarSnapshotTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void roundTripsPlayersAndScores() throws Exception {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		InMemoryPlayerDAO players = new InMemoryPlayerDAO(scores);
+		List<Player> added = Arrays.asList(new Player("Virat", "Delhi"), new Player(null, "Delhi"),
+				new Player("", null), new Player("\u0110o\u00e0n \ud83c\udfcf", "Mumbai"));
+		players.addPlayers(added);
+		scores.addScore(new Score(added.get(0).getId(), 82));
+		scores.addScore(new Score(added.get(3).getId(), 7));
+		scores.addScore(new Score(added.get(0).getId(), 45));
+		Path file = folder.getRoot().toPath().resolve("round-trip.snap");
+
+		SnapshotInfo written = ColumnarSnapshot.export(players, scores, file);
+		InMemoryScoreStore loadedScores = new InMemoryScoreStore();
+		InMemoryPlayerDAO loadedPlayers = new InMemoryPlayerDAO(loadedScores);
+		SnapshotInfo read = ColumnarSnapshot.load(file, loadedPlayers, loadedScores);
+
+		assertEquals(4, read.getPlayerCount());
+		assertEquals(3, read.getScoreCount());
+		assertEquals(written.getSizeBytes(), Files.size(file));
+		for (Player player : added) {
+			Player loaded = loadedPlayers.getPlayerById(player.getId());
+			assertEquals(player.getName(), loaded.getName());
+			assertEquals(player.getDomesticTeam(), loaded.getDomesticTeam());
+		}
+		assertNull(loadedPlayers.getPlayerById(added.get(1).getId()).getName());
+		assertEquals("", loadedPlayers.getPlayerById(added.get(2).getId()).getName());
+		assertEquals(Arrays.asList(82, 45), values(loadedScores.getScoresByPlayerId(added.get(0).getId())));
+		assertEquals(Arrays.asList(7), values(loadedScores.getScoresByPlayerId(added.get(3).getId())));
+	}
+
+	@Test
+	public void roundTripsSnapshotsLargerThanTheWriteBuffer() throws Exception {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		InMemoryPlayerDAO players = new InMemoryPlayerDAO(scores);
+		for (int i = 0; i < 3000; i++) {
+			Player player = new Player("P" + i, "Team" + i % 7);
+			players.addPlayer(player);
+			for (int j = 0; j < 10; j++) {
+				scores.addScore(new Score(player.getId(), i + j));
+			}
+		}
+		Path file = folder.getRoot().toPath().resolve("large.snap");
+		ColumnarSnapshot.export(players, scores, file);
+
+		InMemoryScoreStore loadedScores = new InMemoryScoreStore();
+		InMemoryPlayerDAO loadedPlayers = new InMemoryPlayerDAO(loadedScores);
+		SnapshotInfo info = ColumnarSnapshot.load(file, loadedPlayers, loadedScores);
+		assertEquals(3000, info.getPlayerCount());
+		assertEquals(30000, info.getScoreCount());
+		assertEquals("P2999", loadedPlayers.getPlayerById(3000).getName());
+		assertEquals("Team3", loadedPlayers.getPlayerById(3000).getDomesticTeam());
+		assertEquals(Arrays.asList(2999, 3000, 3001, 3002, 3003, 3004, 3005, 3006, 3007, 3008),
+				values(loadedScores.getScoresByPlayerId(3000)));
+	}
+
+	@Test
+	public void deletesTheTemporaryFileWhenExportFails() throws Exception {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		Path file = folder.newFolder("taken").toPath();
+		Files.write(file.resolve("keep"), new byte[] { 1 });
+
+		try {
+			ColumnarSnapshot.export(new InMemoryPlayerDAO(scores), scores, file);
+			fail("Replaced a non-empty directory");
+		} catch (IOException expected) {
+		}
+		assertFalse(Files.exists(file.resolveSibling("taken.tmp")));
+	}
+
+	@Test
+	public void rejectsOtherVersions() throws Exception {
+		Path file = exportSample();
+		byte[] bytes = Files.readAllBytes(file);
+		// Version, after the magic and padding
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(8, 1);
+		Files.write(file, bytes);
+
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		try {
+			ColumnarSnapshot.load(file, new InMemoryPlayerDAO(scores), scores);
+			fail("Loaded a version 1 snapshot");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Unsupported snapshot format"));
+		}
+	}
+
+	@Test
+	public void rejectsTruncatedFiles() throws Exception {
+		Path file = exportSample();
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+		assertCorrupt(file);
+	}
+
+	@Test
+	public void rejectsCountsLargerThanTheFile() throws Exception {
+		Path file = exportSample();
+		byte[] bytes = Files.readAllBytes(file);
+		// Score count, after the magic, padding, version and player count
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(16, Integer.MAX_VALUE);
+		Files.write(file, bytes);
+
+		assertCorrupt(file);
+	}
+
+	private Path exportSample() throws Exception {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		InMemoryPlayerDAO players = new InMemoryPlayerDAO(scores);
+		Player player = new Player("Rohit", "Mumbai");
+		players.addPlayer(player);
+		scores.addScore(new Score(player.getId(), 50));
+		Path file = folder.getRoot().toPath().resolve("sample.snap");
+		ColumnarSnapshot.export(players, scores, file);
+		return file;
+	}
+
+	private static void assertCorrupt(Path file) {
+		InMemoryScoreStore scores = new InMemoryScoreStore();
+		try {
+			ColumnarSnapshot.load(file, new InMemoryPlayerDAO(scores), scores);
+			fail("Loaded a corrupt snapshot");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Corrupt snapshot file"));
+		}
+	}
+
+	private static List<Integer> values(List<Score> scores) {
+		Integer[] values = new Integer[scores.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = scores.get(i).getScore();
+		}
+		return Arrays.asList(values);
+	}
+}